@@ -0,0 +1,100 @@
+package service;
+
+import model.Employee;
+import model.Position;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+// Generator danych testowych dla benchmarków.
+// Dane są deterministyczne (stałe ziarno generatora), więc wyniki kolejnych wydań są porównywalne.
+// Rozkład stanowisk przypomina rzeczywistą firmę: dużo programistów i stażystów, niewielu członków zarządu.
+final class BenchmarkData {
+
+    private static final long SEED = 20240601L;
+    private static final int COMPANY_COUNT = 50;
+
+    private static final String[] FIRST_NAMES = {
+            "Anna", "Jan", "Piotr", "Katarzyna", "Tomasz", "Małgorzata", "Paweł", "Agnieszka",
+            "Michał", "Ewa", "Krzysztof", "Zofia", "Łukasz", "Joanna", "Marcin", "Żaneta"
+    };
+    private static final String[] LAST_NAMES = {
+            "Nowak", "Kowalski", "Wiśniewski", "Wójcik", "Kowalczyk", "Kamiński", "Lewandowski", "Zieliński",
+            "Szymański", "Woźniak", "Dąbrowski", "Kozłowski", "Jankowski", "Mazur", "Kwiatkowski", "Krawczyk"
+    };
+    // Stanowiska losowane z wagami: PREZES i WICEPREZES rzadko, PROGRAMISTA najczęściej.
+    private static final Position[] POSITION_WEIGHTS = {
+            Position.PREZES, Position.WICEPREZES, Position.MANAGER, Position.MANAGER,
+            Position.PROGRAMISTA, Position.PROGRAMISTA, Position.PROGRAMISTA, Position.PROGRAMISTA,
+            Position.PROGRAMISTA, Position.PROGRAMISTA, Position.STAZYSTA, Position.STAZYSTA
+    };
+    private static final LocalDate FIRST_HIRE_DATE = LocalDate.of(2000, 1, 1);
+
+    private BenchmarkData() {
+    }
+
+    // Generuje podaną liczbę pracowników z unikalnymi adresami email.
+    // Ok. 2% pensji leży poniżej minimalnej stawki stanowiska, aby walidacja miała co zwracać.
+    static List<Employee> employees(int count) {
+        Random random = new Random(SEED);
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            int company = random.nextInt(COMPANY_COUNT);
+            Position position = POSITION_WEIGHTS[random.nextInt(POSITION_WEIGHTS.length)];
+            double range = position.getMaxSalary() - position.getBaseSalary();
+            double salary = random.nextInt(50) == 0
+                    ? position.getBaseSalary() * 0.9
+                    : Math.round(position.getBaseSalary() + random.nextDouble() * range);
+            employees.add(new Employee(firstName + " " + lastName, "pracownik" + i + "@firma" + company + ".pl",
+                    "Firma" + company, position, salary, FIRST_HIRE_DATE.plusDays(random.nextInt(9000))));
+        }
+        return employees;
+    }
+
+    // Tworzy serwis wypełniony pracownikami.
+    static EmployeeService service(List<Employee> employees) {
+        EmployeeService service = new EmployeeService();
+        for (Employee employee : employees) {
+            service.addEmployee(employee);
+        }
+        return service;
+    }
+
+    // Zapisuje pracowników do pliku CSV w formacie importu (Imie,Nazwisko,Email,Firma,Stanowisko,Pensja).
+    static Path writeCsv(List<Employee> employees, Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("Imie,Nazwisko,Email,Firma,Stanowisko,Pensja\n");
+            for (Employee employee : employees) {
+                String[] name = employee.getName().split(" ", 2);
+                writer.write(name[0] + "," + name[1] + "," + employee.getEmail() + "," + employee.getCompanyName()
+                        + "," + employee.getPosition() + "," + employee.getSalary() + "\n");
+            }
+        }
+        return file;
+    }
+
+    // Usuwa katalog tymczasowy benchmarku wraz z zawartością.
+    static void deleteDirectory(Path directory) throws IOException {
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.toList();
+        }
+        for (Path file : files) {
+            Files.deleteIfExists(file);
+        }
+        Files.deleteIfExists(directory);
+    }
+}
@@ -0,0 +1,94 @@
+package service;
+
+import model.CompanyStatistics;
+import model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Benchmarki operacji rejestru pracowników (EmployeeService) dla rejestrów o różnej wielkości.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EmployeeServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private EmployeeService service;
+    private Employee changedEmployee;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Employee> employees = BenchmarkData.employees(size);
+        service = BenchmarkData.service(employees);
+        changedEmployee = employees.get(size / 2);
+    }
+
+    // Nowe obiekty pracowników dla każdego wypełnienia rejestru - pracownik dodany do rejestru ma zarejestrowanego
+    // obserwatora zmian, więc ponowne użycie tych samych obiektów zafałszowałoby pomiar.
+    @State(Scope.Thread)
+    public static class FreshEmployees {
+        private List<Employee> employees;
+
+        @Setup(Level.Invocation)
+        public void prepare(EmployeeServiceBenchmark benchmark) {
+            employees = BenchmarkData.employees(benchmark.size);
+        }
+    }
+
+    // Wypełnienie pustego rejestru - czas dodania wszystkich pracowników (utrzymanie wszystkich indeksów).
+    @Benchmark
+    public EmployeeService addEmployee(FreshEmployees fresh) {
+        return BenchmarkData.service(fresh.employees);
+    }
+
+    @Benchmark
+    public List<Employee> sortByName() {
+        return service.sortByName();
+    }
+
+    // Statystyki na niezmienionym rejestrze - migawka kolumnowa jest ponownie używana.
+    @Benchmark
+    public Map<String, CompanyStatistics> getCompanyStatistics() {
+        return service.getCompanyStatistics();
+    }
+
+    // Statystyki po zmianie pensji - obejmuje ponowne zbudowanie migawki kolumnowej.
+    @Benchmark
+    public Map<String, CompanyStatistics> getCompanyStatisticsAfterChange() {
+        changedEmployee.setSalary(changedEmployee.getSalary() + 1);
+        return service.getCompanyStatistics();
+    }
+
+    @Benchmark
+    public List<Employee> validateSalaryConsistency() {
+        return service.validateSalaryConsistency();
+    }
+
+    @Benchmark
+    public double averageSalary() {
+        return service.averageSalary();
+    }
+
+    @Benchmark
+    public Employee findHighestSalary() {
+        return service.findHighestSalary();
+    }
+}
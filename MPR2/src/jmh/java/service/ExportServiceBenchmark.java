@@ -0,0 +1,78 @@
+package service;
+
+import model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Benchmarki eksportu do pliku na dysku: eksport jednorazowy (exportData) oraz strumieniowy (exportRows)
+// w każdym trybie kompresji.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ExportServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private Path directory;
+    private ExportService exportService;
+    private List<String> lines;
+    private List<List<String>> rows;
+
+    // Tryb kompresji dotyczy tylko eksportu strumieniowego, dlatego jest osobnym stanem.
+    @State(Scope.Benchmark)
+    public static class CompressionMode {
+        @Param({"NONE", "GZIP", "PARALLEL_GZIP"})
+        public ExportService.Compression compression;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("export-benchmark");
+        exportService = new ExportService(new LocalFileSystemAdapter(), new ExportService.CsvFormatter());
+        List<Employee> employees = BenchmarkData.employees(size);
+        lines = new ArrayList<>(size);
+        rows = new ArrayList<>(size);
+        for (Employee employee : employees) {
+            lines.add(employee.toString());
+            rows.add(List.of(employee.getName(), employee.getEmail(), employee.getCompanyName(),
+                    employee.getPosition().name(), Double.toString(employee.getSalary())));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkData.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public void exportData() {
+        exportService.exportData(directory.resolve("data.csv").toString(), lines);
+    }
+
+    @Benchmark
+    public void exportRows(CompressionMode mode) {
+        exportService.exportRows(directory.resolve("rows.csv").toString(), rows, mode.compression);
+    }
+}
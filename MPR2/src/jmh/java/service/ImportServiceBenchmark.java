@@ -0,0 +1,86 @@
+package service;
+
+import model.ImportSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Benchmarki importu pliku CSV we wszystkich trybach odczytu (strumieniowy, mapowany, równoległy).
+// Pomiar obejmuje parsowanie oraz dodanie pracowników do nowego rejestru. Import równoległy mierzony jest
+// dla kilku poziomów równoległości, aby pokazać skalowanie względem liczby wątków.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ImportServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private Path directory;
+    private String csvFile;
+
+    // Tryb odczytu dotyczy tylko importu sekwencyjnego, dlatego jest osobnym stanem.
+    @State(Scope.Benchmark)
+    public static class ReadMode {
+        @Param({"stream", "mapped"})
+        public String mode;
+    }
+
+    // Poziom równoległości dotyczy tylko importu równoległego.
+    @State(Scope.Benchmark)
+    public static class Parallelism {
+        @Param({"1", "2", "4", "8"})
+        public int threads;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("import-benchmark");
+        csvFile = BenchmarkData.writeCsv(BenchmarkData.employees(size), directory.resolve("employees.csv")).toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkData.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public int importFromCsv(ReadMode readMode) {
+        ImportService importService = new ImportService(new EmployeeService());
+        ImportSummary summary = readMode.mode.equals("mapped")
+                ? importService.importFromCsvMapped(csvFile)
+                : importService.importFromCsv(csvFile);
+        return verified(summary);
+    }
+
+    @Benchmark
+    public int importFromCsvParallel(Parallelism parallelism) {
+        ImportService importService = new ImportService(new EmployeeService());
+        return verified(importService.importFromCsvParallel(csvFile, parallelism.threads));
+    }
+
+    private int verified(ImportSummary summary) {
+        if (summary.getImportedCount() != size) {
+            throw new IllegalStateException("Niepełny import: " + summary.getErrors());
+        }
+        return summary.getImportedCount();
+    }
+}
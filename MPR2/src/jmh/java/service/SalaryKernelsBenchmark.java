@@ -0,0 +1,85 @@
+package service;
+
+import model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Porównanie skalarnej i wektorowej (Vector API) implementacji jąder pensji na tych samych kolumnach.
+// JVM benchmarku uruchamiana jest zawsze z modułem jdk.incubator.vector, a implementacja wybierana parametrem.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class SalaryKernelsBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"scalar", "vector"})
+    public String implementation;
+
+    private SalaryKernels kernels;
+    private double[] salaries;
+    private double[] baseSalaries;
+    private double[] maxSalaries;
+    private double[] raised;
+    private int[] selection;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        kernels = SalaryKernels.Holder.load(implementation);
+        if (!implementation.equals("scalar") && kernels instanceof ScalarSalaryKernels) {
+            throw new IllegalStateException("Implementacja wektorowa nie została załadowana");
+        }
+        List<Employee> employees = BenchmarkData.employees(size);
+        salaries = new double[size];
+        baseSalaries = new double[size];
+        maxSalaries = new double[size];
+        for (int i = 0; i < size; i++) {
+            Employee employee = employees.get(i);
+            salaries[i] = employee.getSalary();
+            baseSalaries[i] = employee.getPosition().getBaseSalary();
+            maxSalaries[i] = employee.getPosition().getMaxSalary();
+        }
+        raised = new double[size];
+        selection = new int[size];
+    }
+
+    @Benchmark
+    public double sum() {
+        return kernels.sum(salaries, size);
+    }
+
+    @Benchmark
+    public double max() {
+        return kernels.max(salaries, size);
+    }
+
+    // Odpowiednik validateSalaryConsistency: maska pensji poniżej minimalnej stawki stanowiska.
+    @Benchmark
+    public int selectBelowBaseSalary() {
+        return kernels.selectBelow(salaries, baseSalaries, size, selection);
+    }
+
+    // Odpowiednik zbiorczej podwyżki z ograniczeniem do górnych widełek stanowiska.
+    @Benchmark
+    public double[] applyRaise() {
+        kernels.applyRaise(salaries, maxSalaries, 0.05, raised, size);
+        return raised;
+    }
+}
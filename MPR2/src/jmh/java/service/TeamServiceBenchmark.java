@@ -0,0 +1,78 @@
+package service;
+
+import model.Employee;
+import model.ProjectTeam;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Benchmark transferu pracowników między zespołami, przy organizacji podzielonej na zespoły
+// o jednym wolnym miejscu. Każdy transfer przenosi kolejnego pracownika spoza zespołu z wolnym miejscem
+// do tego zespołu, a zwolnione miejsce w jego poprzednim zespole jest celem następnego transferu -
+// operacja nigdy nie zawodzi i nigdy nie jest pustym przeniesieniem do zespołu, w którym pracownik już jest.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TeamServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private final TeamService teamService = new TeamService();
+    private Employee[] employees;
+    private ProjectTeam teamWithFreeSlot;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Employee> generated = BenchmarkData.employees(size);
+        employees = generated.toArray(new Employee[0]);
+        ProjectTeam team = null;
+        for (int i = 0; i < employees.length; i++) {
+            if (team == null || team.getMembers().size() == team.getMaxTeamSize() - 1) {
+                team = new ProjectTeam("Zespół " + i);
+            }
+            teamService.assignEmployeeToTeam(employees[i], team);
+        }
+        teamWithFreeSlot = employees[0].getCurrentTeam();
+    }
+
+    @Benchmark
+    public ProjectTeam transferEmployee() {
+        Employee employee = nextEmployeeOutside(teamWithFreeSlot);
+        ProjectTeam previousTeam = employee.getCurrentTeam();
+        teamService.transferEmployee(employee, teamWithFreeSlot);
+        if (employee.getCurrentTeam() != teamWithFreeSlot) {
+            throw new IllegalStateException("Transfer nie przeniósł pracownika " + employee.getEmail());
+        }
+        teamWithFreeSlot = previousTeam;
+        return previousTeam;
+    }
+
+    // Zwraca kolejnego pracownika (cyklicznie), który nie należy do wskazanego zespołu.
+    // Pominięć jest najwyżej tyle, ilu członków liczy zespół z wolnym miejscem.
+    private Employee nextEmployeeOutside(ProjectTeam team) {
+        while (true) {
+            Employee employee = employees[next];
+            next = next + 1 == employees.length ? 0 : next + 1;
+            if (employee.getCurrentTeam() != team) {
+                return employee;
+            }
+        }
+    }
+}
@@ -2,6 +2,21 @@ package interfaces;
 
 import model.Email;
 
+import java.util.List;
+
 public interface EmailService {
     void send(Email email);
-}
\ No newline at end of file
+
+    /**
+     * Wysyła paczkę wiadomości jednym wywołaniem. Implementacja domyślna wysyła wiadomości po kolei metodą send -
+     * implementacje obsługujące wysyłkę zbiorczą (np. jedno połączenie z serwerem pocztowym na paczkę)
+     * powinny ją nadpisać.
+     *
+     * @param emails Wiadomości do wysłania.
+     */
+    default void sendBatch(List<Email> emails) {
+        for (Email email : emails) {
+            send(email);
+        }
+    }
+}
@@ -7,9 +7,45 @@ package interfaces;
 // obiektem typu Mock (FileSystemMock) w środowisku testowym.
 
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 
 public interface FileSystemAdapter {
     // Dodajemy "throws IOException", żeby móc to symulować w teście
     void write(String path, String content) throws IOException;
-}
\ No newline at end of file
+
+    // Otwiera strumień do zapisu pliku kawałek po kawałku (eksport strumieniowy), bez budowania całej treści w pamięci.
+    // Implementacja domyślna gromadzi bajty w pamięci i przy zamknięciu przekazuje je do write() jako tekst UTF-8,
+    // dzięki czemu istniejące implementacje (np. atrapy testowe) działają bez zmian.
+    // Bajty niebędące poprawnym tekstem UTF-8 nie są zamieniane na znaki zastępcze - zamknięcie strumienia
+    // zgłasza wtedy wyjątek (CharacterCodingException), a write() nie jest wywoływane.
+    // Implementacje operujące na prawdziwym dysku powinny ją nadpisać wraz z supportsBinaryContent().
+    default OutputStream openOutputStream(String path) throws IOException {
+        return new ByteArrayOutputStream() {
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                if (!closed) {
+                    closed = true;
+                    String content = StandardCharsets.UTF_8.newDecoder()
+                            .onMalformedInput(CodingErrorAction.REPORT)
+                            .onUnmappableCharacter(CodingErrorAction.REPORT)
+                            .decode(ByteBuffer.wrap(buf, 0, count))
+                            .toString();
+                    FileSystemAdapter.this.write(path, content);
+                }
+            }
+        };
+    }
+
+    // Informuje, czy strumień z openOutputStream przyjmuje dowolne bajty (np. eksport skompresowany).
+    // Implementacja domyślna przyjmuje wyłącznie tekst UTF-8, dlatego zwraca false.
+    default boolean supportsBinaryContent() {
+        return false;
+    }
+}
@@ -1,6 +1,9 @@
 package model;
 
 import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 // Klasa modelu danych (DTO) przechowująca zagregowane statystyki dotyczące firmy.
 // Służy do przenoszenia przetworzonych informacji o zatrudnieniu i wynagrodzeniach.
@@ -9,17 +12,64 @@ public class CompanyStatistics {
     private double averageSalary;
     private String highestEarnerName;
 
+    // Rozszerzone statystyki rozkładu pensji (NaN, jeśli nie zostały wyliczone).
+    private double totalSalary;
+    private double minSalary;
+    private double maxSalary;
+    private double salaryVariance;
+    private List<String> topEarnerNames;
+
     // Konstruktor inicjalizujący obiekt wszystkimi wymaganymi danymi statystycznymi.
     // Przyjmuje obliczoną wcześniej liczbę pracowników, średnią pensję oraz dane pracownika z najwyższym wynagrodzeniem.
     public CompanyStatistics(int employeeCount, double averageSalary, String highestEarnerName) {
         this.employeeCount = employeeCount;
         this.averageSalary = averageSalary;
         this.highestEarnerName = highestEarnerName;
+        this.totalSalary = averageSalary * employeeCount;
+        this.minSalary = Double.NaN;
+        this.maxSalary = Double.NaN;
+        this.salaryVariance = Double.NaN;
+        // Collections.singletonList zamiast List.of - imię i nazwisko pracownika może być null.
+        this.topEarnerNames = Collections.singletonList(highestEarnerName);
+    }
+
+    // Konstruktor pełnego zestawu statystyk. Najlepiej zarabiający to pierwszy element listy topEarnerNames
+    // (lista uporządkowana malejąco według pensji), a dla pustej listy - "N/A".
+    public CompanyStatistics(int employeeCount, double totalSalary, double minSalary, double maxSalary,
+                             double averageSalary, double salaryVariance, List<String> topEarnerNames) {
+        this(employeeCount, totalSalary, minSalary, maxSalary, averageSalary, salaryVariance,
+                topEarnerNames.isEmpty() ? "N/A" : topEarnerNames.get(0), topEarnerNames);
+    }
+
+    // Konstruktor pełnego zestawu statystyk z najlepiej zarabiającym podanym niezależnie od rankingu -
+    // ranking może być krótszy (także pusty), a najlepiej zarabiający jest znany zawsze, gdy firma ma pracowników.
+    public CompanyStatistics(int employeeCount, double totalSalary, double minSalary, double maxSalary,
+                             double averageSalary, double salaryVariance, String highestEarnerName,
+                             List<String> topEarnerNames) {
+        this.employeeCount = employeeCount;
+        this.averageSalary = averageSalary;
+        this.highestEarnerName = highestEarnerName;
+        this.totalSalary = totalSalary;
+        this.minSalary = minSalary;
+        this.maxSalary = maxSalary;
+        this.salaryVariance = salaryVariance;
+        // Kopia niemodyfikowalna dopuszczająca wartości null (List.copyOf odrzuca null).
+        this.topEarnerNames = Collections.unmodifiableList(new ArrayList<>(topEarnerNames));
     }
 
     public int getEmployeeCount() { return employeeCount; }
     public double getAverageSalary() { return averageSalary; }
     public String getHighestEarnerName() { return highestEarnerName; }
+    public double getTotalSalary() { return totalSalary; }
+    public double getMinSalary() { return minSalary; }
+    public double getMaxSalary() { return maxSalary; }
+
+    // Wariancja pensji w populacji pracowników firmy (średni kwadrat odchylenia od średniej).
+    public double getSalaryVariance() { return salaryVariance; }
+    public double getSalaryStandardDeviation() { return Math.sqrt(salaryVariance); }
+
+    // Imiona i nazwiska najlepiej zarabiających, malejąco według pensji (przy równych pensjach - w kolejności dodania).
+    public List<String> getTopEarnerNames() { return topEarnerNames; }
 
     // Przesłonięcie metody toString w celu wygenerowania czytelnego raportu tekstowego.
     // Wewnątrz metody wykorzystywana jest klasa DecimalFormat, aby sformatować wartość zmiennoprzecinkową
@@ -32,4 +82,4 @@ public class CompanyStatistics {
                 ", Średnia pensja=" + df.format(averageSalary) + " PLN" +
                 ", Najlepiej zarabiający='" + highestEarnerName + '\'';
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,47 @@
+package model;
+
+import java.util.List;
+
+// Klasa typu DTO (Data Transfer Object) z wynikiem równoległej wysyłki wiadomości e-mail.
+// Przechowuje liczbę wiadomości wysłanych i niewysłanych, liczbę ponowień oraz adresy, na które wysyłka się nie powiodła.
+public class DispatchReport {
+    private final int sentCount;
+    private final int failedCount;
+    private final int retryCount;
+    private final List<String> failedRecipients;
+
+    public DispatchReport(int sentCount, int failedCount, int retryCount, List<String> failedRecipients) {
+        this.sentCount = sentCount;
+        this.failedCount = failedCount;
+        this.retryCount = retryCount;
+        this.failedRecipients = failedRecipients;
+    }
+
+    // Liczba wiadomości wysłanych (w tym po ponowieniach).
+    public int getSentCount() {
+        return sentCount;
+    }
+
+    // Liczba wiadomości, których nie udało się wysłać mimo wszystkich prób.
+    public int getFailedCount() {
+        return failedCount;
+    }
+
+    // Łączna liczba ponowionych prób wysyłki (pierwsza próba nie jest liczona).
+    public int getRetryCount() {
+        return retryCount;
+    }
+
+    public List<String> getFailedRecipients() {
+        return failedRecipients;
+    }
+
+    @Override
+    public String toString() {
+        return "DispatchReport{" +
+                "wysłano=" + sentCount +
+                ", niewysłano=" + failedCount +
+                ", ponowienia=" + retryCount +
+                '}';
+    }
+}
@@ -4,6 +4,8 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
 
 // Klasa reprezentująca encję pracownika w systemie. Przechowuje dane osobowe,
 // informacje o zatrudnieniu, historię ocen oraz przypisanie do zespołu projektowego.
@@ -11,14 +13,36 @@ public class Employee {
     private String name;
     private String email;
     private String companyName;
-    private Position position;
-    private double salary;
+    // Stanowisko i pensja są odczytywane przez liczniki zespołów z innych wątków (ProjectTeam), dlatego są volatile.
+    private volatile Position position;
+    private volatile double salary;
 
-    // Lista przechowująca historię ocen. Inicjalizowana jako pusta lista przy tworzeniu obiektu.
-    private List<Integer> ratingHistory = new ArrayList<>();
+    // Historia ocen w postaci prymitywnej (byte[] z bieżącą sumą i liczbą ocen).
+    private final RatingHistory ratingHistory = new RatingHistory();
     private LocalDate dateOfHire;
 
-    private ProjectTeam currentTeam = null;
+    // Przypisanie do zespołu zmieniane atomowo (compare-and-set) przez TeamService - pracownik może należeć
+    // tylko do jednego zespołu także przy równoczesnych przypisaniach i transferach.
+    private final AtomicReference<ProjectTeam> currentTeam = new AtomicReference<>();
+
+    // Obserwatorzy zmian stanu pracownika (np. indeksy utrzymywane przez EmployeeService).
+    // Lista tworzona leniwie, ponieważ większość obiektów nigdy nie posiada żadnego obserwatora.
+    // Obserwatorzy (np. zespoły projektowe) mogą być rejestrowani z wielu wątków, dlatego lista jest kopiowana
+    // przy każdej zmianie (copy-on-write) - powiadamianie przegląda migawkę bez blokady.
+    private volatile List<ChangeListener> changeListeners = null;
+
+    // Kontrakt obserwatora zmian pól, po których inne komponenty budują indeksy.
+    // Metody posiadają puste implementacje domyślne, aby obserwator nadpisywał tylko interesujące go zdarzenia.
+    public interface ChangeListener {
+        default void onPositionChanged(Employee employee, Position oldPosition, Position newPosition) {
+        }
+
+        default void onSalaryChanged(Employee employee, double oldSalary, double newSalary) {
+        }
+
+        default void onRatingAdded(Employee employee, int rating) {
+        }
+    }
 
     // Konstruktor pomocniczy. Inicjalizuje obiekt pracownika przyjmując podstawowe dane,
     // a datę zatrudnienia ustawia automatycznie na bieżącą datę systemową (LocalDate.now()).
@@ -45,42 +69,102 @@ public class Employee {
     public LocalDate getDateOfHire() { return dateOfHire; }
 
     public ProjectTeam getCurrentTeam() {
-        return currentTeam;
+        return currentTeam.get();
     }
 
     // Przypisuje pracownika do konkretnego zespołu projektowego.
     public void setCurrentTeam(ProjectTeam currentTeam) {
-        this.currentTeam = currentTeam;
+        this.currentTeam.set(currentTeam);
+    }
+
+    // Atomowo zmienia zespół pracownika, o ile bieżący zespół jest równy oczekiwanemu.
+    // Zwraca false, jeśli przypisanie zostało w międzyczasie zmienione przez inny wątek.
+    public boolean compareAndSetCurrentTeam(ProjectTeam expectedTeam, ProjectTeam newTeam) {
+        return currentTeam.compareAndSet(expectedTeam, newTeam);
     }
 
     // Usuwa pracownika z obecnego zespołu projektowego poprzez ustawienie referencji na null.
     public void leaveCurrentTeam() {
-        this.currentTeam = null;
+        this.currentTeam.set(null);
     }
 
+    // Zmienia wynagrodzenie pracownika i powiadamia zarejestrowanych obserwatorów o zmianie.
     public void setSalary(double salary) {
+        double oldSalary = this.salary;
         this.salary = salary;
+        List<ChangeListener> listeners = changeListeners;
+        if (listeners != null && Double.compare(oldSalary, salary) != 0) {
+            for (ChangeListener listener : listeners) {
+                listener.onSalaryChanged(this, oldSalary, salary);
+            }
+        }
     }
 
+    // Zmienia stanowisko pracownika i powiadamia zarejestrowanych obserwatorów o zmianie.
     public void setPosition(Position position) {
+        Position oldPosition = this.position;
         this.position = position;
+        List<ChangeListener> listeners = changeListeners;
+        if (listeners != null && oldPosition != position) {
+            for (ChangeListener listener : listeners) {
+                listener.onPositionChanged(this, oldPosition, position);
+            }
+        }
+    }
+
+    // Rejestruje obserwatora zmian. Ten sam obserwator nie jest dodawany wielokrotnie.
+    public synchronized void addChangeListener(ChangeListener listener) {
+        List<ChangeListener> current = changeListeners;
+        if (current == null) {
+            changeListeners = List.of(listener);
+        } else if (!current.contains(listener)) {
+            List<ChangeListener> updated = new ArrayList<>(current.size() + 1);
+            updated.addAll(current);
+            updated.add(listener);
+            changeListeners = updated;
+        }
+    }
+
+    // Wyrejestrowuje obserwatora zmian (np. po usunięciu pracownika z rejestru).
+    public synchronized void removeChangeListener(ChangeListener listener) {
+        List<ChangeListener> current = changeListeners;
+        if (current != null && current.contains(listener)) {
+            List<ChangeListener> updated = new ArrayList<>(current);
+            updated.remove(listener);
+            changeListeners = updated.isEmpty() ? null : updated;
+        }
+    }
+
+    // Wyrejestrowuje obserwatora, jeśli warunek jest spełniony. Sprawdzenie warunku i wyrejestrowanie są atomowe względem
+    // addChangeListener - np. zespół usuwa obserwatora tylko wtedy, gdy pracownik nie wrócił w międzyczasie do zespołu.
+    public synchronized void removeChangeListenerIf(ChangeListener listener, BooleanSupplier condition) {
+        if (condition.getAsBoolean()) {
+            removeChangeListener(listener);
+        }
     }
 
     // Zwraca historię ocen pracownika.
-    // Metoda tworzy i zwraca nową kopię listy (defensive copy), aby zapobiec
-    // modyfikacji wewnętrznej struktury danych obiektu przez zewnętrzne klasy.
-    public List<Integer> getRatingHistory() {
-        return new ArrayList<>(ratingHistory);
+    // Zwracany obiekt jest niemodyfikowalnym, żywym widokiem (bez kopiowania), a nie kopią listy - oceny dodane później
+    // przez addRating są w nim od razu widoczne, a próba zmiany listy rzuca UnsupportedOperationException.
+    // Widok może być czytany z wielu wątków (patrz RatingHistory); stałą kopię zwraca List.copyOf(getRatingHistory()).
+    public RatingHistory getRatingHistory() {
+        return ratingHistory;
     }
 
-    // Dodaje nową ocenę do historii ocen pracownika.
+    // Dodaje nową ocenę do historii ocen pracownika i powiadamia zarejestrowanych obserwatorów.
     // Metoda przeprowadza walidację danych wejściowych - akceptuje tylko wartości z przedziału 1-5.
     // W przypadku podania nieprawidłowej wartości rzucany jest wyjątek IllegalArgumentException.
     public void addRating(int rating) {
         if (rating < 1 || rating > 5) {
             throw new IllegalArgumentException("Ocena musi być w skali 1-5");
         }
-        this.ratingHistory.add(rating);
+        ratingHistory.add(rating);
+        List<ChangeListener> listeners = changeListeners;
+        if (listeners != null) {
+            for (ChangeListener listener : listeners) {
+                listener.onRatingAdded(this, rating);
+            }
+        }
     }
 
     // Przesłonięta metoda porównująca obiekty.
@@ -1,51 +1,193 @@
 package model;
 
-import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 // Klasa domenowa reprezentująca zespół projektowy.
-// Zarządza listą przypisanych pracowników oraz przechowuje stałe ograniczenia biznesowe dotyczące struktury zespołu.
+// Zarządza listą przypisanych pracowników oraz regułami składu zespołu (TeamRules).
+// Skład zespołu (TeamComposition) jest niezmiennym obiektem podmienianym atomowo (compare-and-set), dlatego klasa jest
+// bezpieczna wątkowo bez blokad: sprawdzenie reguł i dodanie członka są jedną operacją atomową, więc równoczesne
+// przypisania nigdy nie przepełnią zespołu, a odczyt składu nie wymaga kopiowania.
+// Liczniki składu (osoby na stanowiskach, suma pensji) śledzą także zmiany stanowisk i pensji członków zespołu:
+// obserwator rejestrowany jest po opublikowaniu nowego składu, a następnie członek jest uzgadniany z bieżącym stanem,
+// więc zmiana wykonana przed rejestracją obserwatora nie zostaje pominięta.
 public class ProjectTeam {
 
     private String teamName;
 
-    // Wewnętrzna lista przechowywująca referencje do obiektów Employee będących członkami tego zespołu.
-    private List<Employee> members = new ArrayList<>();
+    private final TeamRules rules;
 
-    // Stała konfiguracyjna określająca maksymalny dopuszczalny rozmiar zespołu zgodnie z regułami biznesowymi.
-    private static final int MAX_TEAM_SIZE = 5;
+    // Bieżący skład zespołu wraz z licznikami - zastępowany w całości przy każdej zmianie.
+    private final AtomicReference<TeamComposition> composition = new AtomicReference<>(TeamComposition.EMPTY);
 
-    // Konstruktor tworzący nowy zespół o wskazanej nazwie.
+    // Obserwator członków zespołu uzgadniający liczniki składu z bieżącym stanowiskiem i pensją członka.
+    // Uzgodnienie odczytuje stan pracownika, a nie wartości z powiadomienia, więc powiadomienia spóźnione,
+    // powtórzone lub przetworzone w innej kolejności nie psują liczników.
+    private final Employee.ChangeListener memberListener = new Employee.ChangeListener() {
+        @Override
+        public void onPositionChanged(Employee employee, Position oldPosition, Position newPosition) {
+            resync(employee);
+        }
+
+        @Override
+        public void onSalaryChanged(Employee employee, double oldSalary, double newSalary) {
+            resync(employee);
+        }
+    };
+
+    // Konstruktor tworzący nowy zespół o wskazanej nazwie, z regułami domyślnymi (TeamRules.DEFAULT).
     public ProjectTeam(String teamName) {
+        this(teamName, TeamRules.DEFAULT);
+    }
+
+    // Konstruktor tworzący zespół z własnymi regułami składu.
+    public ProjectTeam(String teamName, TeamRules rules) {
         this.teamName = teamName;
+        this.rules = rules;
     }
 
     public String getTeamName() {
         return teamName;
     }
 
-    // Zwraca listę obecnych członków zespołu.
-    // Metoda zwraca tzw. "defensive copy" (nową instancję listy), aby uniemożliwić modyfikację
-    // wewnętrznego stanu obiektu ProjectTeam poprzez bezpośrednie operacje na zwróconej liście.
+    public TeamRules getRules() {
+        return rules;
+    }
+
+    // Zwraca migawkę składu zespołu wraz z licznikami.
+    public TeamComposition getComposition() {
+        return composition.get();
+    }
+
+    // Zwraca migawkę listy członków zespołu.
+    // Lista jest niemodyfikowalna, więc może być zwracana bez kopiowania - zmiany składu tworzą nową listę
+    // i nie wpływają na migawki pobrane wcześniej.
     public List<Employee> getMembers() {
-        return new ArrayList<>(members);
+        return composition.get().getMembers();
     }
 
     public int getMaxTeamSize() {
-        return MAX_TEAM_SIZE;
+        return rules.getCapacity();
+    }
+
+    // Sprawdza, czy bieżący skład spełnia wszystkie reguły zespołu. Koszt stały - korzysta wyłącznie z liczników.
+    public boolean isCompliant() {
+        return rules.isCompliant(composition.get());
+    }
+
+    /**
+     * Atomowo dodaje pracownika do zespołu, jeśli reguły zespołu na to pozwalają
+     * (wolne miejsce, limit stanowiska, budżet płacowy).
+     *
+     * @param employee Pracownik do dodania.
+     * @return true, jeśli pracownik został dodany; false, jeśli reguły na to nie pozwalają lub pracownik już należy do zespołu.
+     */
+    public boolean tryAddMember(Employee employee) {
+        while (true) {
+            TeamComposition current = composition.get();
+            if (current.contains(employee) || rules.admissionViolation(current, employee) != null) {
+                return false;
+            }
+            if (composition.compareAndSet(current, current.with(employee))) {
+                startTracking(employee);
+                return true;
+            }
+        }
     }
 
     // Dodaje pracownika do zespołu.
-    // Metoda zawiera mechanizm dedublikacji - weryfikuje, czy dany pracownik nie znajduje się już na liście,
-    // aby uniknąć wielokrotnego przypisania tej samej osoby do jednego projektu.
+    // Metoda zawiera mechanizm dedublikacji - ponowne dodanie tej samej osoby nie zmienia składu.
+    // Reguły zespołu (pojemność, limity stanowisk, budżet) nie są sprawdzane - przypisania z walidacją
+    // wykonuje tryAddMember (i korzystający z niej TeamService).
     public void addMember(Employee employee) {
-        if (!members.contains(employee)) {
-            members.add(employee);
+        while (true) {
+            TeamComposition current = composition.get();
+            if (current.contains(employee)) {
+                return;
+            }
+            if (composition.compareAndSet(current, current.with(employee))) {
+                startTracking(employee);
+                return;
+            }
         }
     }
 
-    // Usuwa wskazanego pracownika z listy członków zespołu.
-    public void removeMember(Employee employee) {
-        members.remove(employee);
+    /**
+     * Atomowo zastępuje cały skład zespołu, jeśli od pobrania migawki {@code expected} skład się nie zmienił.
+     * Metoda nie sprawdza reguł zespołu - walidację całego nowego składu wykonuje wywołujący (np. TeamService.rebalance).
+     *
+     * @param expected Migawka listy członków pobrana wcześniej przez getMembers().
+     * @param replacement Nowy skład zespołu.
+     * @return true, jeśli skład został zastąpiony; false, jeśli w międzyczasie został zmieniony przez inny wątek.
+     */
+    public boolean replaceMembers(List<Employee> expected, List<Employee> replacement) {
+        TeamComposition current = composition.get();
+        if (current.getMembers() != expected) {
+            return false;
+        }
+        TeamComposition updated = TeamComposition.of(replacement);
+        if (!composition.compareAndSet(current, updated)) {
+            return false;
+        }
+        Set<Employee> remaining = new HashSet<>(updated.getMembers());
+        for (Employee member : current.getMembers()) {
+            if (!remaining.contains(member)) {
+                stopTracking(member);
+            }
+        }
+        for (Employee member : updated.getMembers()) {
+            member.addChangeListener(memberListener);
+        }
+        // Zmiany stanowisk i pensji sprzed rejestracji obserwatorów - uzgodnienie całego składu (lista członków bez zmian).
+        TeamComposition resynced = composition.updateAndGet(TeamComposition::resynced);
+        if (resynced.getMembers() != updated.getMembers()) {
+            // Skład zmieniony w międzyczasie przez inny wątek - obserwatorzy osób spoza zespołu są wyrejestrowywani.
+            for (Employee member : updated.getMembers()) {
+                stopTracking(member);
+            }
+        }
+        return true;
+    }
+
+    // Usuwa wskazanego pracownika z listy członków zespołu. Zwraca false, jeśli pracownik nie był członkiem.
+    public boolean removeMember(Employee employee) {
+        while (true) {
+            TeamComposition current = composition.get();
+            int index = current.getMembers().indexOf(employee);
+            if (index < 0) {
+                return false;
+            }
+            if (composition.compareAndSet(current, current.without(index))) {
+                stopTracking(employee);
+                return true;
+            }
+        }
+    }
+
+    // Rejestruje obserwatora nowego członka, a następnie uzgadnia jego liczniki - zmiana stanowiska lub pensji
+    // wykonana między publikacją składu a rejestracją obserwatora zostaje w ten sposób uwzględniona.
+    // Jeśli pracownik został już usunięty przez inny wątek, obserwator jest od razu wyrejestrowywany.
+    private void startTracking(Employee employee) {
+        employee.addChangeListener(memberListener);
+        resync(employee);
+        stopTracking(employee);
+    }
+
+    // Wyrejestrowuje obserwatora byłego członka, chyba że pracownik został w międzyczasie ponownie dodany do zespołu
+    // (sprawdzenie i wyrejestrowanie są atomowe względem rejestracji w startTracking).
+    private void stopTracking(Employee employee) {
+        employee.removeChangeListenerIf(memberListener, () -> !composition.get().contains(employee));
+    }
+
+    private void resync(Employee employee) {
+        while (true) {
+            TeamComposition current = composition.get();
+            TeamComposition updated = current.resynced(employee);
+            if (updated == current || composition.compareAndSet(current, updated)) {
+                return;
+            }
+        }
     }
-}
\ No newline at end of file
+}
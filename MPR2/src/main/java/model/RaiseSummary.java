@@ -0,0 +1,66 @@
+package model;
+
+// Klasa typu DTO (Data Transfer Object) z wynikiem zbiorczej podwyżki (PromotionService.applyRaises).
+// Dziennik zmian jest zwarty: obejmuje wyłącznie pracowników, których pensja faktycznie się zmieniła,
+// a pensje przed i po zmianie przechowywane są w tablicach prymitywów, a nie w osobnym obiekcie na każdą zmianę.
+public class RaiseSummary {
+    private final int processedCount;
+    private final Employee[] changedEmployees;
+    private final double[] oldSalaries;
+    private final double[] newSalaries;
+    private final double totalSalaryBefore;
+    private final double totalSalaryAfter;
+
+    // Tablice dziennika zmian muszą mieć równą długość - element i opisuje zmianę pensji pracownika changedEmployees[i].
+    public RaiseSummary(int processedCount, Employee[] changedEmployees, double[] oldSalaries, double[] newSalaries,
+                        double totalSalaryBefore, double totalSalaryAfter) {
+        this.processedCount = processedCount;
+        this.changedEmployees = changedEmployees;
+        this.oldSalaries = oldSalaries;
+        this.newSalaries = newSalaries;
+        this.totalSalaryBefore = totalSalaryBefore;
+        this.totalSalaryAfter = totalSalaryAfter;
+    }
+
+    // Liczba pracowników objętych operacją.
+    public int getProcessedCount() {
+        return processedCount;
+    }
+
+    // Liczba pracowników, których pensja się zmieniła (liczba wpisów dziennika).
+    public int getChangedCount() {
+        return changedEmployees.length;
+    }
+
+    public Employee getEmployee(int change) {
+        return changedEmployees[change];
+    }
+
+    public double getOldSalary(int change) {
+        return oldSalaries[change];
+    }
+
+    public double getNewSalary(int change) {
+        return newSalaries[change];
+    }
+
+    // Suma pensji wszystkich objętych pracowników przed podwyżką.
+    public double getTotalSalaryBefore() {
+        return totalSalaryBefore;
+    }
+
+    // Suma pensji wszystkich objętych pracowników po podwyżce.
+    public double getTotalSalaryAfter() {
+        return totalSalaryAfter;
+    }
+
+    @Override
+    public String toString() {
+        return "RaiseSummary{" +
+                "przetworzono=" + processedCount +
+                ", zmieniono=" + changedEmployees.length +
+                ", sumaPrzed=" + totalSalaryBefore +
+                ", sumaPo=" + totalSalaryAfter +
+                '}';
+    }
+}
@@ -0,0 +1,102 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+// Historia ocen pracownika w zwartej, prymitywnej postaci.
+// Oceny mieszczą się w skali 1-5, więc każda zajmuje jeden bajt w rosnącej tablicy byte[], a suma i liczba ocen
+// utrzymywane są na bieżąco - średnia wyliczana jest w czasie stałym, bez przeglądania historii.
+// Obiekt jest niemodyfikowalnym widokiem historii dla kodu spoza pakietu model: nowe oceny dodaje wyłącznie
+// Employee.addRating (po walidacji), a widok od razu je odzwierciedla - odczyt nie wymaga kopiowania.
+// Jako List<Integer> zwraca obiekty z wbudowanej pamięci podręcznej Integer (wartości 1-5), więc nie alokuje pamięci.
+// Bezpieczeństwo wątkowe: tablica, liczba ocen i suma publikowane są razem jako niezmienna migawka (State) przez pole
+// volatile, a dopisywanie jest synchronizowane. Odczyt z dowolnego wątku (np. RatingAnalytics, równoległa faza
+// PromotionService.applyRaises) widzi więc spójny stan bez blokady - każda metoda korzysta z jednej migawki.
+// Historia tylko rośnie: iteracja równoległa z dopisywaniem nie zgłasza ConcurrentModificationException,
+// może jedynie objąć oceny dopisane w jej trakcie. Stałą kopię zwraca List.copyOf(history).
+public final class RatingHistory extends AbstractList<Integer> implements RandomAccess {
+
+    private static final State EMPTY = new State(new byte[0], 0, 0);
+
+    private volatile State state = EMPTY;
+
+    RatingHistory() {
+    }
+
+    // Dopisuje ocenę (zwalidowaną przez Employee) i aktualizuje sumę.
+    // Ocena zapisywana jest w komórce poza zakresem bieżącej migawki, więc czytelnicy jej nie widzą
+    // do momentu publikacji nowej migawki.
+    synchronized void add(int rating) {
+        State current = state;
+        byte[] ratings = current.ratings;
+        if (current.size == ratings.length) {
+            ratings = Arrays.copyOf(ratings, Math.max(8, current.size + (current.size >> 1)));
+        }
+        ratings[current.size] = (byte) rating;
+        state = new State(ratings, current.size + 1, current.sum + rating);
+    }
+
+    // Ocena o podanym numerze (w kolejności dodawania), bez opakowywania w Integer.
+    public int getRating(int index) {
+        State current = state;
+        Objects.checkIndex(index, current.size);
+        return current.ratings[index];
+    }
+
+    @Override
+    public Integer get(int index) {
+        return getRating(index);
+    }
+
+    @Override
+    public int size() {
+        return state.size;
+    }
+
+    // Suma wszystkich ocen.
+    public long sum() {
+        return state.sum;
+    }
+
+    // Średnia krocząca: średnia z ostatnich count ocen (lub wszystkich, jeśli jest ich mniej); 0.0 dla pustej historii.
+    // Koszt zależy wyłącznie od długości okna, nie od długości historii.
+    public double averageOfLast(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Rozmiar okna musi być dodatni");
+        }
+        State current = state;
+        int from = Math.max(0, current.size - count);
+        if (from == 0) {
+            return current.average();
+        }
+        long windowSum = 0;
+        for (int i = from; i < current.size; i++) {
+            windowSum += current.ratings[i];
+        }
+        return (double) windowSum / (current.size - from);
+    }
+
+    // Średnia ocen; 0.0 dla pustej historii.
+    public double average() {
+        return state.average();
+    }
+
+    // Niezmienna migawka historii: komórki tablicy o indeksach mniejszych niż size nie są już nigdy zmieniane.
+    private static final class State {
+        private final byte[] ratings;
+        private final int size;
+        private final long sum;
+
+        State(byte[] ratings, int size, long sum) {
+            this.ratings = ratings;
+            this.size = size;
+            this.sum = sum;
+        }
+
+        double average() {
+            return size == 0 ? 0.0 : (double) sum / size;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package model;
+
+import java.util.List;
+
+// Klasa typu DTO (Data Transfer Object) z wynikiem zbiorczej reorganizacji zespołów (TeamService.rebalance).
+// Plan reorganizacji jest stosowany w całości albo wcale - jeśli walidacja wykryła naruszenia reguł,
+// żaden zespół nie został zmieniony, a lista naruszeń opisuje wszystkie problemy planu (nie tylko pierwszy).
+public class RebalanceResult {
+    private final boolean applied;
+    private final int movedCount;
+    private final List<String> violations;
+
+    public RebalanceResult(boolean applied, int movedCount, List<String> violations) {
+        this.applied = applied;
+        this.movedCount = movedCount;
+        this.violations = violations;
+    }
+
+    // Czy plan został zastosowany.
+    public boolean isApplied() {
+        return applied;
+    }
+
+    // Liczba pracowników, których przypisanie do zespołu zmieniło się w wyniku planu (0, jeśli plan odrzucono).
+    public int getMovedCount() {
+        return movedCount;
+    }
+
+    // Opisy naruszeń reguł (pojemność, obecność Managera) lub konfliktów ze zmianami wykonanymi równolegle.
+    public List<String> getViolations() {
+        return violations;
+    }
+
+    @Override
+    public String toString() {
+        return "RebalanceResult{" +
+                "zastosowano=" + applied +
+                ", przeniesiono=" + movedCount +
+                ", naruszenia=" + violations.size() +
+                '}';
+    }
+}
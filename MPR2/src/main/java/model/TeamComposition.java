@@ -0,0 +1,146 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Niezmienny stan składu zespołu: lista członków wraz z licznikami utrzymywanymi przy każdej zmianie składu
+// (liczba osób na każdym stanowisku oraz suma pensji). Dzięki licznikom reguły zespołu (TeamRules)
+// sprawdzane są w czasie stałym, bez przeglądania listy członków.
+// Skład pamięta, z jaką pensją i na jakim stanowisku policzono każdego członka - uzgodnienie członka z jego bieżącym
+// stanem (resynced) jest więc idempotentne i nie zależy od kolejności ani liczby powiadomień o zmianach.
+// Każda zmiana tworzy nowy obiekt, więc stan może być podmieniany atomowo (compare-and-set) i udostępniany bez kopiowania.
+public final class TeamComposition {
+
+    private static final Position[] POSITIONS = Position.values();
+
+    // Skład pustego zespołu.
+    public static final TeamComposition EMPTY =
+            new TeamComposition(Collections.emptyList(), new Position[0], new double[0], new int[POSITIONS.length], 0.0);
+
+    private final List<Employee> members;
+    // Stanowisko i pensja, z którymi policzono członka o tym samym indeksie listy.
+    private final Position[] countedPositions;
+    private final double[] countedSalaries;
+    // Liczba członków na każdym stanowisku, indeksowana numerem porządkowym Position.
+    private final int[] positionCounts;
+    private final double totalSalary;
+
+    private TeamComposition(List<Employee> members, Position[] countedPositions, double[] countedSalaries,
+                            int[] positionCounts, double totalSalary) {
+        this.members = members;
+        this.countedPositions = countedPositions;
+        this.countedSalaries = countedSalaries;
+        this.positionCounts = positionCounts;
+        this.totalSalary = totalSalary;
+    }
+
+    // Buduje skład z listy członków, wyliczając liczniki jednym przejściem.
+    public static TeamComposition of(List<Employee> members) {
+        return counted(List.copyOf(members));
+    }
+
+    // Niemodyfikowalna lista członków zespołu.
+    public List<Employee> getMembers() {
+        return members;
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    public boolean contains(Employee employee) {
+        return members.contains(employee);
+    }
+
+    // Liczba członków zespołu na wskazanym stanowisku.
+    public int count(Position position) {
+        return positionCounts[position.ordinal()];
+    }
+
+    // Suma pensji członków zespołu.
+    public double getTotalSalary() {
+        return totalSalary;
+    }
+
+    // Skład powiększony o pracownika.
+    TeamComposition with(Employee employee) {
+        int size = members.size();
+        Employee[] updated = members.toArray(new Employee[size + 1]);
+        updated[size] = employee;
+        Position[] positions = Arrays.copyOf(countedPositions, size + 1);
+        double[] salaries = Arrays.copyOf(countedSalaries, size + 1);
+        positions[size] = employee.getPosition();
+        salaries[size] = employee.getSalary();
+        int[] counts = positionCounts.clone();
+        counts[positions[size].ordinal()]++;
+        return new TeamComposition(List.of(updated), positions, salaries, counts, totalSalary + salaries[size]);
+    }
+
+    // Skład pomniejszony o członka z podanej pozycji listy.
+    TeamComposition without(int index) {
+        int size = members.size() - 1;
+        Employee[] updated = new Employee[size];
+        Position[] positions = new Position[size];
+        double[] salaries = new double[size];
+        for (int i = 0, j = 0; i <= size; i++) {
+            if (i != index) {
+                updated[j] = members.get(i);
+                positions[j] = countedPositions[i];
+                salaries[j++] = countedSalaries[i];
+            }
+        }
+        int[] counts = positionCounts.clone();
+        counts[countedPositions[index].ordinal()]--;
+        return new TeamComposition(List.of(updated), positions, salaries, counts, sum(salaries));
+    }
+
+    // Skład, w którym członek policzony jest z bieżącym stanowiskiem i pensją.
+    // Zwraca ten sam obiekt, jeśli pracownik nie jest członkiem lub jego stan się nie zmienił.
+    TeamComposition resynced(Employee employee) {
+        int index = members.indexOf(employee);
+        if (index < 0) {
+            return this;
+        }
+        Position position = employee.getPosition();
+        double salary = employee.getSalary();
+        if (position == countedPositions[index] && Double.compare(salary, countedSalaries[index]) == 0) {
+            return this;
+        }
+        Position[] positions = countedPositions.clone();
+        double[] salaries = countedSalaries.clone();
+        int[] counts = positionCounts.clone();
+        counts[positions[index].ordinal()]--;
+        counts[position.ordinal()]++;
+        positions[index] = position;
+        salaries[index] = salary;
+        return new TeamComposition(members, positions, salaries, counts, sum(salaries));
+    }
+
+    // Skład, w którym wszyscy członkowie policzeni są z bieżącym stanem; lista członków pozostaje ta sama (ten sam obiekt).
+    TeamComposition resynced() {
+        return counted(members);
+    }
+
+    private static TeamComposition counted(List<Employee> members) {
+        Position[] positions = new Position[members.size()];
+        double[] salaries = new double[members.size()];
+        int[] counts = new int[POSITIONS.length];
+        for (int i = 0; i < positions.length; i++) {
+            Employee member = members.get(i);
+            positions[i] = member.getPosition();
+            salaries[i] = member.getSalary();
+            counts[positions[i].ordinal()]++;
+        }
+        return new TeamComposition(members, positions, salaries, counts, sum(salaries));
+    }
+
+    // Suma liczona w kolejności członków (bez kumulacji błędów zaokrągleń przy wielu zmianach pensji).
+    private static double sum(double[] salaries) {
+        double total = 0.0;
+        for (double salary : salaries) {
+            total += salary;
+        }
+        return total;
+    }
+}
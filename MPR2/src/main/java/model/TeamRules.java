@@ -0,0 +1,160 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Niezmienny zestaw reguł składu zespołu projektowego: limit miejsc, minimalna i maksymalna liczba osób
+// na poszczególnych stanowiskach oraz budżet płacowy (maksymalna suma pensji członków).
+// Reguły sprawdzane są na licznikach składu (TeamComposition), więc każde sprawdzenie ma koszt stały,
+// niezależny od liczby członków zespołu.
+// Limity (miejsca, maksimum na stanowisku, budżet) blokują przyjęcie pracownika do zespołu, natomiast minima
+// są wymogiem zgodności (compliance) - zespół kompletowany od zera nie może ich spełniać od pierwszego członka.
+public final class TeamRules {
+
+    private static final Position[] POSITIONS = Position.values();
+
+    // Reguły domyślne: 5 miejsc i przynajmniej jedna osoba na stanowisku MANAGER.
+    public static final TeamRules DEFAULT = new TeamRules(5).withMinimum(Position.MANAGER, 1);
+
+    private final int capacity;
+    private final int[] minimums;
+    private final int[] maximums;
+    private final double salaryBudget;
+
+    // Tworzy reguły z limitem miejsc, bez wymagań co do stanowisk i bez budżetu płacowego.
+    public TeamRules(int capacity) {
+        this(capacity, new int[POSITIONS.length], filled(Integer.MAX_VALUE), Double.POSITIVE_INFINITY);
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Limit miejsc w zespole musi być dodatni");
+        }
+    }
+
+    private TeamRules(int capacity, int[] minimums, int[] maximums, double salaryBudget) {
+        this.capacity = capacity;
+        this.minimums = minimums;
+        this.maximums = maximums;
+        this.salaryBudget = salaryBudget;
+    }
+
+    /**
+     * Zwraca kopię reguł z minimalną liczbą osób na wskazanym stanowisku.
+     *
+     * @throws IllegalArgumentException Jeśli minimum jest ujemne, większe od maksimum stanowiska lub od limitu miejsc.
+     */
+    public TeamRules withMinimum(Position position, int count) {
+        if (count < 0 || count > maximums[position.ordinal()] || count > capacity) {
+            throw new IllegalArgumentException("Nieprawidłowe minimum dla stanowiska " + position + ": " + count);
+        }
+        int[] updated = minimums.clone();
+        updated[position.ordinal()] = count;
+        return new TeamRules(capacity, updated, maximums, salaryBudget);
+    }
+
+    /**
+     * Zwraca kopię reguł z maksymalną liczbą osób na wskazanym stanowisku.
+     *
+     * @throws IllegalArgumentException Jeśli maksimum jest ujemne lub mniejsze od minimum stanowiska.
+     */
+    public TeamRules withMaximum(Position position, int count) {
+        if (count < 0 || count < minimums[position.ordinal()]) {
+            throw new IllegalArgumentException("Nieprawidłowe maksimum dla stanowiska " + position + ": " + count);
+        }
+        int[] updated = maximums.clone();
+        updated[position.ordinal()] = count;
+        return new TeamRules(capacity, minimums, updated, salaryBudget);
+    }
+
+    /**
+     * Zwraca kopię reguł z budżetem płacowym zespołu (maksymalną sumą pensji członków).
+     *
+     * @throws IllegalArgumentException Jeśli budżet nie jest liczbą dodatnią.
+     */
+    public TeamRules withSalaryBudget(double budget) {
+        if (!(budget > 0)) {
+            throw new IllegalArgumentException("Budżet płacowy zespołu musi być dodatni");
+        }
+        return new TeamRules(capacity, minimums, maximums, budget);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getMinimum(Position position) {
+        return minimums[position.ordinal()];
+    }
+
+    // Maksymalna liczba osób na stanowisku; Integer.MAX_VALUE oznacza brak limitu.
+    public int getMaximum(Position position) {
+        return maximums[position.ordinal()];
+    }
+
+    // Budżet płacowy zespołu; Double.POSITIVE_INFINITY oznacza brak budżetu.
+    public double getSalaryBudget() {
+        return salaryBudget;
+    }
+
+    /**
+     * Sprawdza, czy zespół o podanym składzie może przyjąć pracownika (limit miejsc, maksimum stanowiska, budżet).
+     *
+     * @return null, jeśli pracownik może zostać przyjęty; w przeciwnym razie opis naruszonej reguły.
+     */
+    public String admissionViolation(TeamComposition composition, Employee employee) {
+        if (composition.size() >= capacity) {
+            return "jest już pełny (Max: " + capacity + ")";
+        }
+        Position position = employee.getPosition();
+        if (composition.count(position) >= maximums[position.ordinal()]) {
+            return "osiągnął limit pracowników na stanowisku " + position
+                    + " (Max: " + maximums[position.ordinal()] + ")";
+        }
+        if (composition.getTotalSalary() + employee.getSalary() > salaryBudget) {
+            return "przekroczyłby budżet płacowy (Max: " + salaryBudget + ")";
+        }
+        return null;
+    }
+
+    // Sprawdza wszystkie reguły dla składu zespołu w czasie stałym.
+    public boolean isCompliant(TeamComposition composition) {
+        if (composition.size() > capacity || composition.getTotalSalary() > salaryBudget) {
+            return false;
+        }
+        for (Position position : POSITIONS) {
+            int count = composition.count(position);
+            if (count < minimums[position.ordinal()] || count > maximums[position.ordinal()]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Zwraca opisy wszystkich reguł naruszonych przez skład zespołu (pusta lista dla składu zgodnego z regułami).
+    public List<String> violations(TeamComposition composition) {
+        List<String> violations = new ArrayList<>();
+        if (composition.size() > capacity) {
+            violations.add(composition.size() + " członków przekracza limit (Max: " + capacity + ")");
+        }
+        for (Position position : POSITIONS) {
+            int count = composition.count(position);
+            if (count < minimums[position.ordinal()]) {
+                violations.add("brak wymaganej liczby pracowników na stanowisku " + position
+                        + " (" + count + ", Min: " + minimums[position.ordinal()] + ")");
+            } else if (count > maximums[position.ordinal()]) {
+                violations.add("zbyt wielu pracowników na stanowisku " + position
+                        + " (" + count + ", Max: " + maximums[position.ordinal()] + ")");
+            }
+        }
+        if (composition.getTotalSalary() > salaryBudget) {
+            violations.add("suma pensji " + composition.getTotalSalary()
+                    + " przekracza budżet płacowy (Max: " + salaryBudget + ")");
+        }
+        return violations;
+    }
+
+    private static int[] filled(int value) {
+        int[] values = new int[POSITIONS.length];
+        Arrays.fill(values, value);
+        return values;
+    }
+}
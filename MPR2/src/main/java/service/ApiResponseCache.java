@@ -0,0 +1,265 @@
+package service;
+
+import model.Employee;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Dyskowa pamięć podręczna odpowiedzi API, kluczowana adresem URL żądania.
+// Dla każdej odpowiedzi posiadającej walidatory (ETag lub Last-Modified) zapisywane są: treść odpowiedzi
+// oraz plik z metadanymi. Dzięki temu ApiService może wysłać żądanie warunkowe (If-None-Match / If-Modified-Since),
+// a po odpowiedzi 304 (Not Modified) zwrócić wcześniej sparsowanych pracowników bez pobierania i parsowania JSON-a.
+// Sparsowani pracownicy trzymani są w pamięci; po restarcie aplikacji treść odczytywana jest jednorazowo z dysku.
+// Klasa jest bezpieczna wątkowo - może być używana przez równoległe pobieranie stron.
+public class ApiResponseCache {
+
+    private static final String BODY_SUFFIX = ".json";
+    private static final String META_SUFFIX = ".properties";
+
+    private final Path directory;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    /**
+     * Tworzy pamięć podręczną w podanym katalogu (katalog jest tworzony, jeśli nie istnieje).
+     *
+     * @param directory Katalog na pliki pamięci podręcznej.
+     * @throws IOException Jeśli katalogu nie da się utworzyć.
+     */
+    public ApiResponseCache(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    // Liczba odpowiedzi 304 obsłużonych z pamięci podręcznej.
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    // Liczba pełnych odpowiedzi (200) pobranych z serwera.
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    // Łączny rozmiar treści odpowiedzi, których nie trzeba było ponownie pobierać dzięki odpowiedziom 304.
+    public long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    // Wpis pamięci podręcznej: walidatory odpowiedzi, rozmiar treści oraz (leniwie) sparsowani pracownicy.
+    static final class Entry {
+        final String etag;
+        final String lastModified;
+        final long bodyLength;
+        private volatile List<Employee> employees;
+
+        Entry(String etag, String lastModified, long bodyLength, List<Employee> employees) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.bodyLength = bodyLength;
+            this.employees = employees;
+        }
+    }
+
+    // Zwraca wpis dla adresu URL (z pamięci lub z dysku) albo null, jeśli odpowiedź nie była zapisana.
+    Entry get(String url) throws IOException {
+        Entry entry = entries.get(url);
+        if (entry != null) {
+            return entry;
+        }
+        Path metaFile = fileFor(url, META_SUFFIX);
+        if (!Files.exists(metaFile) || !Files.exists(fileFor(url, BODY_SUFFIX))) {
+            return null;
+        }
+        Properties meta = new Properties();
+        try (Reader reader = Files.newBufferedReader(metaFile, StandardCharsets.UTF_8)) {
+            meta.load(reader);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        // Zabezpieczenie przed kolizją skrótu - wpis musi dotyczyć dokładnie tego samego adresu.
+        if (!url.equals(meta.getProperty("url"))) {
+            return null;
+        }
+        entry = new Entry(meta.getProperty("etag"), meta.getProperty("lastModified"),
+                Long.parseLong(meta.getProperty("length", "0")), null);
+        Entry existing = entries.putIfAbsent(url, entry);
+        return existing != null ? existing : entry;
+    }
+
+    // Zwraca kopie pracowników zapamiętanych dla wpisu albo null, jeśli wpis nie był jeszcze sparsowany
+    // (np. po restarcie aplikacji). Kopie chronią zapamiętane obiekty przed modyfikacjami wywołującego.
+    List<Employee> cachedEmployees(Entry entry) {
+        List<Employee> employees = entry.employees;
+        return employees == null ? null : copies(employees);
+    }
+
+    // Zapamiętuje pracowników sparsowanych z treści odczytanej z dysku.
+    void remember(Entry entry, List<Employee> employees) {
+        entry.employees = copies(employees);
+    }
+
+    // Otwiera zapisaną treść odpowiedzi.
+    InputStream openBody(String url) throws IOException {
+        return Files.newInputStream(fileFor(url, BODY_SUFFIX));
+    }
+
+    // Rejestruje odpowiedź 304: treść nie została pobrana, więc zaoszczędzono cały jej rozmiar.
+    void recordHit(Entry entry) {
+        hitCount.incrementAndGet();
+        bytesSaved.addAndGet(entry.bodyLength);
+    }
+
+    /**
+     * Rozpoczyna zapis pełnej odpowiedzi (200). Zwracany Recorder kopiuje czytaną treść do pliku tymczasowego;
+     * wpis staje się widoczny dopiero po wywołaniu commit, a zamknięcie bez commit usuwa plik tymczasowy.
+     *
+     * @return Recorder albo null, jeśli odpowiedź nie posiada walidatorów i nie może być użyta w żądaniu warunkowym.
+     */
+    Recorder record(String url, String etag, String lastModified) throws IOException {
+        missCount.incrementAndGet();
+        if (etag == null && lastModified == null) {
+            // Poprzednio zapisana odpowiedź jest nieaktualna, a nowej nie da się zweryfikować - wpis jest usuwany.
+            entries.remove(url);
+            Files.deleteIfExists(fileFor(url, META_SUFFIX));
+            return null;
+        }
+        return new Recorder(url, etag, lastModified);
+    }
+
+    // Usuwa wszystkie wpisy z pamięci i z dysku.
+    public void clear() throws IOException {
+        entries.clear();
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            if (name.endsWith(BODY_SUFFIX) || name.endsWith(META_SUFFIX)) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    // Zapis pojedynczej odpowiedzi w trakcie jej strumieniowego parsowania.
+    final class Recorder implements AutoCloseable {
+        private final String url;
+        private final String etag;
+        private final String lastModified;
+        private final Path tempFile;
+        private final OutputStream out;
+        private long length;
+        private boolean committed;
+
+        private Recorder(String url, String etag, String lastModified) throws IOException {
+            this.url = url;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.tempFile = Files.createTempFile(directory, "response", ".tmp");
+            this.out = new BufferedOutputStream(Files.newOutputStream(tempFile));
+        }
+
+        // Opakowuje strumień odpowiedzi tak, aby każdy odczytany bajt był równocześnie zapisywany do pliku.
+        InputStream wrap(InputStream body) {
+            return new FilterInputStream(body) {
+                @Override
+                public int read() throws IOException {
+                    int b = super.read();
+                    if (b >= 0) {
+                        out.write(b);
+                        length++;
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int count) throws IOException {
+                    int read = super.read(buffer, offset, count);
+                    if (read > 0) {
+                        out.write(buffer, offset, read);
+                        length += read;
+                    }
+                    return read;
+                }
+            };
+        }
+
+        // Publikuje wpis: przenosi treść na miejsce docelowe, zapisuje metadane i zapamiętuje pracowników.
+        void commit(List<Employee> employees) throws IOException {
+            out.close();
+            // Metadane usuwane są przed podmianą treści, aby przerwany zapis nie pozostawił niespójnego wpisu.
+            Files.deleteIfExists(fileFor(url, META_SUFFIX));
+            Files.move(tempFile, fileFor(url, BODY_SUFFIX), StandardCopyOption.REPLACE_EXISTING);
+
+            Properties meta = new Properties();
+            meta.setProperty("url", url);
+            meta.setProperty("length", Long.toString(length));
+            if (etag != null) {
+                meta.setProperty("etag", etag);
+            }
+            if (lastModified != null) {
+                meta.setProperty("lastModified", lastModified);
+            }
+            try (Writer writer = Files.newBufferedWriter(fileFor(url, META_SUFFIX), StandardCharsets.UTF_8)) {
+                meta.store(writer, null);
+            }
+            entries.put(url, new Entry(etag, lastModified, length, copies(employees)));
+            committed = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                out.close();
+                Files.deleteIfExists(tempFile);
+            }
+        }
+    }
+
+    // Kopiuje dane pracowników przekazanych z API (wpis nie może współdzielić obiektów modyfikowanych przez wywołującego).
+    private static List<Employee> copies(List<Employee> employees) {
+        List<Employee> copies = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            copies.add(new Employee(employee.getName(), employee.getEmail(), employee.getCompanyName(),
+                    employee.getPosition(), employee.getSalary()));
+        }
+        return copies;
+    }
+
+    // Nazwa pliku wyznaczana jest ze skrótu SHA-256 adresu URL, aby była poprawna w każdym systemie plików.
+    private Path fileFor(String url, String suffix) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            StringBuilder name = new StringBuilder(hash.length * 2 + suffix.length());
+            for (byte b : hash) {
+                name.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return directory.resolve(name.append(suffix).toString());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Brak algorytmu SHA-256", e);
+        }
+    }
+}
@@ -1,32 +1,76 @@
 package service;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.MalformedJsonException;
 import exception.ApiException;
 import model.Employee;
 import model.Position;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 // Serwis odpowiedzialny za komunikację z zewnętrznym REST API.
 // Obsługuje wysyłanie żądań HTTP oraz deserializację odpowiedzi JSON na obiekty modelu wewnętrznego.
 public class ApiService {
 
+    // Domyślny adres endpointu z danymi użytkowników.
+    public static final String DEFAULT_BASE_URL = "https://jsonplaceholder.typicode.com/users";
+
+    // Domyślny rozmiar strony oraz liczba stron pobieranych jednocześnie w trybie asynchronicznym.
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+
+    // Liczba ponowień żądania zakończonego błędem serwera (5xx) oraz opóźnienie pierwszego ponowienia.
+    // Każde kolejne ponowienie czeka dwa razy dłużej (exponential backoff).
+    static final int MAX_RETRIES = 3;
+    static final long INITIAL_BACKOFF_MILLIS = 100;
+
     private final HttpClient client;
-    private final Gson gson;
+    private final String baseUrl;
+
+    // Opcjonalna pamięć podręczna odpowiedzi (null - każde żądanie pobiera pełną odpowiedź).
+    private final ApiResponseCache cache;
 
     public ApiService() {
-        this.client = HttpClient.newHttpClient();
-        this.gson = new Gson();
+        // HTTP/2 pozwala multipleksować równoległe żądania stron w jednym połączeniu TCP.
+        this(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build(), DEFAULT_BASE_URL);
+    }
+
+    public ApiService(HttpClient client, String baseUrl) {
+        this(client, baseUrl, null);
+    }
+
+    /**
+     * Tworzy serwis korzystający z pamięci podręcznej odpowiedzi. Żądania do adresów, których odpowiedź
+     * jest zapisana w pamięci podręcznej, wysyłane są jako warunkowe (If-None-Match / If-Modified-Since);
+     * odpowiedź 304 obsługiwana jest bez pobierania i parsowania JSON-a.
+     *
+     * @param client Klient HTTP.
+     * @param baseUrl Adres endpointu z danymi użytkowników.
+     * @param cache Pamięć podręczna odpowiedzi lub null, jeśli nie jest używana.
+     */
+    public ApiService(HttpClient client, String baseUrl, ApiResponseCache cache) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.cache = cache;
     }
 
     /**
@@ -38,56 +82,336 @@ public class ApiService {
      */
     public List<Employee> fetchEmployeesFromApi() throws ApiException {
         List<Employee> apiEmployees = new ArrayList<>();
+        fetchEmployeesFromApi(apiEmployees::add);
+        return apiEmployees;
+    }
+
+    /**
+     * Pobiera użytkowników z zewnętrznego serwisu, przekazując kolejnych pracowników do konsumenta.
+     * Odpowiedź nie jest buforowana w pamięci - ciało odpowiedzi czytane jest strumieniowo przez JsonReader,
+     * który odczytuje tylko pola name, email i company.name, a pozostałe poddrzewa pomija bez ich materializacji.
+     * Zużycie pamięci nie zależy więc od rozmiaru odpowiedzi.
+     *
+     * @param consumer Odbiorca kolejnych pracowników.
+     * @return Liczba przekazanych pracowników.
+     * @throws ApiException W przypadku błędu sieciowego, błędu HTTP (status inny niż 200) lub błędu parsowania JSON.
+     */
+    public int fetchEmployeesFromApi(Consumer<Employee> consumer) throws ApiException {
+        try {
+            // Konstrukcja żądania HTTP GET skierowanego do endpointu z danymi użytkowników.
+            ApiResponseCache.Entry cached = cache == null ? null : cache.get(baseUrl);
+            HttpRequest request = newRequest(baseUrl, cached);
+
+            // Wysłanie żądania; ciało odpowiedzi udostępniane jest jako strumień.
+            HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+
+            try (InputStream body = response.body()) {
+                // Odpowiedź 304 - dane nie zmieniły się od ostatniego pobrania.
+                if (cached != null && response.statusCode() == 304) {
+                    return serveFromCache(baseUrl, cached, consumer);
+                }
+                // Weryfikacja kodu statusu HTTP. Oczekiwany kod 200 (OK).
+                if (response.statusCode() != 200) {
+                    throw new ApiException("Błąd zapytania API. Nieoczekiwany status: " + response.statusCode());
+                }
+                return readResponse(baseUrl, response, body, consumer);
+            }
+
+        } catch (IOException | InterruptedException e) {
+            // Obsługa błędów warstwy transportowej lub przerwania wątku.
+            // Wyjątek jest opakowywany w ApiException w celu zachowania spójności interfejsu.
+            throw new ApiException("Błąd połączenia z API: " + e.getMessage(), e);
+        }
+    }
 
-        // Konstrukcja żądania HTTP GET skierowanego do endpointu z danymi użytkowników.
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create("https://jsonplaceholder.typicode.com/users"))
-                .GET()
-                .build();
+    // Wariant pobierania asynchronicznego z domyślnym rozmiarem strony i oknem równoległości.
+    public CompletableFuture<List<Employee>> fetchAllEmployeesAsync() {
+        List<Employee> employees = new ArrayList<>();
+        return fetchEmployeesAsync(DEFAULT_PAGE_SIZE, DEFAULT_MAX_IN_FLIGHT, employees::add)
+                .thenApply(count -> employees);
+    }
 
+    /**
+     * Asynchronicznie pobiera wszystkich użytkowników z API stronicowanego parametrami {@code _page} i {@code _limit}.
+     * Jednocześnie w toku jest co najwyżej maxInFlight żądań; po zakończeniu dowolnego z nich wysyłane jest kolejne.
+     * Pracownicy przekazywani są do konsumenta na bieżąco, strona po stronie, zawsze w kolejności stron
+     * (konsument wywoływany jest sekwencyjnie, z wątków klienta HTTP), więc przetwarzanie danych
+     * odbywa się równolegle z pobieraniem kolejnych stron. Pobieranie kończy się na pierwszej niepełnej stronie.
+     * Odpowiedzi 5xx są ponawiane (do {@value #MAX_RETRIES} razy) z wykładniczo rosnącym opóźnieniem.
+     *
+     * @param pageSize Liczba użytkowników na stronie.
+     * @param maxInFlight Maksymalna liczba jednocześnie wykonywanych żądań.
+     * @param consumer Odbiorca kolejnych pracowników.
+     * @return Future z łączną liczbą pobranych pracowników; w razie błędu kończy się wyjątkiem ApiException
+     *         (opakowanym w CompletionException).
+     * @throws IllegalArgumentException Jeśli rozmiar strony lub okno równoległości nie są dodatnie.
+     */
+    public CompletableFuture<Integer> fetchEmployeesAsync(int pageSize, int maxInFlight, Consumer<Employee> consumer) {
+        if (pageSize <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("Rozmiar strony i liczba równoległych żądań muszą być dodatnie");
+        }
+        return new PagedFetch(pageSize, maxInFlight, consumer).start();
+    }
+
+    // Adres konkretnej strony wyników.
+    String pageUrl(int page, int pageSize) {
+        String separator = baseUrl.contains("?") ? "&" : "?";
+        return baseUrl + separator + "_page=" + page + "&_limit=" + pageSize;
+    }
+
+    // Wysyła żądanie strony, ponawiając je z opóźnieniem, jeśli serwer odpowie błędem 5xx.
+    private CompletableFuture<List<Employee>> fetchPage(int page, int pageSize, int attempt) {
+        String url = pageUrl(page, pageSize);
+        ApiResponseCache.Entry cached;
         try {
-            // Wysłanie żądania i oczekiwanie na odpowiedź w formacie tekstowym (String).
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            cached = cache == null ? null : cache.get(url);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return client.sendAsync(newRequest(url, cached), HttpResponse.BodyHandlers.ofInputStream())
+                .thenCompose(response -> {
+                    try (InputStream body = response.body()) {
+                        int status = response.statusCode();
+                        if (cached != null && status == 304) {
+                            List<Employee> employees = new ArrayList<>(pageSize);
+                            serveFromCache(url, cached, employees::add);
+                            return CompletableFuture.completedFuture(employees);
+                        }
+                        if (status >= 500 && attempt < MAX_RETRIES) {
+                            long delay = INITIAL_BACKOFF_MILLIS << attempt;
+                            return CompletableFuture.supplyAsync(() -> null,
+                                            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS))
+                                    .thenCompose(ignored -> fetchPage(page, pageSize, attempt + 1));
+                        }
+                        if (status != 200) {
+                            throw new ApiException("Błąd zapytania API (strona " + page + "). Nieoczekiwany status: " + status);
+                        }
+                        // Strona parsowana jest strumieniowo - w pamięci znajdują się tylko jej gotowe obiekty Employee.
+                        List<Employee> employees = new ArrayList<>(pageSize);
+                        readResponse(url, response, body, employees::add);
+                        return CompletableFuture.completedFuture(employees);
+                    } catch (ApiException | IOException e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
 
-            // Weryfikacja kodu statusu HTTP. Oczekiwany kod 200 (OK).
-            if (response.statusCode() != 200) {
-                throw new ApiException("Błąd zapytania API. Nieoczekiwany status: " + response.statusCode());
+    // Buduje żądanie GET; jeśli odpowiedź była zapisana w pamięci podręcznej, dodaje nagłówki warunkowe.
+    private static HttpRequest newRequest(String url, ApiResponseCache.Entry cached) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .GET();
+        if (cached != null && cached.etag != null) {
+            builder.header("If-None-Match", cached.etag);
+        }
+        if (cached != null && cached.lastModified != null) {
+            builder.header("If-Modified-Since", cached.lastModified);
+        }
+        return builder.build();
+    }
+
+    // Parsuje pełną odpowiedź (200). Jeśli pamięć podręczna jest włączona, a odpowiedź posiada walidatory,
+    // treść jest równocześnie zapisywana na dysk, a sparsowani pracownicy zapamiętywani.
+    private int readResponse(String url, HttpResponse<InputStream> response, InputStream body,
+                             Consumer<Employee> consumer) throws IOException, ApiException {
+        if (cache == null) {
+            return readEmployees(body, consumer);
+        }
+        String etag = response.headers().firstValue("ETag").orElse(null);
+        String lastModified = response.headers().firstValue("Last-Modified").orElse(null);
+        try (ApiResponseCache.Recorder recorder = cache.record(url, etag, lastModified)) {
+            if (recorder == null) {
+                return readEmployees(body, consumer);
             }
+            List<Employee> parsed = new ArrayList<>();
+            int count = readEmployees(recorder.wrap(body), employee -> {
+                parsed.add(employee);
+                consumer.accept(employee);
+            });
+            recorder.commit(parsed);
+            return count;
+        }
+    }
 
-            // Deserializacja ciała odpowiedzi JSON do obiektu JsonArray przy użyciu biblioteki GSON.
-            String jsonBody = response.body();
-            JsonArray usersArray = gson.fromJson(jsonBody, JsonArray.class);
+    // Obsługuje odpowiedź 304: zwraca pracowników zapamiętanych w pamięci podręcznej.
+    // Po restarcie aplikacji zapisana treść jest parsowana jednorazowo z dysku, a wynik zapamiętywany.
+    private int serveFromCache(String url, ApiResponseCache.Entry cached, Consumer<Employee> consumer)
+            throws IOException, ApiException {
+        cache.recordHit(cached);
+        List<Employee> employees = cache.cachedEmployees(cached);
+        if (employees == null) {
+            employees = new ArrayList<>();
+            try (InputStream in = cache.openBody(url)) {
+                readEmployees(in, employees::add);
+            }
+            cache.remember(cached, employees);
+        }
+        employees.forEach(consumer);
+        return employees.size();
+    }
 
-            // Iteracja po elementach tablicy JSON i mapowanie pól na obiekt domenowy Employee.
-            for (JsonElement userElement : usersArray) {
-                JsonObject userObject = userElement.getAsJsonObject();
+    // Strumieniowo mapuje tablicę użytkowników w formacie JSON na pracowników przekazywanych do konsumenta.
+    // Błędy struktury JSON zgłaszane są jako ApiException; błędy odczytu strumienia propagowane są jako IOException.
+    // Wyjątki rzucone przez konsumenta nie są błędami formatu odpowiedzi i propagowane są bez zmian.
+    private static int readEmployees(InputStream body, Consumer<Employee> consumer) throws IOException, ApiException {
+        JsonReader reader = new JsonReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        try {
+            reader.beginArray();
+        } catch (MalformedJsonException | IllegalStateException e) {
+            throw parseError(e);
+        }
+        // Iteracja po elementach tablicy JSON i mapowanie pól na obiekt domenowy Employee.
+        int count = 0;
+        Employee employee;
+        while ((employee = nextEmployee(reader)) != null) {
+            consumer.accept(employee);
+            count++;
+        }
+        return count;
+    }
 
-                // Ekstrakcja podstawowych danych tekstowych z obiektu JSON.
-                String fullName = userObject.get("name").getAsString();
-                String email = userObject.get("email").getAsString();
+    // Odczytuje kolejny element tablicy użytkowników; po jej zamknięciu zwraca null.
+    private static Employee nextEmployee(JsonReader reader) throws IOException, ApiException {
+        try {
+            if (reader.hasNext()) {
+                return readEmployee(reader);
+            }
+            reader.endArray();
+            return null;
+        } catch (MalformedJsonException | IllegalStateException e) {
+            throw parseError(e);
+        }
+    }
+
+    // Obsługa błędów wynikających z nieprawidłowej struktury otrzymanego JSON-a.
+    private static ApiException parseError(Exception e) {
+        return new ApiException("Błąd parsowania odpowiedzi JSON: " + e.getMessage(), e);
+    }
 
+    // Odczytuje jeden obiekt użytkownika; wszystkie pola poza name, email i company.name są pomijane.
+    private static Employee readEmployee(JsonReader reader) throws IOException {
+        String fullName = null;
+        String email = null;
+        String companyName = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String field = reader.nextName();
+            if (field.equals("name")) {
+                fullName = reader.nextString();
+            } else if (field.equals("email")) {
+                email = reader.nextString();
+            } else if (field.equals("company")) {
                 // Nawigacja do zagnieżdżonego obiektu 'company' w celu pobrania nazwy firmy.
-                String companyName = userObject.get("company")
-                        .getAsJsonObject()
-                        .get("name")
-                        .getAsString();
+                companyName = readCompanyName(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
 
-                // Przypisanie domyślnego stanowiska i wynagrodzenia dla pracowników importowanych z API.
-                Position position = Position.PROGRAMISTA;
-                double salary = position.getBaseSalary();
+        if (fullName == null || email == null || companyName == null) {
+            throw new IllegalStateException("Brak wymaganego pola (name, email lub company.name) w obiekcie użytkownika");
+        }
+
+        // Przypisanie domyślnego stanowiska i wynagrodzenia dla pracowników importowanych z API.
+        Position position = Position.PROGRAMISTA;
+        double salary = position.getBaseSalary();
 
-                apiEmployees.add(new Employee(fullName, email, companyName, position, salary));
+        return new Employee(fullName, email, companyName, position, salary);
+    }
+
+    private static String readCompanyName(JsonReader reader) throws IOException {
+        String companyName = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("name")) {
+                companyName = reader.nextString();
+            } else {
+                reader.skipValue();
             }
+        }
+        reader.endObject();
+        return companyName;
+    }
 
-        } catch (IOException | InterruptedException e) {
-            // Obsługa błędów warstwy transportowej lub przerwania wątku.
-            // Wyjątek jest opakowywany w ApiException w celu zachowania spójności interfejsu.
-            throw new ApiException("Błąd połączenia z API: " + e.getMessage(), e);
-        } catch (JsonSyntaxException e) {
-            // Obsługa błędów wynikających z nieprawidłowej struktury otrzymanego JSON-a.
-            throw new ApiException("Błąd parsowania odpowiedzi JSON: " + e.getMessage(), e);
+    // Stan jednego stronicowanego pobierania: okno żądań w toku oraz bufor stron, które dotarły przed poprzednimi.
+    // Wszystkie pola chronione są monitorem obiektu.
+    private final class PagedFetch {
+        private final int pageSize;
+        private final int maxInFlight;
+        private final Consumer<Employee> consumer;
+        private final CompletableFuture<Integer> result = new CompletableFuture<>();
+
+        // Strony pobrane, ale jeszcze nieprzekazane konsumentowi (czekające na wcześniejsze strony).
+        private final Map<Integer, List<Employee>> pending = new HashMap<>();
+        private int nextPageToRequest = 1;
+        private int nextPageToDeliver = 1;
+        // Numer pierwszej niepełnej strony - ostatniej strony wyników.
+        private int lastPage = Integer.MAX_VALUE;
+        private int inFlight;
+        private int delivered;
+
+        PagedFetch(int pageSize, int maxInFlight, Consumer<Employee> consumer) {
+            this.pageSize = pageSize;
+            this.maxInFlight = maxInFlight;
+            this.consumer = consumer;
         }
 
-        return apiEmployees;
+        CompletableFuture<Integer> start() {
+            synchronized (this) {
+                requestMore();
+            }
+            return result;
+        }
+
+        // Wysyła kolejne żądania, dopóki okno nie jest pełne i nie jest znany koniec wyników.
+        private void requestMore() {
+            while (!result.isDone() && inFlight < maxInFlight && nextPageToRequest <= lastPage) {
+                int page = nextPageToRequest++;
+                inFlight++;
+                fetchPage(page, pageSize, 0).whenComplete((employees, error) -> onPage(page, employees, error));
+            }
+        }
+
+        private synchronized void onPage(int page, List<Employee> employees, Throwable error) {
+            inFlight--;
+            if (result.isDone()) {
+                return;
+            }
+            if (error != null) {
+                // Błędy transportu (np. IOException) opakowywane są w ApiException, tak jak w wariancie synchronicznym.
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (!(cause instanceof ApiException)) {
+                    cause = new ApiException("Błąd połączenia z API: " + cause.getMessage(), cause);
+                }
+                result.completeExceptionally(new CompletionException(cause));
+                return;
+            }
+            if (employees.size() < pageSize) {
+                lastPage = Math.min(lastPage, page);
+            }
+            pending.put(page, employees);
+
+            // Przekazanie konsumentowi wszystkich stron, które są już kompletne w kolejności.
+            try {
+                List<Employee> ready;
+                while (nextPageToDeliver <= lastPage && (ready = pending.remove(nextPageToDeliver)) != null) {
+                    ready.forEach(consumer);
+                    delivered += ready.size();
+                    nextPageToDeliver++;
+                }
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+
+            if (nextPageToDeliver > lastPage) {
+                result.complete(delivered);
+            } else {
+                requestMore();
+            }
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+package service;
+
+import model.CompanyStatistics;
+import model.Employee;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Akumulator statystyk pensji jednej firmy, wypełniany w jednym przejściu po pracownikach.
+// Średnia i wariancja liczone są algorytmem Welforda (stabilnym numerycznie), a częściowe wyniki
+// z różnych wątków łączone są wzorem Chana, dzięki czemu akumulator nadaje się do równoległej agregacji.
+// Najlepiej zarabiający przechowywani są w małej tablicy posortowanej malejąco (top-K), bez list pośrednich.
+// Akumulator wypełniany jest m.in. przez operator grupowania migawki kolumnowej (EmployeeSnapshot).
+final class CompanyStatisticsAccumulator {
+
+    private final int topK;
+    private int count;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private double mean;
+    // Suma kwadratów odchyleń od bieżącej średniej (M2 w algorytmie Welforda).
+    private double m2;
+
+    // Najlepiej zarabiający: malejąco według pensji, przy remisie w kolejności napotkania.
+    // Pensje najlepiej zarabiających trzymane są obok nich, aby porównania nie odwoływały się do obiektów.
+    // Tablica ma co najmniej jedno miejsce - pierwszy element to najlepiej zarabiający także przy topK == 0.
+    private final Employee[] top;
+    private final double[] topSalaries;
+    private int topSize;
+
+    CompanyStatisticsAccumulator(int topK) {
+        this.topK = topK;
+        this.top = new Employee[Math.max(topK, 1)];
+        this.topSalaries = new double[top.length];
+    }
+
+    // Dodaje pracownika o podanej pensji (odczytanej np. z kolumny migawki, bez odwołania do obiektu).
+    void add(double salary, Employee employee) {
+        count++;
+        sum += salary;
+        min = Math.min(min, salary);
+        max = Math.max(max, salary);
+        double delta = salary - mean;
+        mean += delta / count;
+        m2 += delta * (salary - mean);
+        offerTop(salary, employee);
+    }
+
+    // Dołącza wyniki akumulatora obejmującego pracowników występujących później w kolejności napotkania.
+    CompanyStatisticsAccumulator merge(CompanyStatisticsAccumulator other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            return other;
+        }
+        int total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+        count = total;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        for (int i = 0; i < other.topSize; i++) {
+            offerTop(other.topSalaries[i], other.top[i]);
+        }
+        return this;
+    }
+
+    CompanyStatistics toStatistics() {
+        int ranked = Math.min(topSize, topK);
+        List<String> names = new ArrayList<>(ranked);
+        for (int i = 0; i < ranked; i++) {
+            names.add(top[i].getName());
+        }
+        if (count == 0) {
+            return new CompanyStatistics(0, 0.0, Double.NaN, Double.NaN, 0.0, Double.NaN, "N/A", names);
+        }
+        return new CompanyStatistics(count, sum, min, max, sum / count, m2 / count, top[0].getName(), names);
+    }
+
+    // Wstawia pracownika do tablicy top-K za wszystkimi pracownikami o pensji większej lub równej.
+    private void offerTop(double salary, Employee employee) {
+        int capacity = top.length;
+        if (topSize == capacity && !(salary > topSalaries[topSize - 1])) {
+            return;
+        }
+        int position = topSize;
+        while (position > 0 && salary > topSalaries[position - 1]) {
+            position--;
+        }
+        int moved = Math.min(topSize, capacity - 1) - position;
+        if (moved > 0) {
+            System.arraycopy(top, position, top, position + 1, moved);
+            System.arraycopy(topSalaries, position, topSalaries, position + 1, moved);
+        }
+        top[position] = employee;
+        topSalaries[position] = salary;
+        topSize = Math.min(topSize + 1, capacity);
+    }
+
+    // Zamienia akumulatory firm na obiekty statystyk, zachowując kolejność firm.
+    static Map<String, CompanyStatistics> toStatistics(Map<String, CompanyStatisticsAccumulator> accumulators) {
+        Map<String, CompanyStatistics> statistics = new LinkedHashMap<>(accumulators.size() * 4 / 3 + 1);
+        accumulators.forEach((company, accumulator) -> statistics.put(company, accumulator.toStatistics()));
+        return statistics;
+    }
+}
@@ -0,0 +1,186 @@
+package service;
+
+import model.CompanyStatistics;
+import model.Employee;
+import model.Position;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+// Bezpieczny wątkowo wariant EmployeeService dla wielu równoległych zapisujących (np. wątków importu CSV
+// i pobierania z API). Każda operacja jest liniowalna (linearizable), a gwarancja unikalności adresu email - atomowa.
+//
+// Dodanie pracownika przebiega w dwóch fazach:
+// 1. Bez blokady: odrzucenie oczywistych duplikatów na podstawie współbieżnego indeksu głównego (ConcurrentHashMap)
+//    oraz wyliczenie klucza sortowania alfabetycznego - najdroższej części dodania - collatorem danego wątku.
+// 2. Pod blokadą zapisu: ostateczne sprawdzenie unikalności i dołączenie pracownika do wszystkich indeksów.
+// Sekcja krytyczna jest krótka, więc równoległe dodawanie skaluje się z liczbą rdzeni.
+//
+// Odczyty wykonywane są pod blokadą odczytu (wiele wątków jednocześnie), a wyszukiwanie po adresie email
+// korzysta bezpośrednio z indeksu współbieżnego, bez blokady. Pracownik trafia do indeksu współbieżnego dopiero
+// po dołączeniu do pozostałych indeksów, więc odczyt bez blokady nigdy nie wyprzedza odczytów pod blokadą.
+// Zmiany stanowiska i pensji pracowników z rejestru (np. przez PromotionService) aktualizują indeksy pod blokadą zapisu.
+// Aktualizacja odczytuje bieżący stan pracownika i pomija pracowników spoza rejestru, więc zdarzenie docierające
+// po usunięciu pracownika lub po kolejnej zmianie nie przywraca go do indeksów ani nie liczy zmiany podwójnie.
+public class ConcurrentEmployeeService extends EmployeeService {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock readLock = lock.readLock();
+    private final Lock writeLock = lock.writeLock();
+
+    // Indeks główny do odczytów bez blokady: znormalizowany email -> pracownik.
+    private final Map<String, Employee> employeesByEmail = new ConcurrentHashMap<>();
+
+    // Collator nie jest bezpieczny wątkowo - każdy wątek wylicza klucze sortowania własną instancją.
+    private final ThreadLocal<Collator> collators = ThreadLocal.withInitial(SortedEmployeeIndex::newCollator);
+
+    // Migawka może być budowana przez kilku czytelników jednocześnie - budowa jest serializowana osobnym monitorem.
+    private final Object snapshotMonitor = new Object();
+
+    /**
+     * Dodaje nowego pracownika do rejestru. Metoda może być wywoływana równolegle z wielu wątków;
+     * spośród równoczesnych prób dodania pracowników o tym samym adresie email powiedzie się dokładnie jedna.
+     *
+     * @param employee Obiekt pracownika do dodania.
+     * @return true, jeśli pracownik został pomyślnie dodany; false, jeśli taki pracownik już istnieje w systemie.
+     */
+    @Override
+    public boolean addEmployee(Employee employee) {
+        String key = normalizeEmail(employee.getEmail());
+        if (key != null && employeesByEmail.containsKey(key)) {
+            return false;
+        }
+        CollationKey nameKey = SortedEmployeeIndex.nameKey(collators.get(), employee);
+
+        writeLock.lock();
+        try {
+            if (!addEmployee(employee, key, nameKey)) {
+                return false;
+            }
+            // ConcurrentHashMap nie przyjmuje kluczy null - pracownik bez adresu jest dostępny tylko pod blokadą.
+            if (key != null) {
+                employeesByEmail.put(key, employee);
+            }
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Employee removeEmployee(String email) {
+        writeLock.lock();
+        try {
+            Employee removed = super.removeEmployee(email);
+            String key = normalizeEmail(email);
+            if (removed != null && key != null) {
+                employeesByEmail.remove(key);
+            }
+            return removed;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Employee findByEmail(String email) {
+        String key = normalizeEmail(email);
+        if (key == null) {
+            return read(() -> super.findByEmail(null));
+        }
+        return employeesByEmail.get(key);
+    }
+
+    @Override
+    public int size() {
+        return read(super::size);
+    }
+
+    @Override
+    public void showAllEmployees() {
+        read(() -> {
+            super.showAllEmployees();
+            return null;
+        });
+    }
+
+    @Override
+    public List<Employee> findByCompany(String companyName) {
+        return read(() -> super.findByCompany(companyName));
+    }
+
+    @Override
+    public List<Employee> sortByName() {
+        return read(super::sortByName);
+    }
+
+    @Override
+    public List<Employee> getDirectoryPage(int pageNumber, int pageSize) {
+        return read(() -> super.getDirectoryPage(pageNumber, pageSize));
+    }
+
+    @Override
+    public Map<Position, List<Employee>> groupByPosition() {
+        return read(super::groupByPosition);
+    }
+
+    @Override
+    public Map<Position, Integer> countByPosition() {
+        return read(super::countByPosition);
+    }
+
+    @Override
+    public double averageSalary() {
+        return read(super::averageSalary);
+    }
+
+    @Override
+    public Employee findHighestSalary() {
+        return read(super::findHighestSalary);
+    }
+
+    @Override
+    public List<Employee> validateSalaryConsistency() {
+        return read(super::validateSalaryConsistency);
+    }
+
+    @Override
+    public Map<String, CompanyStatistics> getCompanyStatistics(int topEarners) {
+        return read(() -> super.getCompanyStatistics(topEarners));
+    }
+
+    @Override
+    public EmployeeSnapshot snapshot() {
+        return read(() -> {
+            synchronized (snapshotMonitor) {
+                return super.snapshot();
+            }
+        });
+    }
+
+    // Zmiany pól pracowników mogą przychodzić z dowolnego wątku - aktualizacja indeksów wymaga blokady zapisu.
+    @Override
+    void updateIndexes(Runnable update) {
+        writeLock.lock();
+        try {
+            update.run();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private <T> T read(Supplier<T> operation) {
+        readLock.lock();
+        try {
+            return operation.get();
+        } finally {
+            readLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package service;
+
+import java.io.IOException;
+
+// Źródło kolejnych rekordów CSV (plik mapowany w pamięci lub strumień wejściowy).
+// Po udanym wywołaniu nextRecord() zawartość rekordu dostępna jest przez tokenizer().
+interface CsvRecordSource {
+
+    // Odczytuje kolejny rekord; zwraca false po wyczerpaniu danych.
+    boolean nextRecord() throws IOException;
+
+    // Tokenizer przechowujący pola ostatnio odczytanego rekordu.
+    CsvTokenizer tokenizer();
+}
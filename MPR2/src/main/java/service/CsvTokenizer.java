@@ -0,0 +1,198 @@
+package service;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Tokenizer rekordów CSV zgodny z RFC 4180, działający bezpośrednio na bajtach.
+// Obsługuje pola w cudzysłowach (z separatorami i znakami nowej linii wewnątrz), podwojone cudzysłowy ("")
+// jako znak cudzysłowu, zakończenia linii "\n" oraz "\r\n" oraz konfigurowalny separator.
+// Zawartość pól (już bez cudzysłowów) kopiowana jest do jednego bufora wielokrotnego użytku,
+// a granice pól zapisywane są w tablicach starts/ends - przetworzenie rekordu nie tworzy żadnych obiektów.
+// Dla wygody plików edytowanych ręcznie cudzysłów otwiera pole także po wiodących białych znakach,
+// a cudzysłów w środku pola bez cudzysłowu traktowany jest jak zwykły znak.
+final class CsvTokenizer {
+
+    static final byte QUOTE = '"';
+
+    private final byte delimiter;
+
+    private ByteBuffer input;
+    private boolean endOfInput;
+
+    private byte[] buffer = new byte[256];
+    private int length;
+    private int[] starts = new int[8];
+    private int[] ends = new int[8];
+    private int fieldCount;
+    private int lineCount;
+    private boolean quoted;
+    private boolean malformed;
+
+    CsvTokenizer(byte delimiter) {
+        this.delimiter = validateDelimiter((char) (delimiter & 0xFF));
+    }
+
+    /**
+     * Sprawdza, czy znak może pełnić rolę separatora kolumn i zwraca go jako bajt.
+     * Separator musi być znakiem ASCII (tokenizer porównuje pojedyncze bajty, a rzutowanie na byte
+     * obcięłoby znak spoza ASCII do przypadkowej wartości) i nie może być cudzysłowem ani znakiem końca linii.
+     *
+     * @param delimiter Kandydat na separator.
+     * @return Separator jako pojedynczy bajt.
+     * @throws IllegalArgumentException Jeśli znak nie jest dozwolonym separatorem.
+     */
+    static byte validateDelimiter(char delimiter) {
+        if (delimiter > 0x7F) {
+            throw new IllegalArgumentException("Separator CSV musi być znakiem ASCII: '" + delimiter + "'");
+        }
+        if (delimiter == QUOTE || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("Niedozwolony separator CSV: '" + delimiter + "'");
+        }
+        return (byte) delimiter;
+    }
+
+    /**
+     * Ustawia dane wejściowe tokenizera: bajty z zakresu [position, limit) bufora.
+     *
+     * @param input Bufor z danymi (np. okno pliku mapowanego lub bufor odczytu strumienia).
+     * @param endOfInput true, jeśli za końcem bufora nie ma już żadnych danych.
+     */
+    void reset(ByteBuffer input, boolean endOfInput) {
+        this.input = input;
+        this.endOfInput = endOfInput;
+    }
+
+    /**
+     * Odczytuje kolejny rekord, przesuwając pozycję bufora wejściowego za jego koniec.
+     * Jeśli rekord nie kończy się w buforze, a dane nie są kompletne (endOfInput == false),
+     * pozycja bufora nie jest zmieniana i zwracane jest false - wywołujący powinien dostarczyć więcej danych.
+     *
+     * @return true, jeśli odczytano kompletny rekord.
+     */
+    boolean nextRecord() {
+        int start = input.position();
+        int limit = input.limit();
+        if (start >= limit) {
+            return false;
+        }
+
+        length = 0;
+        fieldCount = 0;
+        lineCount = 1;
+        quoted = false;
+        malformed = false;
+
+        int fieldStart = 0;
+        boolean inQuotes = false;
+        boolean leadingWhitespace = true;
+        int i = start;
+        while (true) {
+            if (i >= limit) {
+                if (!endOfInput) {
+                    return false;
+                }
+                malformed = inQuotes;
+                endField(fieldStart);
+                input.position(limit);
+                return true;
+            }
+
+            byte b = input.get(i++);
+            if (inQuotes) {
+                if (b == QUOTE) {
+                    if (i >= limit && !endOfInput) {
+                        return false;
+                    }
+                    if (i < limit && input.get(i) == QUOTE) {
+                        append(QUOTE);
+                        i++;
+                    } else {
+                        inQuotes = false;
+                        leadingWhitespace = false;
+                    }
+                } else {
+                    if (b == '\n') {
+                        lineCount++;
+                    }
+                    append(b);
+                }
+            } else if (b == delimiter) {
+                endField(fieldStart);
+                fieldStart = length;
+                leadingWhitespace = true;
+            } else if (b == '\n') {
+                endField(fieldStart);
+                input.position(i);
+                return true;
+            } else if (b == '\r') {
+                if (i >= limit && !endOfInput) {
+                    return false;
+                }
+                if (i >= limit || input.get(i) != '\n') {
+                    append(b);
+                }
+            } else if (b == QUOTE && leadingWhitespace) {
+                length = fieldStart;
+                inQuotes = true;
+                quoted = true;
+            } else {
+                append(b);
+                leadingWhitespace &= (b & 0xFF) <= ' ';
+            }
+        }
+    }
+
+    // Bufor z zawartością pól bieżącego rekordu.
+    byte[] buffer() {
+        return buffer;
+    }
+
+    int[] starts() {
+        return starts;
+    }
+
+    int[] ends() {
+        return ends;
+    }
+
+    int fieldCount() {
+        return fieldCount;
+    }
+
+    // Liczba fizycznych linii pliku zajmowanych przez bieżący rekord (więcej niż 1 przy nowych liniach w cudzysłowach).
+    int lineCount() {
+        return lineCount;
+    }
+
+    // true, jeśli rekord jest pustą linią (bez żadnych znaków).
+    boolean isEmptyLine() {
+        return fieldCount == 1 && length == 0 && !quoted;
+    }
+
+    // true, jeśli rekord jest linią złożoną wyłącznie z białych znaków (odpowiednik line.trim().isEmpty()).
+    boolean isBlankLine() {
+        return fieldCount == 1 && !quoted && EmployeeCsvMapper.isBlank(buffer, 0, length);
+    }
+
+    // true, jeśli rekord zakończył się przed zamknięciem cudzysłowu (koniec danych wewnątrz pola).
+    boolean isMalformed() {
+        return malformed;
+    }
+
+    private void append(byte b) {
+        if (length == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        buffer[length++] = b;
+    }
+
+    private void endField(int fieldStart) {
+        if (fieldCount == starts.length) {
+            starts = Arrays.copyOf(starts, starts.length * 2);
+            ends = Arrays.copyOf(ends, ends.length * 2);
+        }
+        starts[fieldCount] = fieldStart;
+        ends[fieldCount] = length;
+        fieldCount++;
+    }
+}
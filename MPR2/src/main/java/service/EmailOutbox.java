@@ -0,0 +1,298 @@
+package service;
+
+import interfaces.EmailService;
+import model.Email;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Skrzynka nadawcza buforująca wiadomości przed serwisem EmailService.
+// Wiadomości trafiają do ograniczonej kolejki, z której wątek wysyłający składa paczki i przekazuje je
+// do EmailService.sendBatch. Paczka jest wysyłana, gdy osiągnie maksymalny rozmiar albo gdy od przyjęcia
+// jej pierwszej wiadomości minie okno czasowe - dzięki temu koszt wysyłki rozkłada się na wiele wiadomości,
+// a serwer pocztowy nie jest zasypywany pojedynczymi wywołaniami przy nagłym wzroście ruchu.
+// Pełna kolejka wstrzymuje nadawców (backpressure) zamiast gubić wiadomości.
+// Wiadomość o tym samym adresacie i temacie co wiadomość oczekująca na wysyłkę jest pomijana (deduplikacja).
+// Zamknięcie skrzynki (close) wysyła wszystkie oczekujące wiadomości i kończy wątek wysyłający.
+// Jeśli wątek wysyłający zakończy się błędem (Error), skrzynka przestaje przyjmować wiadomości,
+// a nadawcy oczekujący na miejsce w kolejce oraz close() nie czekają w nieskończoność.
+public class EmailOutbox implements AutoCloseable {
+
+    // Znacznik zamknięcia skrzynki umieszczany w kolejce przez close().
+    private static final Email CLOSE_SIGNAL = new Email(null, null, null);
+
+    // Co ile nadawca czekający na miejsce w kolejce sprawdza, czy wątek wysyłający nadal działa.
+    private static final long DISPATCHER_CHECK_INTERVAL_MILLIS = 100;
+
+    private final EmailService emailService;
+    private final BlockingQueue<Email> queue;
+    private final int maxBatchSize;
+    private final long flushIntervalNanos;
+
+    // Klucze (adresat, temat) wiadomości przyjętych, a jeszcze nie przekazanych do wysyłki.
+    private final Set<MessageKey> pending = ConcurrentHashMap.newKeySet();
+    private final Thread dispatcher;
+    private volatile Throwable dispatcherFailure;
+
+    // Stan zamknięcia i liczba wywołań submit wstawiających wiadomość do kolejki - chronione monitorem skrzynki.
+    private boolean closed;
+    private int activeSubmits;
+
+    private final AtomicInteger sentCount = new AtomicInteger();
+    private final AtomicInteger failedCount = new AtomicInteger();
+    private final AtomicInteger duplicateCount = new AtomicInteger();
+    private final AtomicInteger batchCount = new AtomicInteger();
+
+    /**
+     * Tworzy skrzynkę nadawczą i uruchamia jej wątek wysyłający.
+     *
+     * @param emailService Serwis, do którego przekazywane są paczki wiadomości.
+     * @param capacity Pojemność kolejki oczekujących wiadomości.
+     * @param maxBatchSize Maksymalna liczba wiadomości w paczce.
+     * @param flushInterval Okno czasowe: maksymalny czas oczekiwania wiadomości na skompletowanie paczki.
+     * @throws IllegalArgumentException Jeśli pojemność lub rozmiar paczki nie są dodatnie albo okno czasowe jest ujemne.
+     */
+    public EmailOutbox(EmailService emailService, int capacity, int maxBatchSize, Duration flushInterval) {
+        if (capacity <= 0 || maxBatchSize <= 0 || flushInterval.isNegative()) {
+            throw new IllegalArgumentException("Nieprawidłowa konfiguracja skrzynki nadawczej");
+        }
+        this.emailService = emailService;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatchSize = maxBatchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.dispatcher = new Thread(this::dispatchLoop, "email-outbox");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    /**
+     * Przyjmuje wiadomość do wysyłki. Jeśli kolejka jest pełna, metoda czeka na zwolnienie miejsca.
+     * Oczekiwanie odbywa się poza monitorem skrzynki - pełna kolejka nie blokuje innych nadawców
+     * (np. odrzucenia duplikatu) ani zamknięcia skrzynki.
+     *
+     * @param email Wiadomość do wysłania.
+     * @return true, jeśli wiadomość została przyjęta; false, jeśli oczekuje już wiadomość o tym samym adresacie i temacie.
+     * @throws IllegalStateException Jeśli skrzynka została zamknięta, wątek wysyłający zakończył działanie
+     *                               lub wątek został przerwany w trakcie oczekiwania.
+     */
+    public boolean submit(Email email) {
+        MessageKey key = new MessageKey(email.recipient(), email.subject());
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Skrzynka nadawcza została zamknięta");
+            }
+            if (!pending.add(key)) {
+                duplicateCount.incrementAndGet();
+                return false;
+            }
+            // close() czeka na zakończenie tego wywołania, więc wiadomość trafi do kolejki przed znacznikiem zamknięcia.
+            activeSubmits++;
+        }
+        try {
+            enqueue(email);
+            return true;
+        } catch (InterruptedException e) {
+            pending.remove(key);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Przerwano oczekiwanie na miejsce w skrzynce nadawczej", e);
+        } catch (RuntimeException e) {
+            pending.remove(key);
+            throw e;
+        } finally {
+            synchronized (this) {
+                if (--activeSubmits == 0) {
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Zamyka skrzynkę: nowe wiadomości nie są przyjmowane, a oczekujące są wysyłane przed zakończeniem metody.
+     * Jeśli wątek wysyłający zakończył działanie z błędem, wiadomości pozostałe w kolejce są liczone jako
+     * niewysłane, a metoda kończy się bez oczekiwania. Ponowne wywołanie nie ma efektu.
+     */
+    @Override
+    public void close() {
+        boolean interrupted = false;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            // Nadawcy, którzy przeszli kontrolę zamknięcia, kończą wstawianie przed znacznikiem zamknięcia.
+            // Nie czekają w nieskończoność: kolejkę opróżnia wątek wysyłający, a po jego awarii enqueue zgłasza błąd.
+            while (activeSubmits > 0) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        while (true) {
+            try {
+                enqueue(CLOSE_SIGNAL);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            } catch (IllegalStateException e) {
+                // Wątek wysyłający nie działa - znacznik zamknięcia nie jest już potrzebny.
+                break;
+            }
+        }
+        while (dispatcher.isAlive()) {
+            try {
+                dispatcher.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (dispatcherFailure != null) {
+            discardQueued();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Liczba wiadomości przekazanych do wysyłki w paczkach zakończonych powodzeniem.
+    public int getSentCount() {
+        return sentCount.get();
+    }
+
+    // Liczba wiadomości z paczek, których wysyłka zakończyła się wyjątkiem.
+    public int getFailedCount() {
+        return failedCount.get();
+    }
+
+    // Liczba wiadomości pominiętych jako duplikaty.
+    public int getDuplicateCount() {
+        return duplicateCount.get();
+    }
+
+    // Liczba paczek przekazanych do EmailService.sendBatch.
+    public int getBatchCount() {
+        return batchCount.get();
+    }
+
+    // Wstawia element do kolejki. Na miejsce czeka tylko dopóki działa wątek wysyłający -
+    // po jego awarii kolejka nigdy by się nie zwolniła.
+    private void enqueue(Email email) throws InterruptedException {
+        ensureDispatcherAlive();
+        while (!queue.offer(email, DISPATCHER_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+            ensureDispatcherAlive();
+        }
+    }
+
+    private void ensureDispatcherAlive() {
+        if (!dispatcher.isAlive()) {
+            throw new IllegalStateException("Wątek wysyłający skrzynki nadawczej zakończył działanie", dispatcherFailure);
+        }
+    }
+
+    // Po awarii wątku wysyłającego wiadomości pozostałe w kolejce nie zostaną wysłane.
+    private void discardQueued() {
+        Email email;
+        while ((email = queue.poll()) != null) {
+            if (email != CLOSE_SIGNAL) {
+                pending.remove(new MessageKey(email.recipient(), email.subject()));
+                failedCount.incrementAndGet();
+            }
+        }
+    }
+
+    // Błąd (Error) zgłoszony w wątku wysyłającym kończy go - zostaje zapamiętany, aby submit i close
+    // nie czekały na wątek, który już nie opróżni kolejki.
+    private void dispatchLoop() {
+        try {
+            runDispatchLoop();
+        } catch (Throwable t) {
+            dispatcherFailure = t;
+            throw t;
+        }
+    }
+
+    // Pętla wątku wysyłającego: kompletuje paczkę do osiągnięcia rozmiaru, upływu okna czasowego
+    // lub zamknięcia skrzynki, a następnie ją wysyła.
+    private void runDispatchLoop() {
+        List<Email> batch = new ArrayList<>(maxBatchSize);
+        boolean closing = false;
+        while (!closing) {
+            Email first = takeUninterruptibly();
+            if (first == CLOSE_SIGNAL) {
+                break;
+            }
+            batch.add(first);
+            long deadline = System.nanoTime() + flushIntervalNanos;
+            while (batch.size() < maxBatchSize) {
+                Email next = pollUntil(deadline);
+                if (next == null) {
+                    break;
+                }
+                if (next == CLOSE_SIGNAL) {
+                    closing = true;
+                    break;
+                }
+                batch.add(next);
+            }
+            dispatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void dispatch(List<Email> batch) {
+        // Klucze zwalniane są przed wysyłką - wiadomość przyjęta w jej trakcie trafi do kolejnej paczki.
+        for (Email email : batch) {
+            pending.remove(new MessageKey(email.recipient(), email.subject()));
+        }
+        batchCount.incrementAndGet();
+        try {
+            emailService.sendBatch(List.copyOf(batch));
+            sentCount.addAndGet(batch.size());
+        } catch (RuntimeException e) {
+            // Błąd jednej paczki nie zatrzymuje wątku wysyłającego.
+            failedCount.addAndGet(batch.size());
+        } catch (Error e) {
+            failedCount.addAndGet(batch.size());
+            throw e;
+        }
+    }
+
+    // Wątek wysyłający nie jest przerywany z zewnątrz - przerwanie jest ignorowane, a zakończenie sygnalizuje CLOSE_SIGNAL.
+    private Email takeUninterruptibly() {
+        while (true) {
+            try {
+                return queue.take();
+            } catch (InterruptedException ignored) {
+                // Ponowienie oczekiwania.
+            }
+        }
+    }
+
+    private Email pollUntil(long deadline) {
+        while (true) {
+            long remaining = deadline - System.nanoTime();
+            // Po upływie okna paczka dopełniana jest już tylko wiadomościami, które czekają w kolejce.
+            if (remaining <= 0) {
+                return queue.poll();
+            }
+            try {
+                return queue.poll(remaining, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException ignored) {
+                // Ponowienie oczekiwania do końca okna czasowego.
+            }
+        }
+    }
+
+    // Klucz deduplikacji: wiadomości o tym samym adresacie i temacie uznawane są za identyczne.
+    private record MessageKey(String recipient, String subject) {
+    }
+}
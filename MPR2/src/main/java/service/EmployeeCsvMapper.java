@@ -0,0 +1,198 @@
+package service;
+
+import exception.InvalidDataException;
+import model.Employee;
+import model.Position;
+
+import java.nio.charset.StandardCharsets;
+
+// Konwerter rekordu CSV zapisanego jako zakresy bajtów na obiekt Employee.
+// Walidacja i komunikaty błędów są identyczne we wszystkich trybach importu (strumieniowym, mapowanym i równoległym),
+// a stanowisko i pensja parsowane są bezpośrednio z bajtów. Obiekty String powstają
+// wyłącznie dla pól trafiających do pracownika (imię i nazwisko, email, firma) oraz dla komunikatów błędów.
+// Instancja posiada bufor roboczy i nie jest bezpieczna wątkowo - każdy wątek importu używa własnej.
+final class EmployeeCsvMapper {
+
+    // Oczekiwana liczba kolumn: imię, nazwisko, email, firma, stanowisko, pensja.
+    static final int EXPECTED_COLUMNS = 6;
+
+    // Nazwy stanowisk w postaci bajtów ASCII, porównywane bez rozróżniania wielkości liter.
+    private static final Position[] POSITIONS = Position.values();
+    private static final byte[][] POSITION_NAMES = new byte[POSITIONS.length][];
+
+    static {
+        for (int i = 0; i < POSITIONS.length; i++) {
+            POSITION_NAMES[i] = POSITIONS[i].name().getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    // Maksymalna mantysa, dla której dzielenie przez potęgę 10 daje wynik identyczny z Double.parseDouble.
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    static {
+        POWERS_OF_TEN[0] = 1.0;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10.0;
+        }
+    }
+
+    // Bufor roboczy do sklejenia imienia i nazwiska w jeden ciąg bajtów przed dekodowaniem.
+    private byte[] scratch = new byte[64];
+
+    // Granice pól po usunięciu białych znaków - tablice współdzielone między kolejnymi rekordami.
+    private final int[] from = new int[EXPECTED_COLUMNS];
+    private final int[] to = new int[EXPECTED_COLUMNS];
+
+    /**
+     * Tworzy pracownika z pól rekordu wskazanych jako zakresy [starts[i], ends[i]) w tablicy bajtów.
+     *
+     * @param buffer Bajty rekordu (UTF-8).
+     * @param starts Początki kolejnych pól.
+     * @param ends Końce (wyłącznie) kolejnych pól.
+     * @param fieldCount Liczba pól w rekordzie.
+     * @return Zwalidowany obiekt Employee.
+     * @throws InvalidDataException Jeśli rekord ma złą liczbę kolumn, nieznane stanowisko lub niepoprawną pensję.
+     */
+    Employee map(byte[] buffer, int[] starts, int[] ends, int fieldCount) throws InvalidDataException {
+        if (fieldCount != EXPECTED_COLUMNS) {
+            throw new InvalidDataException("Niepoprawna liczba kolumn (oczekiwano 6, jest " + fieldCount + ")");
+        }
+
+        // Normalizacja danych wejściowych (usunięcie białych znaków) poprzez zawężenie zakresów.
+        for (int i = 0; i < EXPECTED_COLUMNS; i++) {
+            from[i] = trimStart(buffer, starts[i], ends[i]);
+            to[i] = trimEnd(buffer, from[i], ends[i]);
+        }
+
+        Position position = parsePosition(buffer, from[4], to[4]);
+        if (position == null) {
+            throw new InvalidDataException("Nieznane stanowisko: '" + decode(buffer, from[4], to[4]) + "'");
+        }
+
+        double salary;
+        try {
+            salary = parseSalary(buffer, from[5], to[5]);
+        } catch (NumberFormatException e) {
+            throw new InvalidDataException("Niepoprawny format pensji: '" + decode(buffer, from[5], to[5]) + "'");
+        }
+
+        if (salary <= 0) {
+            throw new InvalidDataException("Pensja musi być dodatnia (jest " + salary + ")");
+        }
+
+        String fullName = joinName(buffer, from[0], to[0], from[1], to[1]);
+        String email = decode(buffer, from[2], to[2]);
+        String company = decode(buffer, from[3], to[3]);
+        return new Employee(fullName, email, company, position, salary);
+    }
+
+    // Sprawdza, czy zakres zawiera wyłącznie białe znaki (odpowiednik String.trim().isEmpty()).
+    static boolean isBlank(byte[] buffer, int from, int to) {
+        return trimStart(buffer, from, to) == to;
+    }
+
+    /**
+     * Rozpoznaje stanowisko zapisane w zakresie bajtów, bez rozróżniania wielkości liter (ASCII).
+     *
+     * @return Stanowisko lub null, jeśli nazwa nie odpowiada żadnej wartości enum Position.
+     */
+    static Position parsePosition(byte[] buffer, int from, int to) {
+        int length = to - from;
+        for (int p = 0; p < POSITION_NAMES.length; p++) {
+            byte[] name = POSITION_NAMES[p];
+            if (name.length != length) {
+                continue;
+            }
+            int i = 0;
+            while (i < length && toUpperAscii(buffer[from + i]) == name[i]) {
+                i++;
+            }
+            if (i == length) {
+                return POSITIONS[p];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parsuje kwotę zapisaną w zakresie bajtów.
+     * Typowe zapisy (znak, cyfry, opcjonalna część dziesiętna) parsowane są bezpośrednio z bajtów;
+     * pozostałe (np. notacja wykładnicza) delegowane są do Double.parseDouble, co gwarantuje identyczny wynik.
+     *
+     * @throws NumberFormatException Jeśli zakres nie zawiera poprawnej liczby.
+     */
+    static double parseSalary(byte[] buffer, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (buffer[i] == '-' || buffer[i] == '+')) {
+            negative = buffer[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean fraction = false;
+        boolean exact = true;
+        for (; i < to; i++) {
+            byte b = buffer[i];
+            if (b >= '0' && b <= '9') {
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (fraction) {
+                    fractionDigits++;
+                }
+                if (mantissa > MAX_EXACT_MANTISSA || fractionDigits >= POWERS_OF_TEN.length) {
+                    exact = false;
+                    break;
+                }
+            } else if (b == '.' && !fraction) {
+                fraction = true;
+            } else {
+                exact = false;
+                break;
+            }
+        }
+        if (exact && digits > 0) {
+            double value = mantissa / POWERS_OF_TEN[fractionDigits];
+            return negative ? -value : value;
+        }
+        return Double.parseDouble(decode(buffer, from, to));
+    }
+
+    static int trimStart(byte[] buffer, int from, int to) {
+        while (from < to && (buffer[from] & 0xFF) <= ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    static int trimEnd(byte[] buffer, int from, int to) {
+        while (to > from && (buffer[to - 1] & 0xFF) <= ' ') {
+            to--;
+        }
+        return to;
+    }
+
+    static String decode(byte[] buffer, int from, int to) {
+        return new String(buffer, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    private static byte toUpperAscii(byte b) {
+        return (b >= 'a' && b <= 'z') ? (byte) (b - ('a' - 'A')) : b;
+    }
+
+    // Skleja imię i nazwisko (oddzielone spacją) w buforze roboczym i dekoduje je jednorazowo.
+    private String joinName(byte[] buffer, int firstFrom, int firstTo, int lastFrom, int lastTo) {
+        int firstLength = firstTo - firstFrom;
+        int lastLength = lastTo - lastFrom;
+        int total = firstLength + 1 + lastLength;
+        if (scratch.length < total) {
+            scratch = new byte[Math.max(total, scratch.length * 2)];
+        }
+        System.arraycopy(buffer, firstFrom, scratch, 0, firstLength);
+        scratch[firstLength] = ' ';
+        System.arraycopy(buffer, lastFrom, scratch, firstLength + 1, lastLength);
+        return new String(scratch, 0, total, StandardCharsets.UTF_8);
+    }
+}
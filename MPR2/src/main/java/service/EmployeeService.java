@@ -4,191 +4,368 @@ import model.CompanyStatistics;
 import model.Employee;
 import model.Position;
 
+import java.text.CollationKey;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 // Główny serwis logiki biznesowej odpowiedzialny za zarządzanie danymi pracowników.
 // Klasa integruje operacje CRUD, funkcje analityczne, raportowe oraz walidację danych.
 public class EmployeeService {
 
-    // Wewnętrzny magazyn danych (repozytorium in-memory) przechowujący listę pracowników.
-    // Lista jest niestatyczna, co oznacza, że każda instancja serwisu pracuje na własnym zbiorze danych.
-    private final List<Employee> employees = new ArrayList<>();
+    // Domyślna liczba najlepiej zarabiających pracowników w statystykach firm.
+    public static final int DEFAULT_TOP_EARNERS = 3;
+
+
+    // Indeks główny (repozytorium in-memory): znormalizowany email -> pracownik.
+    // LinkedHashMap zachowuje kolejność dodawania, dzięki czemu iteracja po rejestrze
+    // zwraca pracowników w tej samej kolejności co dotychczasowa lista, a test unikalności kosztuje O(1).
+    private final Map<String, Employee> employeesByEmail = new LinkedHashMap<>();
+
+    // Indeks pomocniczy: nazwa firmy (małymi literami) -> pracownicy tej firmy.
+    private final Map<String, Set<Employee>> employeesByCompany = new HashMap<>();
+
+    // Indeks pomocniczy: stanowisko -> pracownicy na tym stanowisku.
+    // Stanowisko jest polem modyfikowalnym (awanse), dlatego indeks jest aktualizowany przez obserwatora zmian.
+    private final Map<Position, Set<Employee>> employeesByPosition = new EnumMap<>(Position.class);
+
+    // Indeks posortowany alfabetycznie (polskie reguły sortowania), utrzymywany przyrostowo przy dodawaniu i usuwaniu.
+    private final SortedEmployeeIndex employeesByName = new SortedEmployeeIndex();
+
+    // Indeks uporządkowany według pensji: pensja -> pracownicy z tą pensją (w kolejności trafienia do grupy).
+    // Pozwala wskazać najlepiej zarabiającego w czasie O(log n) zamiast przeglądać cały rejestr.
+    private final TreeMap<Double, Set<Employee>> employeesBySalary = new TreeMap<>();
+
+    // Stanowisko i pensja, pod którymi każdy pracownik (klucz: znormalizowany email) figuruje w indeksach.
+    // Aktualizacja indeksów porównuje je z bieżącym stanem pracownika, zamiast ufać argumentom zdarzenia.
+    private final Map<String, IndexedFields> indexedFields = new HashMap<>();
+
+    // Bieżąca suma pensji wszystkich pracowników - średnia liczona jest w czasie O(1).
+    private double totalSalary;
+
+    // Numer wersji rejestru zwiększany przy każdej zmianie (dodanie, usunięcie, zmiana stanowiska lub pensji).
+    // Migawka kolumnowa budowana jest ponownie tylko wtedy, gdy rejestr zmienił się od jej utworzenia.
+    private long version;
+    private EmployeeSnapshot snapshot;
+    private long snapshotVersion = -1;
+
+    // Obserwator rejestrowany na każdym dodanym pracowniku; przenosi go między grupami indeksów stanowisk i pensji
+    // oraz aktualizuje sumę pensji (także przy zmianach wykonywanych przez PromotionService).
+    // Pracownik zapisuje nowe pole przed powiadomieniem obserwatorów, więc zdarzenie może dotrzeć po usunięciu
+    // lub ponownym dodaniu pracownika albo po kolejnej zmianie - dlatego obie metody wykonują resync.
+    private final Employee.ChangeListener indexUpdater = new Employee.ChangeListener() {
+        @Override
+        public void onPositionChanged(Employee employee, Position oldPosition, Position newPosition) {
+            resync(employee);
+        }
+
+        @Override
+        public void onSalaryChanged(Employee employee, double oldSalary, double newSalary) {
+            resync(employee);
+        }
+    };
+
+    // Uzgadnia indeksy stanowisk i pensji z bieżącym stanem pracownika. Operacja jest idempotentna:
+    // pracownik spoza rejestru jest pomijany, a zmiana już uwzględniona w indeksach nie jest liczona ponownie.
+    private void resync(Employee employee) {
+        updateIndexes(() -> {
+            String key = normalizeEmail(employee.getEmail());
+            IndexedFields indexed = indexedFields.get(key);
+            if (indexed == null || employeesByEmail.get(key) != employee) {
+                return;
+            }
+            Position position = employee.getPosition();
+            double salary = employee.getSalary();
+            boolean changed = false;
+            if (position != indexed.position) {
+                removeFromGroup(employeesByPosition, indexed.position, employee);
+                addToGroup(employeesByPosition, position, employee);
+                indexed.position = position;
+                changed = true;
+            }
+            if (Double.compare(salary, indexed.salary) != 0) {
+                removeFromGroup(employeesBySalary, indexed.salary, employee);
+                addToGroup(employeesBySalary, salary, employee);
+                totalSalary += salary - indexed.salary;
+                indexed.salary = salary;
+                changed = true;
+            }
+            if (changed) {
+                version++;
+            }
+        });
+    }
 
     /**
      * Dodaje nowego pracownika do rejestru.
-     * Przed dodaniem weryfikuje unikalność pracownika w oparciu o metodę equals() (np. unikalny email).
+     * Unikalność weryfikowana jest w indeksie głównym po znormalizowanym adresie email
+     * (bez białych znaków na brzegach, bez rozróżniania wielkości liter), co daje koszt O(1) niezależnie od rozmiaru rejestru.
      *
      * @param employee Obiekt pracownika do dodania.
      * @return true, jeśli pracownik został pomyślnie dodany; false, jeśli taki pracownik już istnieje w systemie.
      */
     public boolean addEmployee(Employee employee) {
-        for (Employee e : employees) {
-            if (e.equals(employee)) {
-                return false;
-            }
+        return addEmployee(employee, normalizeEmail(employee.getEmail()), null);
+    }
+
+    // Dodaje pracownika pod znormalizowanym kluczem email. Klucz sortowania alfabetycznego może zostać
+    // wyliczony wcześniej przez wywołującego (null - wyliczany przez indeks alfabetyczny).
+    boolean addEmployee(Employee employee, String key, CollationKey nameKey) {
+        if (employeesByEmail.putIfAbsent(key, employee) != null) {
+            return false;
+        }
+        // Pola odczytywane są jednokrotnie - zmiana zapisana w międzyczasie zostanie uzgodniona przez resync.
+        IndexedFields indexed = new IndexedFields(employee.getPosition(), employee.getSalary());
+        indexedFields.put(key, indexed);
+        addToGroup(employeesByCompany, normalizeCompany(employee.getCompanyName()), employee);
+        addToGroup(employeesByPosition, indexed.position, employee);
+        addToGroup(employeesBySalary, indexed.salary, employee);
+        totalSalary += indexed.salary;
+        if (nameKey == null) {
+            employeesByName.insert(employee, key);
+        } else {
+            employeesByName.insert(employee, key, nameKey);
         }
-        employees.add(employee);
+        employee.addChangeListener(indexUpdater);
+        version++;
         return true;
     }
 
+    /**
+     * Usuwa pracownika o podanym adresie email ze wszystkich indeksów rejestru.
+     *
+     * @param email Adres email pracownika (bez rozróżniania wielkości liter).
+     * @return Usunięty pracownik lub null, jeśli nie znaleziono pracownika o takim adresie.
+     */
+    public Employee removeEmployee(String email) {
+        String key = normalizeEmail(email);
+        Employee employee = employeesByEmail.remove(key);
+        if (employee == null) {
+            return null;
+        }
+        // Pracownik usuwany jest z grup, w których faktycznie figuruje (zmiana w toku mogła nie zostać jeszcze uzgodniona).
+        IndexedFields indexed = indexedFields.remove(key);
+        removeFromGroup(employeesByCompany, normalizeCompany(employee.getCompanyName()), employee);
+        removeFromGroup(employeesByPosition, indexed.position, employee);
+        removeFromGroup(employeesBySalary, indexed.salary, employee);
+        // Pusty rejestr zeruje sumę, aby nie kumulować błędów zaokrągleń z kolejnych odejmowań.
+        totalSalary = employeesByEmail.isEmpty() ? 0.0 : totalSalary - indexed.salary;
+        employeesByName.remove(employee, key);
+        employee.removeChangeListener(indexUpdater);
+        version++;
+        return employee;
+    }
+
+    // Zwraca liczbę pracowników zarejestrowanych w serwisie.
+    public int size() {
+        return employeesByEmail.size();
+    }
+
+    /**
+     * Zwraca kolumnową migawkę rejestru do zapytań analitycznych (przegląd, filtrowanie, grupowanie).
+     * Migawka jest zapamiętywana i budowana ponownie dopiero po zmianie rejestru, więc kolejne zapytania
+     * analityczne na niezmienionym rejestrze nie ponoszą kosztu jej tworzenia.
+     *
+     * @return Migawka odzwierciedlająca bieżący stan rejestru (w kolejności dodawania pracowników).
+     */
+    public EmployeeSnapshot snapshot() {
+        if (snapshot == null || snapshotVersion != version) {
+            snapshot = new EmployeeSnapshot(employeesByEmail.values());
+            snapshotVersion = version;
+        }
+        return snapshot;
+    }
+
+    // Wyszukuje pracownika po adresie email (bez rozróżniania wielkości liter). Zwraca null, jeśli nie istnieje.
+    public Employee findByEmail(String email) {
+        return employeesByEmail.get(normalizeEmail(email));
+    }
+
     // Wyświetla pełną listę pracowników na standardowym wyjściu (konsola).
     // Metoda pomocnicza służąca do szybkiej weryfikacji stanu serwisu.
     public void showAllEmployees() {
-        for (Employee e : employees) {
+        for (Employee e : employeesByEmail.values()) {
             System.out.println(e);
         }
     }
 
     // Wyszukuje pracowników zatrudnionych w firmie o podanej nazwie.
-    // Wyszukiwanie jest niewrażliwe na wielkość liter (case-insensitive).
+    // Wyszukiwanie jest niewrażliwe na wielkość liter (case-insensitive) i korzysta bezpośrednio z indeksu firm.
     public List<Employee> findByCompany(String companyName) {
-        List<Employee> result = new ArrayList<>();
-        for (Employee e : employees) {
-            if (e.getCompanyName().equalsIgnoreCase(companyName)) {
-                result.add(e);
-            }
+        if (companyName == null) {
+            return new ArrayList<>();
         }
-        return result;
+        Set<Employee> group = employeesByCompany.get(normalizeCompany(companyName));
+        return group == null ? new ArrayList<>() : new ArrayList<>(group);
     }
 
     /**
      * Zwraca listę pracowników posortowaną alfabetycznie według imienia i nazwiska.
-     * Metoda nie modyfikuje wewnętrznej listy serwisu, lecz zwraca jej posortowaną kopię.
-     * Zastosowano algorytm sortowania bąbelkowego.
+     * Metoda nie modyfikuje wewnętrznego stanu serwisu, lecz zwraca nową listę odczytaną
+     * z utrzymywanego indeksu alfabetycznego (koszt O(n), bez ponownego sortowania).
+     * Porównanie uwzględnia polskie reguły sortowania i nie rozróżnia wielkości liter.
      *
      * @return Posortowana lista obiektów Employee.
      */
     public List<Employee> sortByName() {
-        List<Employee> sortedList = new ArrayList<>(employees);
-
-        for (int i = 0; i < sortedList.size() - 1; i++) {
-            for (int j = 0; j < sortedList.size() - 1 - i; j++) {
-                if (sortedList.get(j).getName().compareToIgnoreCase(sortedList.get(j + 1).getName()) > 0) {
-                    Employee temp = sortedList.get(j);
-                    sortedList.set(j, sortedList.get(j + 1));
-                    sortedList.set(j + 1, temp);
-                }
-            }
+        return employeesByName.toList();
+    }
+
+    /**
+     * Zwraca jedną stronę alfabetycznego katalogu pracowników.
+     * Strona odczytywana jest bezpośrednio z indeksu alfabetycznego w czasie O(log n + pageSize),
+     * bez kopiowania ani sortowania pozostałej części rejestru.
+     *
+     * @param pageNumber Numer strony liczony od 0.
+     * @param pageSize Maksymalna liczba pracowników na stronie.
+     * @return Niemodyfikowalna lista pracowników z danej strony (pusta, jeśli strona wykracza poza rejestr).
+     * @throws IllegalArgumentException Jeśli numer strony jest ujemny lub rozmiar strony nie jest dodatni.
+     */
+    public List<Employee> getDirectoryPage(int pageNumber, int pageSize) {
+        if (pageNumber < 0 || pageSize <= 0) {
+            throw new IllegalArgumentException("Niepoprawne parametry strony (numer: " + pageNumber
+                    + ", rozmiar: " + pageSize + ")");
+        }
+        long offset = (long) pageNumber * pageSize;
+        if (offset >= employeesByName.size()) {
+            return Collections.emptyList();
         }
-        return sortedList;
+        return Collections.unmodifiableList(employeesByName.range((int) offset, pageSize));
     }
 
     // Grupuje pracowników według zajmowanego stanowiska (Position).
     // Zwraca mapę, gdzie kluczem jest stanowisko, a wartością lista pracowników przypisanych do tego stanowiska.
+    // Wynik jest kopią indeksu stanowisk, więc nie wymaga przeglądania całego rejestru.
     public Map<Position, List<Employee>> groupByPosition() {
         Map<Position, List<Employee>> grouped = new HashMap<>();
-        for (Employee e : employees) {
-            Position pos = e.getPosition();
-            if (!grouped.containsKey(pos)) {
-                grouped.put(pos, new ArrayList<>());
-            }
-            grouped.get(pos).add(e);
+        for (Map.Entry<Position, Set<Employee>> entry : employeesByPosition.entrySet()) {
+            grouped.put(entry.getKey(), new ArrayList<>(entry.getValue()));
         }
         return grouped;
     }
 
     // Agreguje dane statystyczne dotyczące liczby pracowników na poszczególnych stanowiskach.
-    // Zwraca mapę z licznością wystąpień dla każdego stanowiska.
+    // Zwraca mapę z licznością wystąpień dla każdego stanowiska, odczytaną z rozmiarów grup indeksu.
     public Map<Position, Integer> countByPosition() {
         Map<Position, Integer> counts = new HashMap<>();
-        for (Employee e : employees) {
-            Position pos = e.getPosition();
-            counts.put(pos, counts.getOrDefault(pos, 0) + 1);
+        for (Map.Entry<Position, Set<Employee>> entry : employeesByPosition.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().size());
         }
         return counts;
     }
 
     // Oblicza średnie wynagrodzenie dla wszystkich pracowników zarejestrowanych w serwisie.
-    // W przypadku braku pracowników zwraca wartość 0.0.
+    // Korzysta z utrzymywanej przyrostowo sumy pensji (koszt O(1)). W przypadku braku pracowników zwraca wartość 0.0.
     public double averageSalary() {
-        if (employees.isEmpty()) {
+        if (employeesByEmail.isEmpty()) {
             return 0.0;
         }
-        double sum = 0.0;
-        for (Employee e : employees) {
-            sum += e.getSalary();
-        }
-        return sum / employees.size();
+        return totalSalary / employeesByEmail.size();
     }
 
     // Identyfikuje pracownika otrzymującego najwyższe wynagrodzenie w całej firmie.
-    // Zwraca null w przypadku pustej listy pracowników.
+    // Odczyt z indeksu pensji kosztuje O(log n); przy równych pensjach zwracany jest pracownik,
+    // który najwcześniej osiągnął tę pensję. Zwraca null w przypadku pustej listy pracowników.
     public Employee findHighestSalary() {
-        if (employees.isEmpty()) {
-            return null;
-        }
-        Employee highest = employees.get(0);
-        for (Employee e : employees) {
-            if (e.getSalary() > highest.getSalary()) {
-                highest = e;
-            }
-        }
-        return highest;
+        Map.Entry<Double, Set<Employee>> highest = employeesBySalary.lastEntry();
+        return highest == null ? null : highest.getValue().iterator().next();
     }
 
     /**
      * Weryfikuje zgodność wynagrodzeń z widełkami płacowymi zdefiniowanymi dla danego stanowiska.
      * Sprawdza, czy aktualna pensja pracownika nie jest niższa niż minimalna stawka (baseSalary) dla jego pozycji.
+     * Filtr wykonywany jest na kolumnach migawki rejestru przez jądro SalaryKernels (skalarne lub wektorowe).
      *
      * @return Lista pracowników, których wynagrodzenie nie spełnia wymogów minimalnych.
      */
     public List<Employee> validateSalaryConsistency() {
-        List<Employee> inconsistentEmployees = new ArrayList<>();
-        for (Employee employee : employees) {
-            double baseSalary = employee.getPosition().getBaseSalary();
-            if (employee.getSalary() < baseSalary) {
-                inconsistentEmployees.add(employee);
-            }
-        }
-        return inconsistentEmployees;
+        EmployeeSnapshot columns = snapshot();
+        return columns.employees(columns.selectBelowBaseSalary());
     }
 
     /**
      * Generuje szczegółowy raport statystyczny dla każdej firmy występującej w systemie.
-     * Proces składa się z dwóch etapów:
-     * 1. Grupowania pracowników według nazwy firmy.
-     * 2. Obliczenia statystyk (liczba pracowników, średnia płaca, najlepiej zarabiający) dla każdej grupy
-     * i zmapowania ich na obiekt DTO CompanyStatistics.
+     * Statystyki obejmują liczbę pracowników, sumę, minimum, maksimum, średnią i wariancję pensji
+     * oraz {@value #DEFAULT_TOP_EARNERS} najlepiej zarabiających osób.
      *
      * @return Mapa, gdzie kluczem jest nazwa firmy, a wartością obiekt statystyk.
      */
     public Map<String, CompanyStatistics> getCompanyStatistics() {
-        // Etap 1: Grupowanie tymczasowe
-        Map<String, List<Employee>> employeesByCompany = new HashMap<>();
-        for (Employee e : employees) {
-            String companyName = e.getCompanyName();
-            if (!employeesByCompany.containsKey(companyName)) {
-                employeesByCompany.put(companyName, new ArrayList<>());
-            }
-            employeesByCompany.get(companyName).add(e);
+        return getCompanyStatistics(DEFAULT_TOP_EARNERS);
+    }
+
+    /**
+     * Generuje raport statystyczny dla każdej firmy w jednym przejściu po kolumnach migawki rejestru.
+     * Pracownicy nie są wcześniej grupowani w listy - każdy wiersz trafia od razu do akumulatora swojej firmy,
+     * wskazanego identyfikatorem słownikowym. Dla dużych rejestrów (od {@value EmployeeSnapshot#PARALLEL_THRESHOLD}
+     * pracowników) agregacja wykonywana jest równolegle na fragmentach migawki, a częściowe wyniki są łączone.
+     * Wynik jest identyczny niezależnie od trybu - przy równych pensjach o kolejności decyduje kolejność dodania do rejestru.
+     *
+     * @param topEarners Liczba najlepiej zarabiających pracowników zwracanych dla każdej firmy.
+     * @return Mapa, gdzie kluczem jest nazwa firmy, a wartością obiekt statystyk.
+     * @throws IllegalArgumentException Jeśli liczba najlepiej zarabiających jest ujemna.
+     */
+    public Map<String, CompanyStatistics> getCompanyStatistics(int topEarners) {
+        if (topEarners < 0) {
+            throw new IllegalArgumentException("Liczba najlepiej zarabiających nie może być ujemna: " + topEarners);
         }
+        Map<String, CompanyStatisticsAccumulator> accumulators = snapshot().groupByCompany(
+                () -> new CompanyStatisticsAccumulator(topEarners),
+                (accumulator, columns, row) -> accumulator.add(columns.salary(row), columns.employee(row)),
+                CompanyStatisticsAccumulator::merge);
+        return CompanyStatisticsAccumulator.toStatistics(accumulators);
+    }
 
-        // Etap 2: Agregacja danych i tworzenie raportu
-        Map<String, CompanyStatistics> companyStats = new HashMap<>();
-        for (Map.Entry<String, List<Employee>> entry : employeesByCompany.entrySet()) {
-            String companyName = entry.getKey();
-            List<Employee> companyEmployees = entry.getValue();
+    // Wykonuje aktualizację indeksów wywołaną zmianą pola pracownika (stanowisko, pensja).
+    // Zmiany mogą pochodzić spoza serwisu (np. z PromotionService), dlatego wariant współbieżny
+    // nadpisuje tę metodę, aby wykonywać aktualizację pod blokadą zapisu.
+    void updateIndexes(Runnable update) {
+        update.run();
+    }
 
-            int employeeCount = companyEmployees.size();
-            double totalSalary = 0.0;
-            Employee highestEarner = null;
+    // Normalizuje adres email do postaci klucza indeksu głównego.
+    static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Normalizuje nazwę firmy do postaci klucza indeksu firm (wyszukiwanie niewrażliwe na wielkość liter).
+    static String normalizeCompany(String companyName) {
+        return companyName == null ? null : companyName.toLowerCase(Locale.ROOT);
+    }
 
-            for (Employee emp : companyEmployees) {
-                totalSalary += emp.getSalary();
-                if (highestEarner == null || emp.getSalary() > highestEarner.getSalary()) {
-                    highestEarner = emp;
-                }
+    // Dodaje pracownika do grupy indeksu pomocniczego, tworząc grupę przy pierwszym użyciu.
+    private static <K> void addToGroup(Map<K, Set<Employee>> index, K key, Employee employee) {
+        index.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(employee);
+    }
+
+    // Usuwa pracownika z grupy indeksu pomocniczego; puste grupy są usuwane,
+    // aby mapy zwracane przez groupByPosition/countByPosition zawierały tylko obsadzone stanowiska.
+    private static <K> void removeFromGroup(Map<K, Set<Employee>> index, K key, Employee employee) {
+        Set<Employee> group = index.get(key);
+        if (group != null) {
+            group.remove(employee);
+            if (group.isEmpty()) {
+                index.remove(key);
             }
+        }
+    }
 
-            double averageSalary = (employeeCount > 0) ? totalSalary / employeeCount : 0.0;
-            String earnerName = (highestEarner != null) ? highestEarner.getName() : "N/A";
+    // Stan pracownika uwzględniony w indeksach stanowisk i pensji.
+    private static final class IndexedFields {
+        private Position position;
+        private double salary;
 
-            CompanyStatistics stats = new CompanyStatistics(employeeCount, averageSalary, earnerName);
-            companyStats.put(companyName, stats);
+        IndexedFields(Position position, double salary) {
+            this.position = position;
+            this.salary = salary;
         }
-        return companyStats;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,248 @@
+package service;
+
+import model.Employee;
+import model.Position;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+// Kolumnowa (column-oriented) migawka rejestru pracowników, zoptymalizowana pod zapytania analityczne.
+// Zamiast przechodzić po obiektach Employee (odczyt każdego pola to osobne odwołanie do sterty),
+// wartości pól przechowywane są w ciągłych tablicach prymitywów: pensje (double[]), stanowiska jako numery
+// porządkowe (byte[]), firmy zakodowane słownikowo (int[] + słownik nazw) oraz daty zatrudnienia jako dni od epoki (int[]).
+// Przegląd kolumny odczytuje pamięć sekwencyjnie, co dobrze wykorzystuje pamięć podręczną procesora.
+// Migawka jest niezmienna - odzwierciedla stan rejestru z chwili utworzenia; obiekty Employee dostępne są
+// przez kolumnę wierszy wyłącznie w celu zwrócenia wyników zapytań.
+public final class EmployeeSnapshot {
+
+    // Wartość kolumny dat zatrudnienia dla pracownika bez daty zatrudnienia.
+    public static final int NO_HIRE_DATE = Integer.MIN_VALUE;
+
+    // Liczba wierszy, od której operator grupowania dzieli migawkę na fragmenty przetwarzane równolegle.
+    static final int PARALLEL_THRESHOLD = 10_000;
+
+    private static final Position[] POSITIONS = Position.values();
+
+    private final Employee[] rows;
+    private final double[] salaries;
+    private final byte[] positionOrdinals;
+    private final int[] companyIds;
+    private final int[] hireEpochDays;
+    // Kolumna pochodna: minimalna pensja stanowiska każdego wiersza, wyliczana przy pierwszym użyciu.
+    private volatile double[] baseSalaryLimits;
+    // Słownik firm: identyfikator -> nazwa firmy (w kolejności pierwszego wystąpienia, null jest dopuszczalny).
+    private final String[] companyDictionary;
+
+    // Obserwator wierszy dla operatora grupowania - dodaje wiersz migawki do stanu grupy.
+    @FunctionalInterface
+    public interface RowAccumulator<A> {
+        void accept(A state, EmployeeSnapshot snapshot, int row);
+    }
+
+    // Buduje migawkę z pracowników w kolejności iteracji kolekcji.
+    EmployeeSnapshot(Collection<Employee> employees) {
+        int size = employees.size();
+        rows = new Employee[size];
+        salaries = new double[size];
+        positionOrdinals = new byte[size];
+        companyIds = new int[size];
+        hireEpochDays = new int[size];
+
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> companies = new ArrayList<>();
+        int row = 0;
+        for (Employee employee : employees) {
+            rows[row] = employee;
+            salaries[row] = employee.getSalary();
+            positionOrdinals[row] = (byte) employee.getPosition().ordinal();
+            Integer companyId = dictionary.get(employee.getCompanyName());
+            if (companyId == null) {
+                companyId = companies.size();
+                dictionary.put(employee.getCompanyName(), companyId);
+                companies.add(employee.getCompanyName());
+            }
+            companyIds[row] = companyId;
+            LocalDate hired = employee.getDateOfHire();
+            hireEpochDays[row] = hired == null ? NO_HIRE_DATE : Math.toIntExact(hired.toEpochDay());
+            row++;
+        }
+        companyDictionary = companies.toArray(new String[0]);
+    }
+
+    // Liczba wierszy (pracowników) w migawce.
+    public int size() {
+        return rows.length;
+    }
+
+    public Employee employee(int row) { return rows[row]; }
+    public double salary(int row) { return salaries[row]; }
+    public Position position(int row) { return POSITIONS[positionOrdinals[row]]; }
+    public int positionOrdinal(int row) { return positionOrdinals[row]; }
+    public int companyId(int row) { return companyIds[row]; }
+    public int hireEpochDay(int row) { return hireEpochDays[row]; }
+
+    // Liczba różnych firm w słowniku.
+    public int companyCount() {
+        return companyDictionary.length;
+    }
+
+    // Nazwa firmy o podanym identyfikatorze słownikowym.
+    public String companyName(int companyId) {
+        return companyDictionary[companyId];
+    }
+
+    // Przegląd (scan): przekazuje numery kolejnych wierszy w kolejności rejestru.
+    public void scan(IntConsumer rowConsumer) {
+        for (int row = 0; row < rows.length; row++) {
+            rowConsumer.accept(row);
+        }
+    }
+
+    /**
+     * Filtr: zwraca numery wierszy spełniających predykat (wektor selekcji), w kolejności rejestru.
+     *
+     * @param rowPredicate Predykat wywoływany z numerem wiersza - odczytuje potrzebne kolumny przez akcesory migawki.
+     * @return Tablica numerów wybranych wierszy.
+     */
+    public int[] select(IntPredicate rowPredicate) {
+        int[] selection = new int[Math.min(rows.length, 64)];
+        int count = 0;
+        for (int row = 0; row < rows.length; row++) {
+            if (rowPredicate.test(row)) {
+                if (count == selection.length) {
+                    selection = Arrays.copyOf(selection, Math.min(rows.length, count * 2));
+                }
+                selection[count++] = row;
+            }
+        }
+        return count == selection.length ? selection : Arrays.copyOf(selection, count);
+    }
+
+    // Zamienia wektor selekcji na listę pracowników.
+    public List<Employee> employees(int[] selection) {
+        List<Employee> result = new ArrayList<>(selection.length);
+        for (int row : selection) {
+            result.add(rows[row]);
+        }
+        return result;
+    }
+
+    // Suma pensji wszystkich wierszy (jądro SalaryKernels - skalarne lub wektorowe).
+    public double totalSalary() {
+        return SalaryKernels.get().sum(salaries, salaries.length);
+    }
+
+    // Najniższa pensja w migawce; Double.NaN dla pustej migawki.
+    public double minSalary() {
+        return salaries.length == 0 ? Double.NaN : SalaryKernels.get().min(salaries, salaries.length);
+    }
+
+    // Najwyższa pensja w migawce; Double.NaN dla pustej migawki.
+    public double maxSalary() {
+        return salaries.length == 0 ? Double.NaN : SalaryKernels.get().max(salaries, salaries.length);
+    }
+
+    // Filtr: wiersze z pensją niższą niż minimalna stawka stanowiska (Position.getBaseSalary()).
+    // Porównanie wykonywane jest na kolumnie pensji i kolumnie limitów, więc może być przetwarzane wektorowo.
+    public int[] selectBelowBaseSalary() {
+        double[] limits = baseSalaryLimits;
+        if (limits == null) {
+            limits = new double[salaries.length];
+            for (int row = 0; row < limits.length; row++) {
+                limits[row] = POSITIONS[positionOrdinals[row]].getBaseSalary();
+            }
+            baseSalaryLimits = limits;
+        }
+        int[] selection = new int[salaries.length];
+        int count = SalaryKernels.get().selectBelow(salaries, limits, salaries.length, selection);
+        return Arrays.copyOf(selection, count);
+    }
+
+    // Grupowanie z liczeniem: liczba pracowników na każdym stanowisku, indeksowana numerem porządkowym Position.
+    public int[] countByPosition() {
+        int[] counts = new int[POSITIONS.length];
+        for (byte ordinal : positionOrdinals) {
+            counts[ordinal]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Grupowanie według firmy: dla każdej firmy tworzony jest stan grupy, do którego trafiają kolejne wiersze.
+     * Stany grup trzymane są w tablicy indeksowanej identyfikatorem słownikowym, więc grupowanie nie wymaga
+     * haszowania nazw firm. Dla dużych migawek (od {@value #PARALLEL_THRESHOLD} wierszy) fragmenty migawki
+     * agregowane są równolegle, a częściowe stany łączone są w kolejności fragmentów - wiersze trafiają do stanu
+     * w tej samej kolejności co przy przetwarzaniu sekwencyjnym.
+     *
+     * @param stateFactory Fabryka pustego stanu grupy.
+     * @param accumulator Dodaje wiersz do stanu grupy.
+     * @param combiner Łączy stan wcześniejszego fragmentu (pierwszy argument) ze stanem kolejnego fragmentu.
+     * @return Mapa: nazwa firmy -> stan grupy, w kolejności pierwszego wystąpienia firmy.
+     */
+    public <A> Map<String, A> groupByCompany(Supplier<A> stateFactory, RowAccumulator<A> accumulator,
+                                             BinaryOperator<A> combiner) {
+        int chunks = rows.length < PARALLEL_THRESHOLD ? 1
+                : Math.min(rows.length / PARALLEL_THRESHOLD, ForkJoinPool.getCommonPoolParallelism() * 4);
+        Object[] states;
+        if (chunks <= 1) {
+            states = aggregateRange(0, rows.length, stateFactory, accumulator);
+        } else {
+            states = IntStream.range(0, chunks).parallel()
+                    .mapToObj(chunk -> aggregateRange((int) ((long) rows.length * chunk / chunks),
+                            (int) ((long) rows.length * (chunk + 1) / chunks), stateFactory, accumulator))
+                    .reduce((left, right) -> combineStates(left, right, combiner))
+                    .orElseGet(() -> new Object[companyDictionary.length]);
+        }
+
+        Map<String, A> groups = new LinkedHashMap<>(companyDictionary.length * 4 / 3 + 1);
+        for (int companyId = 0; companyId < states.length; companyId++) {
+            @SuppressWarnings("unchecked")
+            A state = (A) states[companyId];
+            if (state != null) {
+                groups.put(companyDictionary[companyId], state);
+            }
+        }
+        return groups;
+    }
+
+    // Agreguje wiersze z zakresu [from, to) do tablicy stanów indeksowanej identyfikatorem firmy.
+    private <A> Object[] aggregateRange(int from, int to, Supplier<A> stateFactory, RowAccumulator<A> accumulator) {
+        Object[] states = new Object[companyDictionary.length];
+        for (int row = from; row < to; row++) {
+            int companyId = companyIds[row];
+            @SuppressWarnings("unchecked")
+            A state = (A) states[companyId];
+            if (state == null) {
+                state = stateFactory.get();
+                states[companyId] = state;
+            }
+            accumulator.accept(state, this, row);
+        }
+        return states;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <A> Object[] combineStates(Object[] left, Object[] right, BinaryOperator<A> combiner) {
+        for (int companyId = 0; companyId < left.length; companyId++) {
+            if (right[companyId] == null) {
+                continue;
+            }
+            left[companyId] = left[companyId] == null
+                    ? right[companyId]
+                    : combiner.apply((A) left[companyId], (A) right[companyId]);
+        }
+        return left;
+    }
+}
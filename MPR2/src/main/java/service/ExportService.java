@@ -1,11 +1,21 @@
 package service;
 
 import interfaces.FileSystemAdapter;
+
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 public class ExportService {
 
+    // Rozmiar bufora zapisu strumieniowego (w znakach).
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
     private final FileSystemAdapter fileSystemAdapter;
 
     // Dodajemy to pole, aby móc użyć na nim @Spy w teście
@@ -29,23 +39,154 @@ public class ExportService {
             fileSystemAdapter.write(filename, content);
 
         } catch (IOException e) {
-            System.err.println("Błąd zapisu! Próbuję zapisać log błędu...");
+            logExportFailure(filename);
+        }
+    }
 
-            // 3. Logika Fallback - to zweryfikujemy, gdy poleci wyjątek
-            try {
-                fileSystemAdapter.write("error.log", "Failed to write: " + filename);
-            } catch (Exception ignored) {
-                // Ignorujemy błędy logowania błędu
+    /**
+     * Eksportuje wiersze do pliku CSV w trybie strumieniowym.
+     * Każdy wiersz jest formatowany i zapisywany do buforowanego strumienia zaraz po pobraniu z iteratora,
+     * więc zużycie pamięci nie zależy od liczby wierszy (wiersze mogą być generowane leniwie, np. stream::iterator).
+     * Pola zawierające separator, cudzysłów lub znak nowej linii są ujmowane w cudzysłowy (RFC 4180).
+     * Plik zapisywany jest w kodowaniu UTF-8. Obsługuje wyjątki IO tak jak {@link #exportData(String, List)}.
+     *
+     * @param filename Nazwa pliku docelowego.
+     * @param rows Kolejne wiersze - każdy jako lista wartości pól.
+     */
+    public void exportRows(String filename, Iterable<? extends List<String>> rows) {
+        exportRows(filename, rows, Compression.NONE);
+    }
+
+    /**
+     * Eksportuje wiersze do pliku CSV w trybie strumieniowym, z opcjonalną kompresją.
+     * Dane kompresowane są w locie, podczas zapisu - bez osobnego kroku kompresji i bez pliku pośredniego.
+     * Pliki skompresowane mogą być bezpośrednio importowane przez ImportService (format wykrywany automatycznie).
+     * Tryby skompresowane wymagają adaptera obsługującego zapis binarny
+     * ({@link FileSystemAdapter#supportsBinaryContent()}) - implementacja domyślna przyjmuje wyłącznie tekst.
+     *
+     * @param filename Nazwa pliku docelowego.
+     * @param rows Kolejne wiersze - każdy jako lista wartości pól.
+     * @param compression Tryb kompresji.
+     * @throws IllegalStateException Jeśli wybrano kompresję, a adapter nie obsługuje zapisu binarnego.
+     */
+    public void exportRows(String filename, Iterable<? extends List<String>> rows, Compression compression) {
+        if (compression != Compression.NONE && !fileSystemAdapter.supportsBinaryContent()) {
+            throw new IllegalStateException("Adapter systemu plików nie obsługuje zapisu binarnego - eksport "
+                    + compression + " jest niedostępny");
+        }
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(openOutputStream(filename, compression), StandardCharsets.UTF_8),
+                WRITE_BUFFER_SIZE)) {
+            for (List<String> row : rows) {
+                csvFormatter.writeRow(writer, row);
+            }
+        } catch (IOException e) {
+            logExportFailure(filename);
+        }
+    }
+
+    // Otwiera strumień pliku docelowego, opakowany w strumień kompresujący zgodnie z wybranym trybem.
+    private OutputStream openOutputStream(String filename, Compression compression) throws IOException {
+        OutputStream out = fileSystemAdapter.openOutputStream(filename);
+        try {
+            if (compression == Compression.GZIP) {
+                return new GZIPOutputStream(out, WRITE_BUFFER_SIZE);
+            }
+            if (compression == Compression.PARALLEL_GZIP) {
+                return new ParallelGzipOutputStream(out, Runtime.getRuntime().availableProcessors());
             }
+            return out;
+        } catch (IOException | RuntimeException e) {
+            out.close();
+            throw e;
+        }
+    }
+
+    // Logika Fallback - zapis informacji o nieudanym eksporcie do pliku error.log.
+    private void logExportFailure(String filename) {
+        System.err.println("Błąd zapisu! Próbuję zapisać log błędu...");
+        try {
+            fileSystemAdapter.write("error.log", "Failed to write: " + filename);
+        } catch (Exception ignored) {
+            // Ignorujemy błędy logowania błędu
         }
     }
 
+    // Tryby kompresji eksportu.
+    public enum Compression {
+        // Zwykły plik tekstowy.
+        NONE,
+        // Jednowątkowa kompresja GZIP (java.util.zip).
+        GZIP,
+        // Plik GZIP złożony z niezależnie kompresowanych bloków (członów), kompresowanych równolegle na wszystkich rdzeniach.
+        // Wynik jest zgodny ze standardowym formatem GZIP.
+        PARALLEL_GZIP
+    }
+
     // Klasa pomocnicza (normalnie byłaby w osobnym pliku, ale dla uproszczenia jest tu).
     // To na niej użyjemy @Spy w teście.
     public static class CsvFormatter {
+
+        private static final char DELIMITER = ',';
+        private static final char QUOTE = '"';
+
         public String format(List<String> data) {
-            // Proste łączenie przecinkami
-            return String.join(",", data);
+            // Łączenie przecinkami, z cudzysłowami wokół pól wymagających escapowania
+            StringBuilder line = new StringBuilder();
+            try {
+                appendFields(line, data);
+            } catch (IOException e) {
+                // StringBuilder nie zgłasza wyjątków IO
+                throw new IllegalStateException(e);
+            }
+            return line.toString();
+        }
+
+        // Zapisuje jeden wiersz CSV (zakończony znakiem nowej linii) bezpośrednio do strumienia,
+        // bez tworzenia pośredniego obiektu String dla wiersza.
+        public void writeRow(Writer out, List<String> fields) throws IOException {
+            appendFields(out, fields);
+            out.write('\n');
+        }
+
+        private static void appendFields(Appendable out, List<String> fields) throws IOException {
+            for (int i = 0; i < fields.size(); i++) {
+                if (i > 0) {
+                    out.append(DELIMITER);
+                }
+                appendField(out, fields.get(i));
+            }
+        }
+
+        // Dopisuje pole; wartość null zapisywana jest jako puste pole.
+        private static void appendField(Appendable out, String field) throws IOException {
+            if (field == null) {
+                return;
+            }
+            if (!needsQuoting(field)) {
+                out.append(field);
+                return;
+            }
+            out.append(QUOTE);
+            int start = 0;
+            for (int i = 0; i < field.length(); i++) {
+                if (field.charAt(i) == QUOTE) {
+                    // Cudzysłów wewnątrz pola zapisywany jest jako podwójny cudzysłów ("").
+                    out.append(field, start, i + 1).append(QUOTE);
+                    start = i + 1;
+                }
+            }
+            out.append(field, start, field.length()).append(QUOTE);
+        }
+
+        private static boolean needsQuoting(String field) {
+            for (int i = 0; i < field.length(); i++) {
+                char c = field.charAt(i);
+                if (c == DELIMITER || c == QUOTE || c == '\n' || c == '\r') {
+                    return true;
+                }
+            }
+            return false;
         }
     }
-}
\ No newline at end of file
+}
@@ -3,129 +3,418 @@ package service;
 import exception.InvalidDataException;
 import model.Employee;
 import model.ImportSummary;
-import model.Position;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.zip.GZIPInputStream;
 
 // Serwis odpowiedzialny za proces masowego importu danych pracowników z plików zewnętrznych (CSV).
 // Klasa pełni rolę mediatora między surowymi danymi plikowymi a logiką biznesową serwisu EmployeeService.
 public class ImportService {
 
+    // Minimalny rozmiar fragmentu pliku przetwarzanego przez jedno zadanie w trybie równoległym.
+    static final int MIN_CHUNK_SIZE = 1024 * 1024;
+
+    // Sygnatura (magic number) pliku GZIP oraz rozmiar bufora dekompresji.
+    private static final int GZIP_MAGIC_FIRST = 0x1f;
+    private static final int GZIP_MAGIC_SECOND = 0x8b;
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    // Liczba fragmentów przypadających na jeden wątek - nadmiar fragmentów wyrównuje obciążenie wątków.
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    // Rozmiar bufora odczytu przy wyszukiwaniu końca linii za punktem podziału pliku.
+    private static final int BOUNDARY_SCAN_BUFFER_SIZE = 8 * 1024;
+
     // Referencja do głównego serwisu pracowniczego, umożliwiająca trwały zapis zwalidowanych danych.
     private EmployeeService employeeService;
 
+    // Separator kolumn w plikach CSV (znak ASCII).
+    private final byte delimiter;
+
     public ImportService(EmployeeService employeeService) {
+        this(employeeService, ',');
+    }
+
+    /**
+     * Tworzy serwis importu dla plików CSV z niestandardowym separatorem kolumn (np. ';' w eksportach z arkuszy kalkulacyjnych).
+     *
+     * @param employeeService Serwis, do którego zapisywani są zaimportowani pracownicy.
+     * @param delimiter Separator kolumn - znak ASCII inny niż cudzysłów i znaki końca linii.
+     * @throws IllegalArgumentException Jeśli separator nie jest dozwolonym znakiem ASCII.
+     */
+    public ImportService(EmployeeService employeeService, char delimiter) {
         this.employeeService = employeeService;
+        this.delimiter = CsvTokenizer.validateDelimiter(delimiter);
     }
 
     /**
      * Przeprowadza proces importu danych z pliku CSV.
-     * Metoda otwiera plik, pomija nagłówek, a następnie iteruje po wierszach,
+     * Metoda otwiera plik, pomija nagłówek, a następnie iteruje po rekordach,
      * dokonując parsowania, walidacji i konwersji każdego rekordu na obiekt Employee.
+     * Rekordy dzielone są na pola zgodnie z RFC 4180: pola w cudzysłowach mogą zawierać separator,
+     * znaki nowej linii oraz podwojony cudzysłów (""). Numery linii w komunikatach błędów
+     * odpowiadają fizycznym liniom pliku, w których zaczyna się dany rekord.
+     * Plik musi być zapisany w kodowaniu UTF-8. Pliki skompresowane GZIP (np. z eksportu skompresowanego)
+     * są rozpoznawane po sygnaturze i rozpakowywane w locie.
      *
      * @param filePath Ścieżka systemowa do pliku CSV.
      * @return Obiekt ImportSummary zawierający statystyki sukcesów oraz listę błędów walidacji.
      */
     public ImportSummary importFromCsv(String filePath) {
-        int importedCount = 0;
         List<String> errors = new ArrayList<>();
-        int lineNumber = 0;
+        int importedCount = 0;
 
         // Wykorzystanie konstrukcji try-with-resources zapewnia automatyczne zamknięcie
-        // strumienia wejściowego (BufferedReader) niezależnie od wyniku operacji (sukces lub wyjątek).
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
+        // strumienia wejściowego niezależnie od wyniku operacji (sukces lub wyjątek).
+        try (InputStream in = openCsvStream(Path.of(filePath))) {
+            importedCount = importRecords(new StreamCsvReader(in, new CsvTokenizer(delimiter)), errors);
+        } catch (IOException | InvalidPathException e) {
+            // Obsługa krytycznych błędów wejścia-wyjścia (IO), np. brak pliku lub brak uprawnień odczytu.
+            // Tego typu błąd uniemożliwia dalsze przetwarzanie i przerywa import.
+            errors.add("Krytyczny błąd odczytu pliku: " + e.getMessage());
+        }
 
-            String line = reader.readLine();
-            lineNumber++;
+        // Zwrócenie obiektu podsumowującego operację importu.
+        return new ImportSummary(importedCount, errors);
+    }
 
-            // Weryfikacja nagłówka pliku. Jeśli plik jest pusty lub pierwsza linia nie istnieje,
-            // proces importu zostaje przerwany, a błąd odnotowany.
-            if (line == null || line.isEmpty()) {
-                errors.add("Plik jest pusty.");
-                return new ImportSummary(0, errors);
+    /**
+     * Przeprowadza import danych z pliku CSV odwzorowanego w pamięci (memory-mapped I/O).
+     * Tryb przeznaczony dla bardzo dużych eksportów HR: plik czytany jest przez FileChannel oknami mapowania,
+     * a rekordy dzielone na pola bezpośrednio w bajtach okna, bez kopiowania pliku do bufora odczytu.
+     * Wynik (liczba zaimportowanych rekordów oraz komunikaty błędów z numerami linii) jest taki sam jak w {@link #importFromCsv(String)}.
+     * Plik musi być zapisany w kodowaniu UTF-8. Plik skompresowany GZIP nie może być odwzorowany w pamięci,
+     * dlatego jest importowany strumieniowo przez {@link #importFromCsv(String)}.
+     *
+     * @param filePath Ścieżka systemowa do pliku CSV.
+     * @return Obiekt ImportSummary zawierający statystyki sukcesów oraz listę błędów walidacji.
+     */
+    public ImportSummary importFromCsvMapped(String filePath) {
+        List<String> errors = new ArrayList<>();
+        int importedCount = 0;
+
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            if (isGzip(channel)) {
+                return importFromCsv(filePath);
             }
+            importedCount = importRecords(new MappedCsvReader(channel, 0, channel.size(), new CsvTokenizer(delimiter)), errors);
+        } catch (IOException | InvalidPathException e) {
+            errors.add("Krytyczny błąd odczytu pliku: " + e.getMessage());
+        }
 
-            // Pętla przetwarzająca właściwe dane (payload).
-            // Każdy obrót pętli odpowiada jednej linii w pliku CSV.
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
+        return new ImportSummary(importedCount, errors);
+    }
 
-                // Ignorowanie pustych linii (np. białych znaków na końcu pliku),
-                // aby uniknąć niepotrzebnych błędów parsowania.
-                if (line.trim().isEmpty()) {
-                    continue;
+    // Otwiera plik do odczytu strumieniowego; plik skompresowany GZIP jest rozpakowywany w locie.
+    static InputStream openCsvStream(Path path) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(path));
+        try {
+            in.mark(2);
+            boolean gzip = in.read() == GZIP_MAGIC_FIRST && in.read() == GZIP_MAGIC_SECOND;
+            in.reset();
+            return gzip ? new GZIPInputStream(in, GZIP_BUFFER_SIZE) : in;
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    // Sprawdza sygnaturę GZIP na początku pliku.
+    private static boolean isGzip(FileChannel channel) throws IOException {
+        ByteBuffer magic = ByteBuffer.allocate(2);
+        return channel.read(magic, 0) == 2
+                && (magic.get(0) & 0xFF) == GZIP_MAGIC_FIRST
+                && (magic.get(1) & 0xFF) == GZIP_MAGIC_SECOND;
+    }
+
+    // Wspólna pętla importu sekwencyjnego: weryfikuje nagłówek, a następnie waliduje i zapisuje kolejne rekordy.
+    // Zwraca liczbę zaimportowanych pracowników; błędy dopisywane są do listy errors.
+    private int importRecords(CsvRecordSource source, List<String> errors) throws IOException {
+        CsvTokenizer tokenizer = source.tokenizer();
+        EmployeeCsvMapper mapper = new EmployeeCsvMapper();
+
+        // Weryfikacja nagłówka pliku. Jeśli plik jest pusty lub pierwsza linia jest pusta,
+        // proces importu zostaje przerwany, a błąd odnotowany.
+        if (!source.nextRecord() || tokenizer.isEmptyLine()) {
+            errors.add("Plik jest pusty.");
+            return 0;
+        }
+        int lineNumber = tokenizer.lineCount();
+        int importedCount = 0;
+
+        // Każdy obrót pętli odpowiada jednemu rekordowi (rekord w cudzysłowach może zajmować kilka linii pliku).
+        while (source.nextRecord()) {
+            int recordLine = lineNumber + 1;
+            lineNumber += tokenizer.lineCount();
+
+            // Ignorowanie pustych linii (np. białych znaków na końcu pliku),
+            // aby uniknąć niepotrzebnych błędów parsowania.
+            if (tokenizer.isBlankLine()) {
+                continue;
+            }
+
+            // Błąd walidacji w jednym rekordzie nie przerywa importu - jest rejestrowany w liście błędów.
+            try {
+                Employee employee = parseRecord(tokenizer, mapper);
+                if (employeeService.addEmployee(employee)) {
+                    importedCount++;
+                } else {
+                    errors.add(duplicateError(recordLine, employee.getEmail()));
                 }
+            } catch (InvalidDataException e) {
+                errors.add(dataError(recordLine, e.getMessage()));
+            }
+        }
+        return importedCount;
+    }
 
-                // Blok try-catch zagnieżdżony wewnątrz pętli pozwala na izolację błędów.
-                // Błąd parsowania lub walidacji w jednym wierszu nie przerywa całego procesu importu,
-                // lecz jest rejestrowany w liście błędów, a pętla przechodzi do kolejnego rekordu.
-                try {
-                    // Podział linii na tokeny przy użyciu separatora przecinkowego.
-                    String[] data = line.split(",");
+    // Zamienia bieżący rekord tokenizera na pracownika (bufor pól tokenizera jest współdzielony między rekordami).
+    private static Employee parseRecord(CsvTokenizer tokenizer, EmployeeCsvMapper mapper) throws InvalidDataException {
+        if (tokenizer.isMalformed()) {
+            throw new InvalidDataException("Niezamknięty cudzysłów w rekordzie");
+        }
+        return mapper.map(tokenizer.buffer(), tokenizer.starts(), tokenizer.ends(), tokenizer.fieldCount());
+    }
 
-                    // Wstępna walidacja struktury rekordu (oczekiwana liczba kolumn: 6).
-                    if (data.length != 6) {
-                        throw new InvalidDataException("Niepoprawna liczba kolumn (oczekiwano 6, jest " + data.length + ")");
-                    }
+    // Komunikat błędu dla rekordu, którego email istnieje już w serwisie.
+    static String duplicateError(long lineNumber, String email) {
+        return "Linia " + lineNumber + ": Pracownik z emailem '" + email + "' już istnieje.";
+    }
 
-                    // Normalizacja danych wejściowych (usunięcie białych znaków).
-                    String firstName = data[0].trim();
-                    String lastName = data[1].trim();
-                    String email = data[2].trim();
-                    String company = data[3].trim();
-                    String positionStr = data[4].trim().toUpperCase();
-                    String salaryStr = data[5].trim();
-
-                    // Walidacja i konwersja stanowiska (Position).
-                    // W przypadku podania wartości spoza enum Position, zostanie rzucony wyjątek.
-                    Position position;
-                    try {
-                        position = Position.valueOf(positionStr);
-                    } catch (IllegalArgumentException e) {
-                        throw new InvalidDataException("Nieznane stanowisko: '" + data[4].trim() + "'");
-                    }
+    // Komunikat błędu walidacji pojedynczego rekordu.
+    static String dataError(long lineNumber, String message) {
+        return "Linia " + lineNumber + ": Błąd danych -> " + message;
+    }
 
-                    // Parsowanie wartości numerycznej wynagrodzenia wraz z walidacją logiczną.
-                    double salary;
-                    try {
-                        salary = Double.parseDouble(salaryStr);
-                    } catch (NumberFormatException e) {
-                        throw new InvalidDataException("Niepoprawny format pensji: '" + salaryStr + "'");
-                    }
+    // Wariant importu równoległego wykorzystujący wszystkie dostępne rdzenie procesora.
+    public ImportSummary importFromCsvParallel(String filePath) {
+        return importFromCsvParallel(filePath, Runtime.getRuntime().availableProcessors());
+    }
 
-                    if (salary <= 0) {
-                        throw new InvalidDataException("Pensja musi być dodatnia (jest " + salary + ")");
-                    }
+    /**
+     * Przeprowadza równoległy import danych z pliku CSV.
+     * Plik (po nagłówku) dzielony jest na fragmenty bez sekwencyjnego przeglądania pliku: granica fragmentu wyznaczana
+     * jest lokalnie, tuż za pierwszym znakiem nowej linii od docelowego punktu podziału. Jeśli granica wypadła wewnątrz
+     * pola w cudzysłowie (nowa linia w treści pola), poprzedni fragment kończy się niezamkniętym cudzysłowem - rekord
+     * przecinający granicę oraz kolejny fragment są wtedy parsowane ponownie od rzeczywistego początku rekordu.
+     * Fragmenty są parsowane i walidowane równolegle w puli ForkJoinPool, a następnie scalane
+     * do EmployeeService w kolejności występowania w pliku. Dzięki temu wynik jest deterministyczny:
+     * z kilku rekordów o tym samym adresie email zawsze zapisywany jest pierwszy, a lista błędów
+     * jest uporządkowana według numerów linii - dokładnie tak, jak w imporcie sekwencyjnym.
+     * Plik musi być zapisany w kodowaniu UTF-8.
+     *
+     * @param filePath Ścieżka systemowa do pliku CSV.
+     * @param parallelism Liczba wątków roboczych używanych do parsowania.
+     * @return Obiekt ImportSummary zawierający statystyki sukcesów oraz listę błędów walidacji.
+     * @throws IllegalArgumentException Jeśli poziom równoległości nie jest dodatni.
+     */
+    public ImportSummary importFromCsvParallel(String filePath, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Poziom równoległości musi być dodatni (jest " + parallelism + ")");
+        }
 
-                    // Utworzenie obiektu domenowego po pomyślnej walidacji wszystkich pól.
-                    String fullName = firstName + " " + lastName;
-                    Employee employee = new Employee(fullName, email, company, position, salary);
+        int importedCount = 0;
+        List<String> errors = new ArrayList<>();
 
-                    // Próba zapisu pracownika w serwisie głównym.
-                    // Metoda addEmployee zwraca false, jeśli pracownik o danym emailu już istnieje.
-                    if (employeeService.addEmployee(employee)) {
-                        importedCount++;
-                    } else {
-                        errors.add("Linia " + lineNumber + ": Pracownik z emailem '" + email + "' już istnieje.");
-                    }
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            // Strumień GZIP nie pozwala rozpocząć dekompresji w środku pliku - import sekwencyjny.
+            if (isGzip(channel)) {
+                return importFromCsv(filePath);
+            }
+            long size = channel.size();
+            MappedCsvReader headerReader = new MappedCsvReader(channel, 0, size, new CsvTokenizer(delimiter));
+            if (!headerReader.nextRecord() || headerReader.tokenizer().isEmptyLine()) {
+                errors.add("Plik jest pusty.");
+                return new ImportSummary(0, errors);
+            }
 
-                } catch (InvalidDataException | IllegalArgumentException e) {
-                    // Obsługa wyjątków walidacji biznesowej oraz błędów formatowania danych dla pojedynczego rekordu.
-                    errors.add("Linia " + lineNumber + ": Błąd danych -> " + e.getMessage());
+            long[] boundaries = splitIntoChunks(channel, headerReader.offset(), size, parallelism * CHUNKS_PER_THREAD);
+
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                List<ForkJoinTask<ChunkResult>> tasks = new ArrayList<>();
+                for (int i = 0; i + 1 < boundaries.length; i++) {
+                    long start = boundaries[i];
+                    long end = boundaries[i + 1];
+                    tasks.add(pool.submit(() -> parseChunk(channel, start, end, end == size, delimiter)));
+                }
+
+                // Scalanie w kolejności fragmentów - fragment i jest scalany, podczas gdy kolejne są jeszcze parsowane.
+                // recordStart to potwierdzony początek kolejnego rekordu: fragment zaczynający się gdzie indziej
+                // (granica wewnątrz pola w cudzysłowie) jest parsowany ponownie od tego miejsca.
+                int lineOffset = headerReader.tokenizer().lineCount();
+                long recordStart = headerReader.offset();
+                for (int i = 0; i < tasks.size(); i++) {
+                    long end = boundaries[i + 1];
+                    ChunkResult chunk = boundaries[i] == recordStart
+                            ? tasks.get(i).get()
+                            : parseChunk(channel, recordStart, end, end == size, delimiter);
+                    importedCount += chunk.mergeInto(employeeService, lineOffset, errors);
+                    lineOffset += chunk.lineCount;
+                    recordStart = chunk.straddlingRecordStart >= 0 ? chunk.straddlingRecordStart : end;
                 }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                pool.shutdownNow();
             }
 
-        } catch (IOException e) {
-            // Obsługa krytycznych błędów wejścia-wyjścia (IO), np. brak pliku lub brak uprawnień odczytu.
-            // Tego typu błąd uniemożliwia dalsze przetwarzanie i przerywa import.
+        } catch (IOException | InvalidPathException e) {
             errors.add("Krytyczny błąd odczytu pliku: " + e.getMessage());
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof UncheckedIOException ? e.getCause().getCause() : e.getCause();
+            errors.add("Krytyczny błąd odczytu pliku: " + cause.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            errors.add("Import przerwany: " + e.getMessage());
         }
 
-        // Zwrócenie obiektu podsumowującego operację importu.
         return new ImportSummary(importedCount, errors);
     }
-}
\ No newline at end of file
+
+    // Wyznacza granice fragmentów pliku w obszarze [dataStart, size): każda granica leży tuż za pierwszym znakiem
+    // nowej linii od docelowego punktu podziału. Odczytywane są tylko bajty od punktu podziału do końca linii,
+    // więc koszt nie zależy od rozmiaru pliku. Stan cudzysłowów nie jest znany lokalnie - granica wewnątrz pola
+    // w cudzysłowie wykrywana jest podczas scalania (ChunkResult.straddlingRecordStart).
+    static long[] splitIntoChunks(FileChannel channel, long dataStart, long size, int targetChunks) throws IOException {
+        long dataLength = size - dataStart;
+        if (dataLength <= 0) {
+            return new long[]{dataStart};
+        }
+        long chunkSize = Math.max(MIN_CHUNK_SIZE, (dataLength + targetChunks - 1) / targetChunks);
+
+        long[] boundaries = new long[(int) ((dataLength + chunkSize - 1) / chunkSize) + 1];
+        int count = 0;
+        boundaries[count++] = dataStart;
+        ByteBuffer buffer = ByteBuffer.allocate(BOUNDARY_SCAN_BUFFER_SIZE);
+        for (long tentative = dataStart + chunkSize; tentative < size; tentative += chunkSize) {
+            // Punkt podziału wewnątrz bardzo długiej linii może wskazać granicę leżącą za kolejnym punktem.
+            long boundary = nextLineStart(channel, Math.max(tentative, boundaries[count - 1]), size, buffer);
+            if (boundary < size && boundary > boundaries[count - 1]) {
+                boundaries[count++] = boundary;
+            }
+        }
+        boundaries[count++] = size;
+        return Arrays.copyOf(boundaries, count);
+    }
+
+    // Pozycja tuż za pierwszym znakiem nowej linii na pozycji from lub dalej; size, jeśli takiego znaku nie ma.
+    private static long nextLineStart(FileChannel channel, long from, long size, ByteBuffer buffer) throws IOException {
+        long position = from;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    // Parsuje i waliduje jeden fragment pliku. Numery linii w wyniku są lokalne dla fragmentu (od 1).
+    // Jeśli fragment (inny niż ostatni) kończy się wewnątrz pola w cudzysłowie, jego granica nie jest końcem rekordu:
+    // ostatni rekord nie jest uwzględniany, a jego początek zapisywany jest jako straddlingRecordStart.
+    private static ChunkResult parseChunk(FileChannel channel, long start, long end, boolean lastChunk, byte delimiter) {
+        ChunkResult result = new ChunkResult();
+        EmployeeCsvMapper mapper = new EmployeeCsvMapper();
+        MappedCsvReader reader = new MappedCsvReader(channel, start, end, new CsvTokenizer(delimiter));
+        CsvTokenizer tokenizer = reader.tokenizer();
+        try {
+            long recordStart = reader.offset();
+            while (reader.nextRecord()) {
+                if (tokenizer.isMalformed() && !lastChunk) {
+                    result.straddlingRecordStart = recordStart;
+                    break;
+                }
+                int line = result.lineCount + 1;
+                result.lineCount += tokenizer.lineCount();
+                recordStart = reader.offset();
+                if (tokenizer.isBlankLine()) {
+                    continue;
+                }
+                try {
+                    result.addEmployee(line, parseRecord(tokenizer, mapper));
+                } catch (InvalidDataException e) {
+                    result.addError(line, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result;
+    }
+
+    // Wynik parsowania jednego fragmentu: poprawne rekordy oraz błędy walidacji wraz z lokalnymi numerami linii.
+    // Obie sekwencje są naturalnie uporządkowane rosnąco według numeru linii.
+    private static final class ChunkResult {
+        private final List<Employee> employees = new ArrayList<>();
+        private int[] employeeLines = new int[64];
+        private final List<String> errorMessages = new ArrayList<>();
+        private int[] errorLines = new int[8];
+        private int lineCount;
+        // Początek rekordu przecinającego koniec fragmentu (granica wewnątrz pola w cudzysłowie); -1, jeśli fragment
+        // kończy się na końcu rekordu.
+        private long straddlingRecordStart = -1;
+
+        void addEmployee(int line, Employee employee) {
+            if (employees.size() == employeeLines.length) {
+                employeeLines = Arrays.copyOf(employeeLines, employeeLines.length * 2);
+            }
+            employeeLines[employees.size()] = line;
+            employees.add(employee);
+        }
+
+        void addError(int line, String message) {
+            if (errorMessages.size() == errorLines.length) {
+                errorLines = Arrays.copyOf(errorLines, errorLines.length * 2);
+            }
+            errorLines[errorMessages.size()] = line;
+            errorMessages.add(message);
+        }
+
+        // Zapisuje rekordy do serwisu i dopisuje błędy w kolejności linii pliku. Zwraca liczbę zapisanych pracowników.
+        int mergeInto(EmployeeService employeeService, int lineOffset, List<String> errors) {
+            int imported = 0;
+            int e = 0;
+            int x = 0;
+            while (e < employees.size() || x < errorMessages.size()) {
+                boolean takeEmployee = x == errorMessages.size()
+                        || (e < employees.size() && employeeLines[e] < errorLines[x]);
+                if (takeEmployee) {
+                    Employee employee = employees.get(e);
+                    if (employeeService.addEmployee(employee)) {
+                        imported++;
+                    } else {
+                        errors.add(duplicateError(lineOffset + employeeLines[e], employee.getEmail()));
+                    }
+                    e++;
+                } else {
+                    errors.add(dataError(lineOffset + errorLines[x], errorMessages.get(x)));
+                    x++;
+                }
+            }
+            return imported;
+        }
+    }
+}
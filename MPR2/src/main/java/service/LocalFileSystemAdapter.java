@@ -0,0 +1,29 @@
+package service;
+
+import interfaces.FileSystemAdapter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Implementacja adaptera systemu plików zapisująca dane na lokalnym dysku.
+// Zapis strumieniowy trafia bezpośrednio do pliku, więc zużycie pamięci nie zależy od rozmiaru eksportu.
+public class LocalFileSystemAdapter implements FileSystemAdapter {
+
+    @Override
+    public void write(String path, String content) throws IOException {
+        Files.writeString(Path.of(path), content, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public OutputStream openOutputStream(String path) throws IOException {
+        return Files.newOutputStream(Path.of(path));
+    }
+
+    @Override
+    public boolean supportsBinaryContent() {
+        return true;
+    }
+}
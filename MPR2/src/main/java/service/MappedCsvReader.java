@@ -0,0 +1,79 @@
+package service;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+// Czytnik rekordów CSV z pliku odwzorowanego w pamięci (memory-mapped) przez FileChannel.
+// Plik mapowany jest oknami o ograniczonym rozmiarze, dzięki czemu obsługiwane są również pliki
+// większe niż 2 GB (limit pojedynczego MappedByteBuffer). Kolejne okna zaczynają się zawsze
+// na początku rekordu, a rekordy dzielone są na pola przez CsvTokenizer bezpośrednio na bajtach okna,
+// więc odczyt nie tworzy żadnych obiektów String.
+final class MappedCsvReader implements CsvRecordSource {
+
+    // Domyślny rozmiar okna mapowania.
+    static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private static final int MAX_WINDOW_SIZE = Integer.MAX_VALUE - 8;
+
+    private final FileChannel channel;
+    private final long regionEnd;
+    private final CsvTokenizer tokenizer;
+    private int windowSize;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    // Tworzy czytnik dla regionu pliku [regionStart, regionEnd), który musi zaczynać się na początku rekordu.
+    MappedCsvReader(FileChannel channel, long regionStart, long regionEnd, CsvTokenizer tokenizer, int windowSize) {
+        this.channel = channel;
+        this.regionEnd = regionEnd;
+        this.tokenizer = tokenizer;
+        this.windowSize = windowSize;
+        this.windowStart = regionStart;
+    }
+
+    MappedCsvReader(FileChannel channel, long regionStart, long regionEnd, CsvTokenizer tokenizer) {
+        this(channel, regionStart, regionEnd, tokenizer, DEFAULT_WINDOW_SIZE);
+    }
+
+    @Override
+    public boolean nextRecord() throws IOException {
+        while (true) {
+            if (window != null && tokenizer.nextRecord()) {
+                return true;
+            }
+            long next = offset();
+            if (next >= regionEnd) {
+                return false;
+            }
+
+            // Rekord przecina granicę okna - mapujemy nowe okno od początku tego rekordu.
+            // Jeśli rekord nie mieści się nawet w całym oknie, okno jest powiększane.
+            if (window != null && window.position() == 0) {
+                if (windowSize == MAX_WINDOW_SIZE) {
+                    throw new IOException("Rekord przekracza maksymalny rozmiar okna mapowania");
+                }
+                windowSize = (int) Math.min((long) windowSize * 2, MAX_WINDOW_SIZE);
+            }
+            map(next);
+        }
+    }
+
+    @Override
+    public CsvTokenizer tokenizer() {
+        return tokenizer;
+    }
+
+    // Pozycja w pliku, od której zaczyna się kolejny (jeszcze nieodczytany) rekord.
+    long offset() {
+        return window == null ? windowStart : windowStart + window.position();
+    }
+
+    private void map(long start) throws IOException {
+        long length = Math.min(windowSize, regionEnd - start);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        windowStart = start;
+        tokenizer.reset(window, start + length >= regionEnd);
+    }
+}
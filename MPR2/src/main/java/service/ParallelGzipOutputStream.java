@@ -0,0 +1,147 @@
+package service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+// Strumień kompresujący dane do formatu GZIP równolegle na wielu rdzeniach.
+// Dane dzielone są na bloki o stałym rozmiarze, a każdy blok kompresowany jest niezależnie jako osobny
+// człon (member) GZIP. Zgodnie z RFC 1952 konkatenacja członów jest poprawnym plikiem GZIP, więc wynik
+// można rozpakować standardowymi narzędziami (gunzip, GZIPInputStream) - tak samo działa narzędzie pigz.
+// Skompresowane bloki zapisywane są w kolejności ich powstania, a liczba bloków w toku jest ograniczona,
+// więc zużycie pamięci nie zależy od rozmiaru danych. Strumień nie jest bezpieczny wątkowo.
+final class ParallelGzipOutputStream extends OutputStream {
+
+    // Domyślny rozmiar bloku - wystarczająco duży, aby niezależna kompresja bloków nie pogarszała współczynnika kompresji.
+    static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+
+    private final OutputStream out;
+    private final ForkJoinPool pool;
+    private final int maxPendingBlocks;
+    private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+
+    private byte[] block;
+    private int blockLength;
+    private boolean closed;
+    private boolean anyBlockSubmitted;
+
+    ParallelGzipOutputStream(OutputStream out, int parallelism, int blockSize) {
+        if (parallelism <= 0 || blockSize <= 0) {
+            throw new IllegalArgumentException("Poziom równoległości i rozmiar bloku muszą być dodatnie");
+        }
+        this.out = out;
+        this.pool = new ForkJoinPool(parallelism);
+        // Dwa bloki na wątek: jeden kompresowany, jeden oczekujący - wątki nie czekają na zapis.
+        this.maxPendingBlocks = parallelism * 2;
+        this.block = new byte[blockSize];
+    }
+
+    ParallelGzipOutputStream(OutputStream out, int parallelism) {
+        this(out, parallelism, DEFAULT_BLOCK_SIZE);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        block[blockLength++] = (byte) b;
+        if (blockLength == block.length) {
+            submitBlock();
+        }
+    }
+
+    @Override
+    public void write(byte[] buffer, int offset, int length) throws IOException {
+        ensureOpen();
+        while (length > 0) {
+            int chunk = Math.min(length, block.length - blockLength);
+            System.arraycopy(buffer, offset, block, blockLength, chunk);
+            blockLength += chunk;
+            offset += chunk;
+            length -= chunk;
+            if (blockLength == block.length) {
+                submitBlock();
+            }
+        }
+    }
+
+    // Kompresuje bieżący (niepełny) blok i zapisuje wszystkie bloki w toku.
+    // Każde wywołanie flush kończy człon GZIP, dlatego nie należy wywoływać go zbyt często.
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        if (blockLength > 0) {
+            submitBlock();
+        }
+        while (!pending.isEmpty()) {
+            writeOldest();
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            // Pusty plik nie jest poprawnym plikiem GZIP - przy braku danych zapisywany jest jeden pusty człon.
+            if (!anyBlockSubmitted) {
+                submitBlock();
+            }
+            flush();
+        } finally {
+            closed = true;
+            pool.shutdownNow();
+            out.close();
+        }
+    }
+
+    private void submitBlock() throws IOException {
+        byte[] data = block;
+        int length = blockLength;
+        pending.addLast(pool.submit(() -> compress(data, length)));
+        anyBlockSubmitted = true;
+        block = new byte[data.length];
+        blockLength = 0;
+        // Ograniczenie liczby bloków w pamięci - zapis najstarszego bloku zwalnia miejsce na kolejny.
+        while (pending.size() >= maxPendingBlocks) {
+            writeOldest();
+        }
+    }
+
+    private void writeOldest() throws IOException {
+        try {
+            out.write(pending.removeFirst().get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Kompresja przerwana", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof UncheckedIOException ? e.getCause().getCause() : e.getCause();
+            throw new IOException("Błąd kompresji bloku: " + cause.getMessage(), cause);
+        }
+    }
+
+    // Kompresuje blok do samodzielnego członu GZIP.
+    private static byte[] compress(byte[] data, int length) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed, 64 * 1024)) {
+            gzip.write(data, 0, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Strumień został zamknięty");
+        }
+    }
+}
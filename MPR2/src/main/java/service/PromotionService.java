@@ -2,11 +2,19 @@ package service;
 
 import model.Employee;
 import model.Position;
+import model.RaiseSummary;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
 
 // Serwis domenowy odpowiedzialny za zarządzanie ścieżką kariery i wynagrodzeniami pracowników.
 // Obsługuje procesy awansów pionowych oraz rewaloryzacji wynagrodzeń z uwzględnieniem polityki płacowej firmy.
 public class PromotionService {
 
+    // Liczba pracowników, od której polityka podwyżek wyliczana jest równolegle.
+    static final int PARALLEL_THRESHOLD = 10_000;
+
     /**
      * Przeprowadza procedurę awansu pracownika na nowe stanowisko.
      * Weryfikuje, czy zmiana stanowiska jest faktycznym awansem w strukturze organizacyjnej
@@ -59,4 +67,80 @@ public class PromotionService {
 
         employee.setSalary(newSalary);
     }
-}
\ No newline at end of file
+
+    /**
+     * Aplikuje tę samą procentową podwyżkę dla grupy pracowników, z tym samym ograniczeniem do górnych widełek
+     * stanowiska co {@link #giveRaise(Employee, double)}. Odpowiada {@link #applyRaises(List, RaisePolicy)}
+     * z polityką {@link RaisePolicy#uniform(double)}.
+     *
+     * @param employees Pracownicy otrzymujący podwyżkę.
+     * @param percentage Wartość podwyżki w procentach (np. 10.0 dla 10%).
+     * @throws IllegalArgumentException W przypadku podania ujemnej wartości procentowej.
+     */
+    public void giveRaise(List<Employee> employees, double percentage) {
+        if (percentage < 0) {
+            throw new IllegalArgumentException("Podwyżka nie może być ujemna");
+        }
+        applyRaises(employees, RaisePolicy.uniform(percentage));
+    }
+
+    /**
+     * Zbiorcza podwyżka według polityki (np. procent zależny od stanowiska, przedziału ocen lub firmy),
+     * z ograniczeniem do górnych widełek stanowiska jak w {@link #giveRaise(Employee, double)}.
+     * <p>
+     * Przebieg jest jednoprzebiegowy i kolumnowy: pensje, limity stanowisk i stopy podwyżek wyliczane są do tablic
+     * prymitywów (dla dużych list równolegle, bo wyliczenie polityki jest najdroższą częścią), nowe pensje liczone są
+     * jednym wywołaniem jądra SalaryKernels, a zapis pensji odbywa się sekwencyjnie w wątku wywołującym - obserwatorzy
+     * pracowników (indeksy EmployeeService, liczniki zespołów) otrzymują powiadomienia w kolejności listy.
+     * Operacja jest wykonywana w całości albo wcale: ujemna podwyżka dla któregokolwiek pracownika odrzuca ją
+     * przed zmianą jakiejkolwiek pensji. Każdy pracownik powinien występować na liście co najwyżej raz.
+     *
+     * @param employees Pracownicy objęci podwyżką.
+     * @param policy Polityka wyznaczająca procentową podwyżkę dla każdego pracownika.
+     * @return Dziennik zmian pensji wraz z sumą pensji przed i po podwyżce.
+     * @throws IllegalArgumentException Jeśli polityka wyznaczyła ujemną (lub nieokreśloną) podwyżkę.
+     */
+    public RaiseSummary applyRaises(List<Employee> employees, RaisePolicy policy) {
+        Employee[] roster = employees.toArray(new Employee[0]);
+        int count = roster.length;
+        double[] salaries = new double[count];
+        double[] caps = new double[count];
+        double[] rates = new double[count];
+
+        // Faza 1: odczyt pensji i limitów oraz wyliczenie polityki - każdy indeks zapisywany jest przez jeden wątek.
+        IntStream rows = IntStream.range(0, count);
+        (count >= PARALLEL_THRESHOLD ? rows.parallel() : rows).forEach(i -> {
+            Employee employee = roster[i];
+            salaries[i] = employee.getSalary();
+            caps[i] = employee.getPosition().getMaxSalary();
+            rates[i] = policy.percentageFor(employee) / 100.0;
+        });
+        for (int i = 0; i < count; i++) {
+            if (!(rates[i] >= 0)) {
+                throw new IllegalArgumentException("Podwyżka nie może być ujemna (" + roster[i].getName() + ")");
+            }
+        }
+
+        // Faza 2: nowe pensje z ograniczeniem do widełek - czysta arytmetyka na kolumnach.
+        double[] newSalaries = new double[count];
+        SalaryKernels kernels = SalaryKernels.get();
+        kernels.applyRaise(salaries, caps, rates, newSalaries, count);
+
+        // Faza 3: sekwencyjny zapis zmienionych pensji i dziennik zmian.
+        Employee[] changed = new Employee[count];
+        double[] oldValues = new double[count];
+        double[] newValues = new double[count];
+        int changes = 0;
+        for (int i = 0; i < count; i++) {
+            if (Double.compare(salaries[i], newSalaries[i]) != 0) {
+                roster[i].setSalary(newSalaries[i]);
+                changed[changes] = roster[i];
+                oldValues[changes] = salaries[i];
+                newValues[changes] = newSalaries[i];
+                changes++;
+            }
+        }
+        return new RaiseSummary(count, Arrays.copyOf(changed, changes), Arrays.copyOf(oldValues, changes),
+                Arrays.copyOf(newValues, changes), kernels.sum(salaries, count), kernels.sum(newSalaries, count));
+    }
+}
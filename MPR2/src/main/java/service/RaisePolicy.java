@@ -0,0 +1,58 @@
+package service;
+
+import model.Employee;
+import model.Position;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+// Polityka podwyżek stosowana przez PromotionService.applyRaises: wyznacza procentową podwyżkę dla pracownika
+// (np. 5.0 dla 5%). Polityka wywoływana jest równolegle z wielu wątków, dlatego nie może modyfikować pracowników
+// ani współdzielonego stanu. Metody fabryczne kopiują przekazaną konfigurację, więc późniejsze zmiany map
+// nie wpływają na utworzoną politykę.
+@FunctionalInterface
+public interface RaisePolicy {
+
+    // Procentowa podwyżka dla pracownika; wartość ujemna powoduje odrzucenie całej operacji.
+    double percentageFor(Employee employee);
+
+    // Ta sama podwyżka dla wszystkich pracowników.
+    static RaisePolicy uniform(double percentage) {
+        return employee -> percentage;
+    }
+
+    // Podwyżka zależna od stanowiska; stanowiska spoza mapy otrzymują podwyżkę domyślną.
+    static RaisePolicy byPosition(Map<Position, Double> percentages, double defaultPercentage) {
+        Position[] positions = Position.values();
+        double[] byOrdinal = new double[positions.length];
+        for (Position position : positions) {
+            byOrdinal[position.ordinal()] = percentages.getOrDefault(position, defaultPercentage);
+        }
+        return employee -> byOrdinal[employee.getPosition().ordinal()];
+    }
+
+    // Podwyżka zależna od firmy; firmy spoza mapy otrzymują podwyżkę domyślną.
+    static RaisePolicy byCompany(Map<String, Double> percentages, double defaultPercentage) {
+        Map<String, Double> copy = new HashMap<>(percentages);
+        return employee -> copy.getOrDefault(employee.getCompanyName(), defaultPercentage);
+    }
+
+    /**
+     * Podwyżka zależna od przedziału średniej oceny pracownika.
+     *
+     * @param ratingService Serwis wyliczający średnią ocen pracownika.
+     * @param bands Przedziały ocen: minimalna średnia przedziału -> podwyżka w procentach.
+     * @param defaultPercentage Podwyżka dla pracowników, których średnia jest niższa od najniższego progu
+     *                          (w tym pracowników bez ocen, dla których średnia wynosi 0.0).
+     */
+    static RaisePolicy byRatingBand(RatingService ratingService, NavigableMap<Double, Double> bands,
+                                    double defaultPercentage) {
+        NavigableMap<Double, Double> copy = new TreeMap<>(bands);
+        return employee -> {
+            Map.Entry<Double, Double> band = copy.floorEntry(ratingService.getAverageRating(employee));
+            return band == null ? defaultPercentage : band.getValue();
+        };
+    }
+}
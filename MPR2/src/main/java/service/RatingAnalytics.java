@@ -0,0 +1,226 @@
+package service;
+
+import model.Employee;
+import model.Position;
+import model.RatingHistory;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+// Silnik analityki ocen dla całej organizacji, utrzymywany przyrostowo.
+// Obserwuje śledzonych pracowników (Employee.ChangeListener) i przy każdej nowej ocenie aktualizuje:
+// - histogramy ocen (liczba ocen 1-5) dla każdej firmy i każdego stanowiska,
+// - ranking średnich ocen pracowników w drzewie Fenwicka (drzewo indeksów binarnych), które zlicza pracowników
+//   w przedziałach średniej o szerokości 0.01 - ranga percentylowa wyliczana jest w czasie O(log 401),
+//   niezależnie od liczby pracowników.
+// Zapytania nie przeglądają historii ocen, więc odpowiedzi dla setek tysięcy pracowników są natychmiastowe.
+// Wszystkie metody są synchronizowane - oceny mogą być dodawane z wielu wątków. Dla każdego pracownika pamiętana jest
+// liczba uwzględnionych ocen, a powiadomienie dołącza oceny z historii od tego miejsca - ocena dodana w trakcie
+// rozpoczynania śledzenia nie zostaje więc pominięta ani policzona dwukrotnie.
+// Firmy grupowane są bez rozróżniania wielkości liter, tak jak w EmployeeService.
+public class RatingAnalytics {
+
+    private static final Position[] POSITIONS = Position.values();
+    private static final int MIN_RATING = 1;
+    private static final int MAX_RATING = 5;
+    // Średnie ocen zaokrąglane są do 0.01 - przedział 1.00-5.00 to 401 kubełków.
+    private static final int BUCKETS = (MAX_RATING - MIN_RATING) * 100 + 1;
+    private static final int NO_RATINGS = -1;
+
+    // Histogramy: liczba ocen o wartości r pod indeksem r - 1. Klucz firmy znormalizowany (EmployeeService.normalizeCompany).
+    private final Map<String, long[]> histogramsByCompany = new HashMap<>();
+    private final long[][] histogramsByPosition = new long[POSITIONS.length][MAX_RATING];
+
+    // Śledzeni pracownicy i stan ich wkładu w histogramy i ranking.
+    private final Map<Employee, Tracked> tracked = new HashMap<>();
+    private final FenwickTree ranking = new FenwickTree(BUCKETS);
+
+    private final Employee.ChangeListener listener = new Employee.ChangeListener() {
+        @Override
+        public void onRatingAdded(Employee employee, int rating) {
+            syncRatings(employee);
+        }
+
+        @Override
+        public void onPositionChanged(Employee employee, Position oldPosition, Position newPosition) {
+            syncPosition(employee);
+        }
+    };
+
+    /**
+     * Rozpoczyna śledzenie pracownika: jego dotychczasowe oceny trafiają do histogramów i rankingu,
+     * a kolejne są uwzględniane na bieżąco. Ponowne dodanie śledzonego pracownika nie zmienia stanu.
+     * Obserwator rejestrowany jest przed odczytem historii, więc ocena dodana równolegle z tą metodą zostanie
+     * uwzględniona dokładnie raz.
+     *
+     * @param employee Pracownik do śledzenia.
+     */
+    public synchronized void track(Employee employee) {
+        if (tracked.containsKey(employee)) {
+            return;
+        }
+        employee.addChangeListener(listener);
+        tracked.put(employee, new Tracked(employee.getPosition()));
+        syncRatings(employee);
+    }
+
+    // Rozpoczyna śledzenie wszystkich pracowników z kolekcji.
+    public synchronized void trackAll(Collection<Employee> employees) {
+        for (Employee employee : employees) {
+            track(employee);
+        }
+    }
+
+    // Kończy śledzenie pracownika i usuwa jego oceny z histogramów i rankingu.
+    public synchronized void untrack(Employee employee) {
+        Tracked state = tracked.remove(employee);
+        if (state == null) {
+            return;
+        }
+        employee.removeChangeListener(listener);
+        RatingHistory history = employee.getRatingHistory();
+        long[] companyHistogram = histogramsByCompany.get(companyKey(employee));
+        long[] positionHistogram = histogramsByPosition[state.position.ordinal()];
+        for (int i = 0; i < state.counted; i++) {
+            int rating = history.getRating(i);
+            companyHistogram[rating - MIN_RATING]--;
+            positionHistogram[rating - MIN_RATING]--;
+        }
+        if (state.bucket != NO_RATINGS) {
+            ranking.add(state.bucket, -1);
+        }
+    }
+
+    // Histogram ocen firmy (wielkość liter w nazwie nie ma znaczenia): element r - 1 to liczba ocen o wartości r (kopia).
+    public synchronized long[] getHistogram(String companyName) {
+        long[] histogram = histogramsByCompany.get(EmployeeService.normalizeCompany(companyName));
+        return histogram == null ? new long[MAX_RATING] : histogram.clone();
+    }
+
+    // Histogram ocen stanowiska: element r - 1 to liczba ocen o wartości r (tablica jest kopią).
+    public synchronized long[] getHistogram(Position position) {
+        return histogramsByPosition[position.ordinal()].clone();
+    }
+
+    /**
+     * Średnia krocząca pracownika: średnia z ostatnich {@code lastReviews} ocen.
+     *
+     * @return Średnia z okna; 0.0 dla pracownika bez ocen.
+     * @throws IllegalArgumentException Jeśli rozmiar okna nie jest dodatni.
+     */
+    public double getRollingAverage(Employee employee, int lastReviews) {
+        return employee.getRatingHistory().averageOfLast(lastReviews);
+    }
+
+    // Liczba śledzonych pracowników posiadających co najmniej jedną ocenę (populacja rankingu).
+    public synchronized int getRankedCount() {
+        return (int) ranking.prefixSum(BUCKETS - 1);
+    }
+
+    /**
+     * Ranga percentylowa średniej oceny pracownika wśród śledzonych pracowników z ocenami:
+     * odsetek pracowników z niższą średnią, powiększony o połowę pracowników z taką samą średnią
+     * (średnie porównywane z dokładnością do 0.01).
+     *
+     * @return Ranga w przedziale 0-100; Double.NaN dla pracownika nieśledzonego lub bez ocen.
+     */
+    public synchronized double getPercentileRank(Employee employee) {
+        Tracked state = tracked.get(employee);
+        if (state == null || state.bucket == NO_RATINGS) {
+            return Double.NaN;
+        }
+        long total = ranking.prefixSum(BUCKETS - 1);
+        long below = state.bucket == 0 ? 0 : ranking.prefixSum(state.bucket - 1);
+        long equal = ranking.prefixSum(state.bucket) - below;
+        return 100.0 * (below + equal / 2.0) / total;
+    }
+
+    // Dołącza oceny dodane od ostatniej synchronizacji. Powiadomienie o ocenie już uwzględnionej niczego nie zmienia.
+    private synchronized void syncRatings(Employee employee) {
+        Tracked state = tracked.get(employee);
+        if (state == null) {
+            return;
+        }
+        RatingHistory history = employee.getRatingHistory();
+        int size = history.size();
+        if (size == state.counted) {
+            return;
+        }
+        long[] companyHistogram = histogramsByCompany.computeIfAbsent(companyKey(employee), c -> new long[MAX_RATING]);
+        long[] positionHistogram = histogramsByPosition[state.position.ordinal()];
+        for (int i = state.counted; i < size; i++) {
+            int rating = history.getRating(i);
+            companyHistogram[rating - MIN_RATING]++;
+            positionHistogram[rating - MIN_RATING]++;
+            state.sum += rating;
+        }
+        state.counted = size;
+        int newBucket = (int) Math.round(((double) state.sum / size - MIN_RATING) * 100);
+        if (newBucket != state.bucket) {
+            if (state.bucket != NO_RATINGS) {
+                ranking.add(state.bucket, -1);
+            }
+            ranking.add(newBucket, 1);
+            state.bucket = newBucket;
+        }
+    }
+
+    // Przenosi uwzględnione oceny pracownika do histogramu jego bieżącego stanowiska.
+    private synchronized void syncPosition(Employee employee) {
+        Tracked state = tracked.get(employee);
+        Position position = employee.getPosition();
+        if (state == null || state.position == position) {
+            return;
+        }
+        RatingHistory history = employee.getRatingHistory();
+        for (int i = 0; i < state.counted; i++) {
+            int rating = history.getRating(i);
+            histogramsByPosition[state.position.ordinal()][rating - MIN_RATING]--;
+            histogramsByPosition[position.ordinal()][rating - MIN_RATING]++;
+        }
+        state.position = position;
+    }
+
+    private static String companyKey(Employee employee) {
+        return EmployeeService.normalizeCompany(employee.getCompanyName());
+    }
+
+    // Wkład śledzonego pracownika: liczba i suma uwzględnionych ocen (pierwsze counted ocen historii),
+    // stanowisko, w którego histogramie zostały policzone, oraz kubełek średniej w rankingu.
+    private static final class Tracked {
+        private Position position;
+        private int counted;
+        private long sum;
+        private int bucket = NO_RATINGS;
+
+        Tracked(Position position) {
+            this.position = position;
+        }
+    }
+
+    // Drzewo Fenwicka: sumy prefiksowe liczników kubełków z aktualizacją i zapytaniem w czasie O(log n).
+    private static final class FenwickTree {
+        private final long[] tree;
+
+        FenwickTree(int size) {
+            tree = new long[size + 1];
+        }
+
+        // Dodaje delta do kubełka index (numerowanego od 0).
+        void add(int index, long delta) {
+            for (int i = index + 1; i < tree.length; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        // Suma kubełków 0..index włącznie.
+        long prefixSum(int index) {
+            long sum = 0;
+            for (int i = index + 1; i > 0; i -= i & -i) {
+                sum += tree[i];
+            }
+            return sum;
+        }
+    }
+}
@@ -2,8 +2,6 @@ package service;
 
 import model.Employee;
 
-import java.util.List;
-
 // Serwis odpowiedzialny za system oceniania efektywności pracowników.
 // Dostarcza interfejs do manipulacji historią ocen oraz wyliczania metryk statystycznych.
 public class RatingService {
@@ -16,26 +14,13 @@ public class RatingService {
 
     /**
      * Oblicza średnią arytmetyczną ze wszystkich ocen zgromadzonych w historii pracownika.
+     * Historia ocen utrzymuje bieżącą sumę i liczbę ocen, więc wynik wyliczany jest w czasie stałym.
      *
      * @param employee Pracownik, dla którego obliczana jest statystyka.
      * @return Średnia ocen jako wartość zmiennoprzecinkowa. Zwraca 0.0 w przypadku braku jakichkolwiek ocen.
      */
     public double getAverageRating(Employee employee) {
-
-        List<Integer> ratings = employee.getRatingHistory();
-
-        // Obsługa przypadku brzegowego: pusta historia ocen.
-        // Zwracamy wartość domyślną 0.0, aby uniknąć wyjątku dzielenia przez zero lub zwracania NaN.
-        if (ratings.isEmpty()) {
-            return 0.0;
-        }
-
-        double sum = 0;
-        for (int rating : ratings) {
-            sum += rating;
-        }
-
-        // Wyliczenie średniej poprzez podzielenie sumy punktów przez liczebność zbioru.
-        return sum / ratings.size();
+        // Pusta historia zwraca wartość domyślną 0.0, aby uniknąć dzielenia przez zero lub zwracania NaN.
+        return employee.getRatingHistory().average();
     }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package service;
+
+// Jądra obliczeniowe (kernels) operujące na kolumnach pensji w postaci tablic prymitywów.
+// Operacje są czystą arytmetyką na tablicach, więc mogą być wykonywane wektorowo (SIMD).
+// Domyślnie używana jest implementacja skalarna; implementacja korzystająca z Vector API (jdk.incubator.vector)
+// kompilowana jest w osobnym zbiorze źródeł "vector" i włączana właściwością systemową
+// -Dmpr.salary.kernels=vector (wymaga uruchomienia JVM z opcją --add-modules jdk.incubator.vector).
+// Jeśli implementacja wektorowa jest niedostępna, następuje powrót do implementacji skalarnej.
+interface SalaryKernels {
+
+    // Nazwa właściwości systemowej wybierającej implementację ("scalar" lub "vector").
+    String IMPLEMENTATION_PROPERTY = "mpr.salary.kernels";
+
+    // Suma wartości z zakresu [0, length).
+    double sum(double[] values, int length);
+
+    // Najmniejsza wartość z zakresu [0, length); Double.POSITIVE_INFINITY dla pustego zakresu.
+    double min(double[] values, int length);
+
+    // Największa wartość z zakresu [0, length); Double.NEGATIVE_INFINITY dla pustego zakresu.
+    double max(double[] values, int length);
+
+    /**
+     * Wyznacza indeksy, dla których wartość jest mniejsza od odpowiadającego jej limitu (values[i] < limits[i]).
+     *
+     * @param selection Tablica wynikowa o pojemności co najmniej length - wypełniana rosnącymi indeksami.
+     * @return Liczba wybranych indeksów.
+     */
+    int selectBelow(double[] values, double[] limits, int length, int[] selection);
+
+    /**
+     * Wylicza pensje po podwyżce: result[i] = min(salaries[i] + salaries[i] * rate, caps[i]).
+     * Kolejność działań jest taka sama jak w PromotionService.giveRaise, więc wynik jest identyczny co do bitu.
+     */
+    void applyRaise(double[] salaries, double[] caps, double rate, double[] result, int length);
+
+    // Wariant z osobną stopą podwyżki dla każdej pensji: result[i] = min(salaries[i] + salaries[i] * rates[i], caps[i]).
+    void applyRaise(double[] salaries, double[] caps, double[] rates, double[] result, int length);
+
+    // Zwraca implementację wybraną przy pierwszym użyciu.
+    static SalaryKernels get() {
+        return Holder.INSTANCE;
+    }
+
+    // Leniwa inicjalizacja implementacji (idiom holder) - wybór wykonywany jest raz na cały proces.
+    final class Holder {
+        private static final SalaryKernels INSTANCE = load(System.getProperty(IMPLEMENTATION_PROPERTY, "scalar"));
+
+        private Holder() {
+        }
+
+        static SalaryKernels load(String implementation) {
+            if ("vector".equalsIgnoreCase(implementation)) {
+                try {
+                    // Ładowanie refleksyjne: klasa wektorowa może nie istnieć w classpath,
+                    // a moduł jdk.incubator.vector może nie być dołączony do JVM.
+                    return (SalaryKernels) Class.forName("service.VectorSalaryKernels")
+                            .getDeclaredConstructor().newInstance();
+                } catch (ReflectiveOperationException | LinkageError e) {
+                    System.err.println("Implementacja wektorowa niedostępna, używana jest skalarna: " + e);
+                }
+            }
+            return new ScalarSalaryKernels();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package service;
+
+// Skalarna implementacja jąder pensji - proste pętle po tablicach, dostępne na każdej JVM.
+final class ScalarSalaryKernels implements SalaryKernels {
+
+    @Override
+    public double sum(double[] values, int length) {
+        double sum = 0.0;
+        for (int i = 0; i < length; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public double min(double[] values, int length) {
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < length; i++) {
+            min = Math.min(min, values[i]);
+        }
+        return min;
+    }
+
+    @Override
+    public double max(double[] values, int length) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < length; i++) {
+            max = Math.max(max, values[i]);
+        }
+        return max;
+    }
+
+    @Override
+    public int selectBelow(double[] values, double[] limits, int length, int[] selection) {
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (values[i] < limits[i]) {
+                selection[count++] = i;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void applyRaise(double[] salaries, double[] caps, double rate, double[] result, int length) {
+        for (int i = 0; i < length; i++) {
+            result[i] = Math.min(salaries[i] + salaries[i] * rate, caps[i]);
+        }
+    }
+
+    @Override
+    public void applyRaise(double[] salaries, double[] caps, double[] rates, double[] result, int length) {
+        for (int i = 0; i < length; i++) {
+            result[i] = Math.min(salaries[i] + salaries[i] * rates[i], caps[i]);
+        }
+    }
+}
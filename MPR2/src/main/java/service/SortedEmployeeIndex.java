@@ -0,0 +1,201 @@
+package service;
+
+import model.Employee;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Utrzymywany przyrostowo indeks pracowników posortowanych według imienia i nazwiska.
+// Struktura jest drzewem typu treap wzbogaconym o rozmiary poddrzew (order-statistic tree),
+// dzięki czemu wstawienie i usunięcie kosztują O(log n), a odczyt strony katalogu
+// od dowolnej pozycji kosztuje O(log n + rozmiar strony), bez sortowania i kopiowania całego rejestru.
+// Kluczem porównania jest CollationKey wyliczany raz przy wstawieniu (polskie reguły sortowania,
+// bez rozróżniania wielkości liter), a remis rozstrzyga znormalizowany adres email.
+final class SortedEmployeeIndex {
+
+    // Węzeł drzewa: klucze porównania są wyliczane jednokrotnie i przechowywane razem z pracownikiem.
+    private static final class Node {
+        final CollationKey nameKey;
+        final String emailKey;
+        final Employee employee;
+        final int priority;
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(CollationKey nameKey, String emailKey, Employee employee) {
+            this.nameKey = nameKey;
+            this.emailKey = emailKey;
+            this.employee = employee;
+            this.priority = ThreadLocalRandom.current().nextInt();
+        }
+    }
+
+    // Collator nie jest bezpieczny wątkowo - używany wyłącznie przez właściciela indeksu.
+    private final Collator collator;
+    private Node root;
+
+    SortedEmployeeIndex() {
+        this.collator = newCollator();
+    }
+
+    // Tworzy collator z regułami sortowania indeksu. Wątki wyliczające klucze poza właścicielem indeksu
+    // (np. ConcurrentEmployeeService) muszą używać własnych instancji - collator nie jest bezpieczny wątkowo.
+    static Collator newCollator() {
+        Collator collator = Collator.getInstance(Locale.forLanguageTag("pl-PL"));
+        // SECONDARY: rozróżnia znaki diakrytyczne (np. "L" i "Ł"), ale ignoruje wielkość liter.
+        collator.setStrength(Collator.SECONDARY);
+        return collator;
+    }
+
+    // Wylicza klucz sortowania pracownika podanym collatorem (utworzonym przez newCollator).
+    static CollationKey nameKey(Collator collator, Employee employee) {
+        return collator.getCollationKey(nameOf(employee));
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    // Wstawia pracownika do indeksu. Klucz sortowania wyliczany jest tylko raz, w tym miejscu.
+    void insert(Employee employee, String emailKey) {
+        insert(employee, emailKey, nameKey(collator, employee));
+    }
+
+    // Wstawia pracownika z kluczem sortowania wyliczonym wcześniej przez wywołującego (np. poza sekcją krytyczną).
+    void insert(Employee employee, String emailKey, CollationKey nameKey) {
+        Node node = new Node(nameKey, emailKey, employee);
+        Node[] parts = split(root, node.nameKey, node.emailKey);
+        root = merge(merge(parts[0], node), parts[1]);
+    }
+
+    // Usuwa pracownika z indeksu. Zwraca false, jeśli pracownika nie było w indeksie.
+    boolean remove(Employee employee, String emailKey) {
+        CollationKey nameKey = collator.getCollationKey(nameOf(employee));
+        int before = size(root);
+        root = remove(root, nameKey, emailKey);
+        return size(root) != before;
+    }
+
+    // Zwraca fragment posortowanego katalogu: co najwyżej limit pracowników, począwszy od pozycji offset.
+    // Zejście do pozycji offset kosztuje O(log n), a każdy kolejny element - zamortyzowane O(1).
+    List<Employee> range(int offset, int limit) {
+        List<Employee> page = new ArrayList<>(Math.max(0, Math.min(limit, size(root) - offset)));
+        if (offset >= size(root) || limit <= 0) {
+            return page;
+        }
+
+        // Stos odtwarza stan przejścia in-order zatrzymanego na elemencie o randze offset.
+        Deque<Node> stack = new ArrayDeque<>();
+        Node node = root;
+        int rank = offset;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (rank < leftSize) {
+                stack.push(node);
+                node = node.left;
+            } else if (rank == leftSize) {
+                stack.push(node);
+                break;
+            } else {
+                rank -= leftSize + 1;
+                node = node.right;
+            }
+        }
+
+        while (!stack.isEmpty() && page.size() < limit) {
+            Node current = stack.pop();
+            page.add(current.employee);
+            for (Node n = current.right; n != null; n = n.left) {
+                stack.push(n);
+            }
+        }
+        return page;
+    }
+
+    // Zwraca wszystkich pracowników w kolejności alfabetycznej (przejście in-order, O(n)).
+    List<Employee> toList() {
+        return range(0, size(root));
+    }
+
+    private static String nameOf(Employee employee) {
+        return employee.getName() == null ? "" : employee.getName();
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static int compare(Node node, CollationKey nameKey, String emailKey) {
+        int result = node.nameKey.compareTo(nameKey);
+        if (result != 0) {
+            return result;
+        }
+        if (node.emailKey == null || emailKey == null) {
+            return node.emailKey == null ? (emailKey == null ? 0 : -1) : 1;
+        }
+        return node.emailKey.compareTo(emailKey);
+    }
+
+    // Dzieli poddrzewo na elementy mniejsze od klucza oraz większe lub równe kluczowi.
+    private static Node[] split(Node node, CollationKey nameKey, String emailKey) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        if (compare(node, nameKey, emailKey) < 0) {
+            Node[] parts = split(node.right, nameKey, emailKey);
+            node.right = parts[0];
+            update(node);
+            return new Node[]{node, parts[1]};
+        }
+        Node[] parts = split(node.left, nameKey, emailKey);
+        node.left = parts[1];
+        update(node);
+        return new Node[]{parts[0], node};
+    }
+
+    // Scala dwa poddrzewa, przy założeniu że wszystkie klucze lewego są mniejsze od kluczy prawego.
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static Node remove(Node node, CollationKey nameKey, String emailKey) {
+        if (node == null) {
+            return null;
+        }
+        int result = compare(node, nameKey, emailKey);
+        if (result == 0) {
+            return merge(node.left, node.right);
+        }
+        if (result > 0) {
+            node.left = remove(node.left, nameKey, emailKey);
+        } else {
+            node.right = remove(node.right, nameKey, emailKey);
+        }
+        update(node);
+        return node;
+    }
+}
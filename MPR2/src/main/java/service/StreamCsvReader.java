@@ -0,0 +1,64 @@
+package service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+// Czytnik rekordów CSV ze strumienia wejściowego (np. zwykłego pliku lub strumienia dekompresji).
+// Dane czytane są do jednego bufora bajtów wielokrotnego użytku; niedokończony rekord z końca bufora
+// przesuwany jest na jego początek przed kolejnym odczytem, a bufor rośnie tylko wtedy,
+// gdy pojedynczy rekord jest od niego dłuższy.
+final class StreamCsvReader implements CsvRecordSource {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream in;
+    private final CsvTokenizer tokenizer;
+    private ByteBuffer buffer;
+    private boolean endOfStream;
+
+    StreamCsvReader(InputStream in, CsvTokenizer tokenizer) {
+        this.in = in;
+        this.tokenizer = tokenizer;
+        this.buffer = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+        this.buffer.flip();
+        tokenizer.reset(buffer, false);
+    }
+
+    @Override
+    public boolean nextRecord() throws IOException {
+        while (true) {
+            if (tokenizer.nextRecord()) {
+                return true;
+            }
+            if (endOfStream) {
+                return false;
+            }
+            fill();
+        }
+    }
+
+    @Override
+    public CsvTokenizer tokenizer() {
+        return tokenizer;
+    }
+
+    // Dosuwa nieprzetworzone bajty na początek bufora i dopełnia go danymi ze strumienia.
+    private void fill() throws IOException {
+        buffer.compact();
+        if (!buffer.hasRemaining()) {
+            ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+        }
+        int read = in.read(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        if (read < 0) {
+            endOfStream = true;
+        } else {
+            buffer.position(buffer.position() + read);
+        }
+        buffer.flip();
+        tokenizer.reset(buffer, endOfStream);
+    }
+}
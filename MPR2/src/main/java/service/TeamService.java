@@ -1,8 +1,18 @@
 package service;
 
 import model.Employee;
-import model.Position;
 import model.ProjectTeam;
+import model.RebalanceResult;
+import model.TeamComposition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 // Serwis operacyjny odpowiedzialny za zarządzanie strukturą zespołów projektowych.
 // Obsługuje procesy przydzielania pracowników (onboarding), transferów międzyzespołowych
@@ -12,81 +22,230 @@ public class TeamService {
     /**
      * Przypisuje pracownika do wskazanego zespołu projektowego.
      * Metoda przeprowadza walidację dostępności pracownika (czy nie posiada już przypisania)
-     * oraz pojemności zespołu docelowego (czy nie przekroczono limitu członków).
+     * oraz reguł zespołu docelowego (limit miejsc, limit stanowiska, budżet płacowy - patrz TeamRules).
+     * Operacja jest bezpieczna przy równoczesnych wywołaniach bez globalnej blokady: miejsce w zespole rezerwowane jest
+     * atomowo (ProjectTeam.tryAddMember), a następnie pracownik jest atomowo wiązany z zespołem (compare-and-set).
+     * Jeśli inny wątek zdążył w międzyczasie przypisać pracownika, zarezerwowane miejsce jest zwalniane.
      *
      * @param employee Pracownik, który ma zostać przypisany.
      * @param team Zespół docelowy.
-     * @throws IllegalStateException W przypadku, gdy pracownik jest już członkiem innego zespołu lub gdy zespół docelowy jest pełny.
+     * @throws IllegalStateException W przypadku, gdy pracownik jest już członkiem innego zespołu
+     * lub gdy reguły zespołu docelowego nie pozwalają go przyjąć (np. zespół jest pełny).
      */
     public void assignEmployeeToTeam(Employee employee, ProjectTeam team) {
         // Weryfikacja czy pracownik jest "wolnym zasobem".
-        if (employee.getCurrentTeam() != null) {
-            throw new IllegalStateException("Pracownik jest już w innym zespole ("
-                    + employee.getCurrentTeam().getTeamName() + ")");
+        ProjectTeam currentTeam = employee.getCurrentTeam();
+        if (currentTeam != null) {
+            throw alreadyInTeam(currentTeam);
         }
 
-        // Weryfikacja limitu miejsc w zespole (Capacity Check).
-        if (team.getMembers().size() >= team.getMaxTeamSize()) {
-            throw new IllegalStateException("Zespół jest już pełny (Max: "
-                    + team.getMaxTeamSize() + ")");
+        // Rezerwacja miejsca w zespole (Capacity Check) - sprawdzenie reguł i dodanie są jedną operacją atomową.
+        if (!team.tryAddMember(employee)) {
+            if (team.getMembers().contains(employee)) {
+                throw alreadyInTeam(team);
+            }
+            throw new IllegalStateException("Zespół " + admissionViolation(team, employee));
         }
 
-        forceAssign(employee, team);
+        // Powiązanie pracownika z zespołem; przegrany wyścig z innym przypisaniem zwalnia zarezerwowane miejsce.
+        if (!employee.compareAndSetCurrentTeam(null, team)) {
+            team.removeMember(employee);
+            throw alreadyInTeam(employee.getCurrentTeam());
+        }
     }
 
     /**
      * Realizuje procedurę transferu pracownika z obecnego zespołu do nowego.
-     * Operacja jest atomowa z punktu widzenia logiki biznesowej: najpierw sprawdza dostępność miejsca w nowym zespole,
-     * następnie usuwa powiązanie ze starym i tworzy nowe.
+     * Operacja jest atomowa z punktu widzenia logiki biznesowej: najpierw rezerwuje miejsce w nowym zespole,
+     * następnie atomowo przepina pracownika i dopiero wtedy zwalnia miejsce w starym zespole.
+     * Przez krótki czas pracownik jest więc liczony w obu zespołach, ale żaden zespół nie przekracza limitu miejsc.
+     * Transfer do zespołu, w którym pracownik już się znajduje, nie zmienia stanu.
      *
      * @param employee Pracownik podlegający transferowi.
      * @param newTeam Zespół docelowy.
-     * @throws IllegalStateException Jeśli nowy zespół nie posiada wolnych miejsc.
+     * @throws IllegalStateException Jeśli reguły nowego zespołu nie pozwalają przyjąć pracownika (np. brak wolnych miejsc)
+     * lub jeśli pracownik został w międzyczasie przeniesiony przez inny wątek.
      */
     public void transferEmployee(Employee employee, ProjectTeam newTeam) {
-        // Sprawdzenie pojemności przed wykonaniem jakichkolwiek zmian (Fail-fast).
-        if (newTeam.getMembers().size() >= newTeam.getMaxTeamSize()) {
-            throw new IllegalStateException("Nowy zespół jest już pełny (Max: "
-                    + newTeam.getMaxTeamSize() + ")");
+        ProjectTeam oldTeam = employee.getCurrentTeam();
+        if (oldTeam == newTeam) {
+            return;
+        }
+
+        // Rezerwacja miejsca przed wykonaniem jakichkolwiek innych zmian (Fail-fast).
+        if (!newTeam.tryAddMember(employee)) {
+            throw new IllegalStateException("Nowy zespół " + admissionViolation(newTeam, employee));
+        }
+
+        // Przepięcie pracownika - udaje się tylko, jeśli nikt w międzyczasie nie zmienił jego zespołu.
+        if (!employee.compareAndSetCurrentTeam(oldTeam, newTeam)) {
+            newTeam.removeMember(employee);
+            throw new IllegalStateException("Pracownik został w międzyczasie przeniesiony do innego zespołu");
+        }
+
+        // Zwolnienie miejsca w starym zespole.
+        if (oldTeam != null) {
+            oldTeam.removeMember(employee);
+        }
+    }
+
+    /**
+     * Zbiorcza reorganizacja zespołów: stosuje cały plan przypisań jako jedną operację - w całości albo wcale.
+     * W przeciwieństwie do serii wywołań transferEmployee plan jest walidowany względem docelowego składu zespołów,
+     * więc dopuszczalne są np. zamiany pracowników między dwoma pełnymi zespołami.
+     * <p>
+     * Przebieg: jedno przejście po planie zestawia odejścia i przyjścia każdego zmienianego zespołu, następnie
+     * docelowy skład każdego z nich sprawdzany jest względem reguł zespołu (TeamRules) - zespół opróżniony
+     * w całości nie musi spełniać minimów stanowisk. Zebrane zostają wszystkie naruszenia, nie tylko pierwsze.
+     * Koszt jest liniowy względem liczby przeniesień i rozmiaru zmienianych zespołów.
+     * <p>
+     * Poprawny plan stosowany jest przez atomową podmianę składu każdego zespołu (compare-and-set), a potem
+     * przepięcie pracowników. Jeśli któryś zespół lub pracownik został w tym czasie zmieniony przez inny wątek,
+     * wykonane już zmiany są wycofywane, a wynik opisuje konflikt.
+     *
+     * @param plan Docelowe przypisania: pracownik -> zespół docelowy (null oznacza opuszczenie obecnego zespołu).
+     *             Pracownicy, których zespół docelowy jest równy obecnemu, są pomijani.
+     * @return Wynik reorganizacji z liczbą przeniesionych pracowników lub listą naruszeń.
+     */
+    public RebalanceResult rebalance(Map<Employee, ProjectTeam> plan) {
+        // Faza 1: zestawienie zmian każdego zespołu (kolejność pierwszego wystąpienia zespołu w planie).
+        Map<ProjectTeam, TeamChange> changes = new LinkedHashMap<>();
+        List<Employee> moved = new ArrayList<>();
+        List<ProjectTeam> sourceTeams = new ArrayList<>();
+        for (Map.Entry<Employee, ProjectTeam> entry : plan.entrySet()) {
+            Employee employee = entry.getKey();
+            ProjectTeam from = employee.getCurrentTeam();
+            ProjectTeam to = entry.getValue();
+            if (from == to) {
+                continue;
+            }
+            if (from != null) {
+                changes.computeIfAbsent(from, TeamChange::new).departures.add(employee);
+            }
+            if (to != null) {
+                changes.computeIfAbsent(to, TeamChange::new).arrivals.add(employee);
+            }
+            moved.add(employee);
+            sourceTeams.add(from);
         }
 
-        // Jeśli pracownik posiada aktualne przypisanie, należy je najpierw rozwiązać.
-        if (employee.getCurrentTeam() != null) {
-            forceRemove(employee, employee.getCurrentTeam());
+        // Faza 2: walidacja docelowego składu wszystkich zmienianych zespołów.
+        List<String> violations = new ArrayList<>();
+        for (TeamChange change : changes.values()) {
+            change.validate(violations);
         }
+        if (!violations.isEmpty()) {
+            return new RebalanceResult(false, 0, violations);
+        }
+
+        // Faza 3: podmiana składu zespołów, a następnie przepięcie pracowników.
+        List<TeamChange> replaced = new ArrayList<>();
+        for (TeamChange change : changes.values()) {
+            if (!change.team.replaceMembers(change.before, change.after)) {
+                rollback(replaced);
+                return conflict("Zespół " + change.team.getTeamName() + " został zmieniony w trakcie reorganizacji");
+            }
+            replaced.add(change);
+        }
+        for (int i = 0; i < moved.size(); i++) {
+            Employee employee = moved.get(i);
+            if (!employee.compareAndSetCurrentTeam(sourceTeams.get(i), plan.get(employee))) {
+                for (int j = 0; j < i; j++) {
+                    moved.get(j).compareAndSetCurrentTeam(plan.get(moved.get(j)), sourceTeams.get(j));
+                }
+                rollback(replaced);
+                return conflict("Pracownik " + employee.getName() + " został przeniesiony w trakcie reorganizacji");
+            }
+        }
+        return new RebalanceResult(true, moved.size(), Collections.emptyList());
+    }
+
+    // Wycofuje podmienione składy zespołów. Jeśli skład zmienił się od podmiany, wycofywane są tylko zmiany planu:
+    // usuwane są przyjęte osoby, które nie należą już do zespołu, i przywracane odejścia, które nadal do niego należą.
+    private static void rollback(List<TeamChange> replaced) {
+        for (TeamChange change : replaced) {
+            while (true) {
+                List<Employee> current = change.team.getMembers();
+                if (current == change.after) {
+                    if (change.team.replaceMembers(current, change.before)) {
+                        break;
+                    }
+                    continue;
+                }
+                List<Employee> restored = new ArrayList<>(current);
+                restored.removeIf(member -> change.arrivals.contains(member) && member.getCurrentTeam() != change.team);
+                for (Employee departed : change.departures) {
+                    if (departed.getCurrentTeam() == change.team && !restored.contains(departed)) {
+                        restored.add(departed);
+                    }
+                }
+                if (change.team.replaceMembers(current, restored)) {
+                    break;
+                }
+            }
+        }
+    }
 
-        // Ustanowienie nowej relacji.
-        forceAssign(employee, newTeam);
+    private static RebalanceResult conflict(String message) {
+        return new RebalanceResult(false, 0, Collections.singletonList(message + " - plan nie został zastosowany"));
     }
 
-    // Metoda pomocnicza usuwająca dwukierunkową relację między pracownikiem a zespołem.
-    // Aktualizuje stan obiektu Team (usunięcie z listy) oraz Employee (ustawienie referencji na null).
-    private void forceRemove(Employee employee, ProjectTeam team) {
-        team.removeMember(employee);
-        employee.leaveCurrentTeam();
+    // Opis reguły, która nie pozwoliła przyjąć pracownika. Jeśli skład zmienił się od nieudanej próby
+    // (np. inny wątek zwolnił miejsce), zwracany jest opis limitu miejsc.
+    private static String admissionViolation(ProjectTeam team, Employee employee) {
+        String violation = team.getRules().admissionViolation(team.getComposition(), employee);
+        return violation != null ? violation : "jest już pełny (Max: " + team.getMaxTeamSize() + ")";
     }
 
-    // Metoda pomocnicza ustanawiająca dwukierunkową relację między pracownikiem a zespołem.
-    // Aktualizuje stan obiektu Employee (ustawienie referencji zespołu) oraz Team (dodanie do listy członków).
-    private void forceAssign(Employee employee, ProjectTeam team) {
-        employee.setCurrentTeam(team);
-        team.addMember(employee);
+    private static IllegalStateException alreadyInTeam(ProjectTeam team) {
+        return new IllegalStateException("Pracownik jest już w innym zespole ("
+                + (team == null ? "?" : team.getTeamName()) + ")");
     }
 
     /**
-     * Weryfikuje, czy zespół spełnia wymogi strukturalne (Compliance).
-     * W obecnej implementacji sprawdza, czy w składzie zespołu znajduje się przynajmniej jedna osoba
-     * na stanowisku kierowniczym (MANAGER).
+     * Weryfikuje, czy zespół spełnia wymogi strukturalne (Compliance) określone w jego regułach (TeamRules).
+     * Przy regułach domyślnych sprawdza, czy w składzie zespołu znajduje się przynajmniej jedna osoba
+     * na stanowisku kierowniczym (MANAGER). Sprawdzenie korzysta z liczników składu, więc ma koszt stały.
      *
      * @param team Zespół poddawany weryfikacji.
-     * @return true, jeśli zespół posiada Managera; false w przeciwnym razie.
+     * @return true, jeśli skład zespołu spełnia wszystkie reguły; false w przeciwnym razie.
      */
     public boolean isTeamDiversityCompliant(ProjectTeam team) {
-        for (Employee member : team.getMembers()) {
-            if (member.getPosition() == Position.MANAGER) {
-                return true;
+        return team.isCompliant();
+    }
+
+    // Zmiany składu jednego zespołu wynikające z planu reorganizacji.
+    private static final class TeamChange {
+        private final ProjectTeam team;
+        // Migawka składu sprzed reorganizacji - punkt odniesienia dla atomowej podmiany.
+        private final List<Employee> before;
+        private final Set<Employee> departures = new HashSet<>();
+        private final Set<Employee> arrivals = new LinkedHashSet<>();
+        // Docelowy skład (niemodyfikowalny) - po podmianie jest to dokładnie ta lista, którą zwraca team.getMembers().
+        private List<Employee> after;
+
+        TeamChange(ProjectTeam team) {
+            this.team = team;
+            this.before = team.getMembers();
+        }
+
+        // Wylicza docelowy skład zespołu i dopisuje naruszenia reguł do listy.
+        void validate(List<String> violations) {
+            List<Employee> members = new ArrayList<>(before.size() + arrivals.size());
+            for (Employee member : before) {
+                if (!departures.contains(member)) {
+                    members.add(member);
+                }
+            }
+            members.addAll(arrivals);
+            TeamComposition target = TeamComposition.of(members);
+            after = target.getMembers();
+            if (target.size() == 0) {
+                return;
+            }
+            for (String violation : team.getRules().violations(target)) {
+                violations.add("Zespół " + team.getTeamName() + " po reorganizacji: " + violation);
             }
         }
-        return false;
     }
 }
\ No newline at end of file
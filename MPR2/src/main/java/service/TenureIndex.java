@@ -0,0 +1,108 @@
+package service;
+
+import model.Employee;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Indeks pracowników według daty zatrudnienia, umożliwiający zapytania o staż jako zapytania zakresowe.
+// Kluczem jest data zatrudnienia w postaci liczby rrrrmmdd (patrz TenureService), więc np. "kto w danym miesiącu
+// kończy 10 lat pracy" to przegląd zakresu dat zatrudnienia z jednego miesiąca sprzed 10 lat, a nie całego rejestru.
+// Data zatrudnienia pracownika nie zmienia się, dlatego indeks aktualizowany jest tylko przy dodaniu i usunięciu
+// pracownika. Pracownicy bez daty zatrudnienia nie są indeksowani. Indeks nie jest bezpieczny wątkowo.
+public class TenureIndex {
+
+    private final NavigableMap<Integer, Set<Employee>> employeesByHireDate = new TreeMap<>();
+    private int size;
+
+    public TenureIndex() {
+    }
+
+    // Buduje indeks z kolekcji pracowników.
+    public TenureIndex(Collection<Employee> employees) {
+        for (Employee employee : employees) {
+            add(employee);
+        }
+    }
+
+    // Dodaje pracownika do indeksu. Zwraca false, jeśli pracownik nie ma daty zatrudnienia lub jest już w indeksie.
+    public boolean add(Employee employee) {
+        LocalDate hired = employee.getDateOfHire();
+        if (hired == null) {
+            return false;
+        }
+        boolean added = employeesByHireDate.computeIfAbsent(TenureService.packedDate(hired), d -> new LinkedHashSet<>())
+                .add(employee);
+        if (added) {
+            size++;
+        }
+        return added;
+    }
+
+    // Usuwa pracownika z indeksu. Zwraca false, jeśli pracownika nie było w indeksie.
+    public boolean remove(Employee employee) {
+        LocalDate hired = employee.getDateOfHire();
+        if (hired == null) {
+            return false;
+        }
+        int key = TenureService.packedDate(hired);
+        Set<Employee> sameDay = employeesByHireDate.get(key);
+        if (sameDay == null || !sameDay.remove(employee)) {
+            return false;
+        }
+        if (sameDay.isEmpty()) {
+            employeesByHireDate.remove(key);
+        }
+        size--;
+        return true;
+    }
+
+    // Liczba pracowników w indeksie.
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Zwraca pracowników zatrudnionych w podanym przedziale dat (obie granice włącznie), w kolejności dat zatrudnienia.
+     */
+    public List<Employee> findHiredBetween(LocalDate from, LocalDate to) {
+        return collect(employeesByHireDate.subMap(TenureService.packedDate(from), true, TenureService.packedDate(to), true));
+    }
+
+    /**
+     * Zwraca pracowników, którzy w podanym miesiącu obchodzą rocznicę zatrudnienia (np. 5, 10 lub 15 lat pracy).
+     *
+     * @param month Miesiąc rocznicy.
+     * @param years Liczba lat stażu osiągana w rocznicę.
+     * @return Pracownicy zatrudnieni w tym samym miesiącu {@code years} lat wcześniej, w kolejności dat zatrudnienia.
+     */
+    public List<Employee> findAnniversaries(YearMonth month, int years) {
+        int firstDay = (month.getYear() - years) * 10_000 + month.getMonthValue() * 100;
+        // Zakres obejmuje cały miesiąc zatrudnienia: od dnia "00" do dnia "99" (niezależnie od długości miesiąca).
+        return collect(employeesByHireDate.subMap(firstDay, true, firstDay + 99, true));
+    }
+
+    /**
+     * Zwraca pracowników ze stażem co najmniej {@code years} pełnych lat na dzień daty odniesienia.
+     * Warunek stażu jest równoważny dacie zatrudnienia nie późniejszej niż data odniesienia przesunięta o {@code years} lat.
+     */
+    public List<Employee> findWithTenureAtLeast(int years, LocalDate currentDate) {
+        return collect(employeesByHireDate.headMap(TenureService.packedDate(currentDate) - years * 10_000, true));
+    }
+
+    private static List<Employee> collect(Map<Integer, Set<Employee>> range) {
+        List<Employee> result = new ArrayList<>();
+        for (Set<Employee> sameDay : range.values()) {
+            result.addAll(sameDay);
+        }
+        return result;
+    }
+}
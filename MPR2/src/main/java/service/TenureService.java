@@ -2,34 +2,87 @@ package service;
 
 import model.Employee;
 import java.time.LocalDate;
-import java.time.Period;
+import java.util.List;
 
 // Serwis domeny HR odpowiedzialny za wyliczanie stażu pracy (seniority) pracowników.
 // Dostarcza funkcjonalności związane z analizą czasu trwania zatrudnienia w oparciu o daty.
+// Staż w pełnych latach wyliczany jest arytmetyką na datach zapisanych jako liczby rrrrmmdd (np. 20251117):
+// różnica dwóch takich liczb podzielona przez 10000 to dokładnie liczba pełnych lat kalendarzowych
+// (tak jak Period.between(...).getYears()), bez tworzenia obiektów pośrednich.
 public class TenureService {
 
     /**
      * Oblicza staż pracy pracownika w pełnych latach na dzień wskazanej daty odniesienia.
-     * Metoda wykorzystuje API java.time do precyzyjnych obliczeń kalendarzowych.
+     * Wynik jest zgodny z obliczeniami kalendarzowymi java.time (uwzględnia lata przestępne i różną długość miesięcy).
      *
      * @param employee Pracownik, którego staż jest obliczany.
      * @param currentDate Data odniesienia (np. dzień dzisiejszy lub data generowania raportu).
      * @return Liczba pełnych lat przepracowanych przez pracownika. Zwraca 0, jeśli data zatrudnienia jest późniejsza niż data odniesienia.
      */
     public long getTenureInYears(Employee employee, LocalDate currentDate) {
+        return tenureInYears(packedDate(employee.getDateOfHire()), packedDate(currentDate));
+    }
+
+    /**
+     * Zbiorczo oblicza staż pracy w pełnych latach dla listy pracowników (np. do raportów rocznic i starszeństwa).
+     * Data odniesienia przeliczana jest raz, a staż każdego pracownika to jedno odejmowanie i dzielenie.
+     *
+     * @param employees Pracownicy, których staż jest obliczany.
+     * @param currentDate Data odniesienia.
+     * @return Staż w pełnych latach, w kolejności listy; 0 dla pracowników bez daty zatrudnienia lub zatrudnionych po dacie odniesienia.
+     */
+    public int[] getTenureInYears(List<Employee> employees, LocalDate currentDate) {
+        int current = packedDate(currentDate);
+        int[] tenures = new int[employees.size()];
+        for (int i = 0; i < tenures.length; i++) {
+            LocalDate hired = employees.get(i).getDateOfHire();
+            tenures[i] = hired == null ? 0 : tenureInYears(packedDate(hired), current);
+        }
+        return tenures;
+    }
 
-        // Weryfikacja chronologii dat.
-        // Sytuacja, w której data zatrudnienia następuje po dacie odniesienia (np. planowane zatrudnienie w przyszłości),
-        // jest traktowana jako brak stażu (0 lat), co zapobiega błędom logicznym i wartościom ujemnym.
-        if (employee.getDateOfHire().isAfter(currentDate)) {
-            return 0;
+    /**
+     * Zbiorczo oblicza staż pracy dla wszystkich wierszy migawki rejestru, na podstawie kolumny dat zatrudnienia
+     * (dni od epoki). Dni od epoki zamieniane są na postać rrrrmmdd czystą arytmetyką, bez obiektów LocalDate.
+     *
+     * @param snapshot Kolumnowa migawka rejestru (EmployeeService.snapshot()).
+     * @param currentDate Data odniesienia.
+     * @return Staż w pełnych latach dla każdego wiersza migawki; 0 dla wierszy bez daty zatrudnienia.
+     */
+    public int[] getTenureInYears(EmployeeSnapshot snapshot, LocalDate currentDate) {
+        int current = packedDate(currentDate);
+        int[] tenures = new int[snapshot.size()];
+        for (int row = 0; row < tenures.length; row++) {
+            int hireEpochDay = snapshot.hireEpochDay(row);
+            tenures[row] = hireEpochDay == EmployeeSnapshot.NO_HIRE_DATE
+                    ? 0 : tenureInYears(packedDate(hireEpochDay), current);
         }
+        return tenures;
+    }
 
-        // Obliczenie okresu czasu (Period) między dwiema datami zgodnie z systemem kalendarzowym ISO-8601.
-        // Klasa Period uwzględnia lata przestępne oraz różną długość miesięcy.
-        Period period = Period.between(employee.getDateOfHire(), currentDate);
+    // Liczba pełnych lat między datami w postaci rrrrmmdd; 0 dla daty zatrudnienia późniejszej niż data odniesienia.
+    static int tenureInYears(int packedHireDate, int packedCurrentDate) {
+        return packedHireDate > packedCurrentDate ? 0 : (packedCurrentDate - packedHireDate) / 10_000;
+    }
+
+    // Data w postaci liczby rrrrmmdd, np. 2025-11-17 -> 20251117. Porządek liczb odpowiada porządkowi dat.
+    static int packedDate(LocalDate date) {
+        return date.getYear() * 10_000 + date.getMonthValue() * 100 + date.getDayOfMonth();
+    }
 
-        // Ekstrakcja i zwrócenie liczby pełnych lat z obliczonego okresu.
-        return period.getYears();
+    // Data w postaci rrrrmmdd dla podanej liczby dni od epoki (1970-01-01), w kalendarzu ISO (proleptycznym
+    // gregoriańskim). Zamiana na rok, miesiąc i dzień wykonywana jest w 400-letnich cyklach kalendarza, w których
+    // rok liczony jest od 1 marca - dzień przestępny wypada wtedy na koniec roku.
+    static int packedDate(int epochDay) {
+        long days = epochDay + 719_468L;                    // dni od 0000-03-01
+        long era = Math.floorDiv(days, 146_097L);           // numer 400-letniego cyklu
+        long dayOfEra = days - era * 146_097L;                                                   // [0, 146096]
+        long yearOfEra = (dayOfEra - dayOfEra / 1_460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;  // [0, 399]
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);         // [0, 365]
+        long monthFromMarch = (5 * dayOfYear + 2) / 153;                                          // [0, 11]
+        long day = dayOfYear - (153 * monthFromMarch + 2) / 5 + 1;
+        long month = monthFromMarch < 10 ? monthFromMarch + 3 : monthFromMarch - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return (int) (year * 10_000 + month * 100 + day);
     }
-}
\ No newline at end of file
+}
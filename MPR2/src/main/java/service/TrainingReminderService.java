@@ -2,9 +2,20 @@ package service;
 
 import interfaces.CertificateRepository;
 import interfaces.EmailService;
+import model.DispatchReport;
 import model.Email;
 import model.Employee;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class TrainingReminderService {
     private final CertificateRepository certificateRepository;
     private final EmailService emailService;
@@ -18,11 +29,98 @@ public class TrainingReminderService {
         var employees = certificateRepository.findEmployeesWithExpiringCertificates(30);
 
         for (Employee emp : employees) {
-            String topic = "Przypomnienie o szkoleniu";
-            String content = "Witaj " + emp.getName() + ", Twoje certyfikaty wygasają niedługo.";
-
             // Wysyłamy obiekt Email (który przechwycimy Captorem)
-            emailService.send(new Email(emp.getEmail(), topic, content));
+            emailService.send(reminderFor(emp));
+        }
+    }
+
+    /**
+     * Wysyła przypomnienia równolegle: każda wiadomość wysyłana jest w osobnym wątku wirtualnym (JDK 21+;
+     * na starszych JVM w wątku z puli wątków platformowych), a liczba równoczesnych wysyłek ograniczona jest semaforem,
+     * aby nie przeciążyć serwera pocztowego. Nieudana wysyłka (wyjątek z EmailService.send) jest ponawiana
+     * z wykładniczo rosnącym odstępem: initialBackoff, 2 * initialBackoff, 4 * initialBackoff...
+     * Metoda kończy działanie po zakończeniu wszystkich wysyłek.
+     *
+     * @param maxConcurrentSends Maksymalna liczba równoczesnych wysyłek.
+     * @param maxAttempts Maksymalna liczba prób wysyłki jednej wiadomości (co najmniej 1).
+     * @param initialBackoff Odstęp przed pierwszym ponowieniem.
+     * @return Raport z liczbą wysłanych i niewysłanych wiadomości oraz liczbą ponowień.
+     * @throws IllegalArgumentException Jeśli limit równoczesnych wysyłek lub liczba prób nie są dodatnie.
+     */
+    public DispatchReport sendRemindersInParallel(int maxConcurrentSends, int maxAttempts, Duration initialBackoff) {
+        if (maxConcurrentSends <= 0 || maxAttempts <= 0) {
+            throw new IllegalArgumentException("Limit równoczesnych wysyłek i liczba prób muszą być dodatnie");
+        }
+        var employees = certificateRepository.findEmployeesWithExpiringCertificates(30);
+
+        AtomicInteger sent = new AtomicInteger();
+        AtomicInteger retries = new AtomicInteger();
+        Queue<String> failedRecipients = new ConcurrentLinkedQueue<>();
+        Semaphore permits = new Semaphore(maxConcurrentSends);
+        ExecutorService executor = newDispatchExecutor();
+        try {
+            for (Employee emp : employees) {
+                Email email = reminderFor(emp);
+                // Pozwolenie pobierane jest przed utworzeniem zadania - w toku jest najwyżej maxConcurrentSends wysyłek,
+                // więc także pula wątków platformowych nie rośnie ponad ten limit.
+                permits.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        if (sendWithRetry(email, maxAttempts, initialBackoff, retries)) {
+                            sent.incrementAndGet();
+                        } else {
+                            failedRecipients.add(email.recipient());
+                        }
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+            // Odzyskanie wszystkich pozwoleń oznacza zakończenie wszystkich wysyłek.
+            permits.acquireUninterruptibly(maxConcurrentSends);
+        } finally {
+            executor.shutdown();
+        }
+        List<String> failed = new ArrayList<>(failedRecipients);
+        return new DispatchReport(sent.get(), failed.size(), retries.get(), failed);
+    }
+
+    // Wysyła wiadomość, ponawiając nieudane próby. Zwraca false, jeśli żadna z prób się nie powiodła.
+    private boolean sendWithRetry(Email email, int maxAttempts, Duration initialBackoff, AtomicInteger retries) {
+        long backoffMillis = initialBackoff.toMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                emailService.send(email);
+                return true;
+            } catch (RuntimeException e) {
+                if (attempt == maxAttempts) {
+                    return false;
+                }
+            }
+            try {
+                Thread.sleep(backoffMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            backoffMillis *= 2;
+            retries.incrementAndGet();
+        }
+    }
+
+    private static Email reminderFor(Employee emp) {
+        String topic = "Przypomnienie o szkoleniu";
+        String content = "Witaj " + emp.getName() + ", Twoje certyfikaty wygasają niedługo.";
+        return new Email(emp.getEmail(), topic, content);
+    }
+
+    // Wątki wirtualne (Executors.newVirtualThreadPerTaskExecutor) dostępne są od JDK 21, a projekt kompilowany jest
+    // także na JDK 17 - metoda wyszukiwana jest refleksyjnie, z pulą wątków platformowych jako rozwiązaniem zastępczym.
+    static ExecutorService newDispatchExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,300 @@
+package service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import exception.ApiException;
+import model.Employee;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Testy serwisu API uruchamiane na lokalnym serwerze HTTP (com.sun.net.httpserver),
+// który udaje stronicowane API użytkowników (parametry _page i _limit).
+class ApiServiceTest {
+
+    private static final int TOTAL_USERS = 1234;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private ApiService apiService;
+
+    // Liczniki obserwowane przez testy: żądania w toku, maksymalna współbieżność i odpowiedzi 503.
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+
+    // Aktualna wersja zasobu /versioned (ETag) oraz liczba pełnych odpowiedzi 200 wysłanych przez serwer.
+    private volatile String currentVersion = "v1";
+    private final AtomicInteger fullResponses = new AtomicInteger();
+
+    @TempDir
+    Path cacheDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverExecutor = Executors.newFixedThreadPool(16);
+        server.setExecutor(serverExecutor);
+        server.createContext("/users", this::handleUsers);
+        server.createContext("/broken", exchange -> respond(exchange, "[{\"name\":\"A\",,}]"));
+        server.createContext("/nested", exchange -> respond(exchange, "[{\"id\":1,"
+                + "\"address\":{\"geo\":{\"lat\":\"54.35\",\"lng\":\"18.64\"}},"
+                + "\"tags\":[1,[2,{\"name\":\"pominięte\"}]],"
+                + "\"company\":{\"catchPhrase\":\"x\",\"name\":\"Firma\",\"bs\":{\"name\":\"pominięte\"}},"
+                + "\"name\":\"Łucja Żak\",\"email\":\"lucja@test.pl\"}]"));
+        server.createContext("/versioned", this::handleVersioned);
+        server.start();
+
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/users";
+        apiService = new ApiService(HttpClient.newHttpClient(), baseUrl);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    // Zwraca stronę użytkowników; strona 3 odpowiada błędem 503, dopóki licznik failuresLeft jest dodatni.
+    // Żądanie bez parametrów stronicowania zwraca trzech pierwszych użytkowników.
+    private void handleUsers(HttpExchange exchange) throws IOException {
+        int now = active.incrementAndGet();
+        maxActive.accumulateAndGet(now, Math::max);
+        try {
+            int page = 0;
+            int limit = 3;
+            String query = exchange.getRequestURI().getQuery();
+            if (query != null) {
+                for (String parameter : query.split("&")) {
+                    String[] keyValue = parameter.split("=");
+                    if (keyValue[0].equals("_page")) {
+                        page = Integer.parseInt(keyValue[1]);
+                    } else if (keyValue[0].equals("_limit")) {
+                        limit = Integer.parseInt(keyValue[1]);
+                    }
+                }
+            }
+
+            if (page == 3 && failuresLeft.getAndDecrement() > 0) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+
+            int from = page == 0 ? 0 : (page - 1) * limit;
+            int to = Math.min(TOTAL_USERS, from + limit);
+            StringBuilder json = new StringBuilder("[");
+            for (int i = from; i < to; i++) {
+                if (i > from) {
+                    json.append(',');
+                }
+                json.append("{\"id\":").append(i)
+                        .append(",\"name\":\"User ").append(i)
+                        .append("\",\"email\":\"user").append(i).append("@test.pl\"")
+                        .append(",\"address\":{\"city\":\"Gdańsk\"}")
+                        .append(",\"company\":{\"name\":\"Firma").append(i % 5).append("\",\"bs\":\"x\"}}");
+            }
+            byte[] body = json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        } finally {
+            active.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    // Zasób z walidatorem ETag: odpowiada 304, jeśli klient posiada aktualną wersję.
+    private void handleVersioned(HttpExchange exchange) throws IOException {
+        String etag = "\"" + currentVersion + "\"";
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        fullResponses.incrementAndGet();
+        exchange.getResponseHeaders().add("ETag", etag);
+        respond(exchange, "[{\"name\":\"Wersja " + currentVersion + "\",\"email\":\"a@test.pl\","
+                + "\"company\":{\"name\":\"Firma\"}}]");
+    }
+
+    private void respond(HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    private ApiService serviceFor(String path) {
+        return new ApiService(HttpClient.newHttpClient(), "http://127.0.0.1:" + server.getAddress().getPort() + path);
+    }
+
+    @Test
+    @DisplayName("Powinien pobrać pracowników synchronicznie z podanego adresu bazowego")
+    void shouldFetchEmployeesFromConfiguredBaseUrl() throws ApiException {
+        // Act
+        List<Employee> employees = apiService.fetchEmployeesFromApi();
+
+        // Assert
+        assertThat(employees).extracting(Employee::getEmail)
+                .containsExactly("user0@test.pl", "user1@test.pl", "user2@test.pl");
+        assertThat(employees.get(1).getCompanyName()).isEqualTo("Firma1");
+    }
+
+    @Test
+    @DisplayName("Parser strumieniowy powinien odczytać tylko potrzebne pola i pominąć pozostałe poddrzewa")
+    void shouldStreamOnlyRequiredFields() throws ApiException {
+        // Arrange
+        List<Employee> received = new ArrayList<>();
+
+        // Act
+        int count = serviceFor("/nested").fetchEmployeesFromApi(received::add);
+
+        // Assert
+        assertThat(count).isEqualTo(1);
+        assertThat(received).singleElement().satisfies(employee -> {
+            assertThat(employee.getName()).isEqualTo("Łucja Żak");
+            assertThat(employee.getEmail()).isEqualTo("lucja@test.pl");
+            assertThat(employee.getCompanyName()).isEqualTo("Firma");
+        });
+    }
+
+    @Test
+    @DisplayName("Powinien zgłosić błąd parsowania dla niepoprawnego JSON-a")
+    void shouldReportMalformedJson() {
+        assertThatThrownBy(() -> serviceFor("/broken").fetchEmployeesFromApi())
+                .isInstanceOf(ApiException.class)
+                .hasMessageContaining("Błąd parsowania odpowiedzi JSON");
+    }
+
+    @Test
+    @DisplayName("Wyjątek konsumenta nie powinien być zgłaszany jako błąd parsowania JSON")
+    void shouldPropagateConsumerExceptionUnchanged() {
+        // Arrange - konsument odrzuca drugiego pracownika wyjątkiem logiki biznesowej
+        IllegalStateException rejection = new IllegalStateException("Pracownik już istnieje");
+        List<Employee> accepted = new ArrayList<>();
+
+        // Act + Assert
+        assertThatThrownBy(() -> apiService.fetchEmployeesFromApi(employee -> {
+            if (!accepted.isEmpty()) {
+                throw rejection;
+            }
+            accepted.add(employee);
+        })).isSameAs(rejection);
+        assertThat(accepted).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Powinien pobrać wszystkie strony asynchronicznie, w kolejności i z ograniczoną liczbą żądań w toku")
+    void shouldFetchAllPagesInOrderWithBoundedWindow() throws Exception {
+        // Arrange
+        failuresLeft.set(2);
+        List<Employee> received = new ArrayList<>();
+
+        // Act
+        int count = apiService.fetchEmployeesAsync(50, 4, received::add).get(10, TimeUnit.SECONDS);
+
+        // Assert
+        assertThat(count).isEqualTo(TOTAL_USERS);
+        assertThat(received).hasSize(TOTAL_USERS);
+        for (int i = 0; i < TOTAL_USERS; i++) {
+            assertThat(received.get(i).getEmail()).isEqualTo("user" + i + "@test.pl");
+        }
+        assertThat(maxActive.get())
+                .as("Liczba jednoczesnych żądań nie może przekroczyć okna")
+                .isLessThanOrEqualTo(4);
+        assertThat(failuresLeft.get())
+                .as("Odpowiedzi 503 powinny zostać ponowione")
+                .isNegative();
+    }
+
+    @Test
+    @DisplayName("Powinien zakończyć pobieranie wyjątkiem ApiException po wyczerpaniu ponowień")
+    void shouldFailAfterRetriesAreExhausted() {
+        // Arrange
+        failuresLeft.set(Integer.MAX_VALUE);
+
+        // Act & Assert
+        assertThatThrownBy(() -> apiService.fetchEmployeesAsync(50, 2, employee -> { }).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(ApiException.class)
+                .hasMessageContaining("503");
+    }
+
+    @Test
+    @DisplayName("Powinien zwrócić listę wszystkich pracowników z wariantu z domyślnymi ustawieniami")
+    void shouldCollectAllEmployeesAsync() {
+        // Act
+        List<Employee> employees = apiService.fetchAllEmployeesAsync().join();
+
+        // Assert
+        assertThat(employees).hasSize(TOTAL_USERS);
+        assertThat(employees.get(TOTAL_USERS - 1).getEmail()).isEqualTo("user" + (TOTAL_USERS - 1) + "@test.pl");
+    }
+
+    @Test
+    @DisplayName("Powinien odrzucić niedodatni rozmiar strony")
+    void shouldRejectInvalidPageSize() {
+        assertThatThrownBy(() -> apiService.fetchEmployeesAsync(0, 4, employee -> { }))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Powinien obsłużyć niezmienioną odpowiedź z pamięci podręcznej (304) i liczyć trafienia")
+    void shouldServeNotModifiedResponseFromCache() throws Exception {
+        // Arrange
+        ApiResponseCache cache = new ApiResponseCache(cacheDir);
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/versioned";
+        ApiService cachedService = new ApiService(HttpClient.newHttpClient(), url, cache);
+
+        // Act
+        List<Employee> first = cachedService.fetchEmployeesFromApi();
+        List<Employee> second = cachedService.fetchEmployeesFromApi();
+
+        // Assert
+        assertThat(fullResponses.get()).isEqualTo(1);
+        assertThat(second).extracting(Employee::getName).containsExactly("Wersja v1");
+        assertThat(second.get(0)).as("Wywołujący dostaje własną kopię pracownika").isNotSameAs(first.get(0));
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getBytesSaved()).isPositive();
+
+        // Zmiana zasobu po stronie serwera - pełna odpowiedź zastępuje wpis.
+        currentVersion = "v2";
+        assertThat(cachedService.fetchEmployeesFromApi()).extracting(Employee::getName).containsExactly("Wersja v2");
+        assertThat(fullResponses.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Pamięć podręczna powinna przetrwać restart - treść odczytana z dysku po odpowiedzi 304")
+    void shouldReuseCacheFromDiskAfterRestart() throws Exception {
+        // Arrange
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/versioned";
+        new ApiService(HttpClient.newHttpClient(), url, new ApiResponseCache(cacheDir)).fetchEmployeesFromApi();
+        ApiResponseCache restartedCache = new ApiResponseCache(cacheDir);
+
+        // Act
+        List<Employee> employees = new ApiService(HttpClient.newHttpClient(), url, restartedCache).fetchEmployeesFromApi();
+
+        // Assert
+        assertThat(employees).extracting(Employee::getEmail).containsExactly("a@test.pl");
+        assertThat(fullResponses.get()).isEqualTo(1);
+        assertThat(restartedCache.getHitCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,273 @@
+package service;
+
+import model.Employee;
+import model.Position;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Import statyczny dla biblioteki AssertJ
+import static org.assertj.core.api.Assertions.*;
+
+// Testy obciążeniowe (stress tests) wariantu współbieżnego EmployeeService.
+// Wątki startują jednocześnie (wspólna bramka startowa), aby zmaksymalizować rywalizację o te same adresy email.
+// Po zakończeniu wszystkich wątków stan rejestru porównywany jest z wynikiem wynikającym z historii udanych operacji.
+class ConcurrentEmployeeServiceTest {
+
+    private static final int THREADS = 8;
+
+    private ConcurrentEmployeeService service;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        service = new ConcurrentEmployeeService();
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Równoczesne dodawanie tego samego adresu email powinno powieść się dokładnie raz")
+    void shouldAcceptEachEmailExactlyOnceUnderContention() throws Exception {
+        // Arrange - każdy wątek próbuje dodać wszystkich pracowników, z adresem w innej wielkości liter
+        int employees = 2_000;
+        AtomicIntegerArray successes = new AtomicIntegerArray(employees);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            boolean upperCase = t % 2 == 1;
+            tasks.add(() -> {
+                for (int i = 0; i < employees; i++) {
+                    String email = upperCase ? ("P" + i + "@FIRMA.PL") : (" p" + i + "@firma.pl ");
+                    if (service.addEmployee(newEmployee(i, email))) {
+                        successes.incrementAndGet(i);
+                    }
+                }
+                return null;
+            });
+        }
+
+        // Act
+        runConcurrently(tasks);
+
+        // Assert
+        for (int i = 0; i < employees; i++) {
+            assertThat(successes.get(i)).as("Liczba udanych dodań adresu p%d", i).isEqualTo(1);
+            assertThat(service.findByEmail("p" + i + "@firma.pl")).isNotNull();
+        }
+        assertThat(service.size()).isEqualTo(employees);
+        assertIndexesConsistent();
+    }
+
+    @Test
+    @DisplayName("Historia udanych dodań i usunięć powinna być zgodna z końcowym stanem rejestru")
+    void shouldKeepAddRemoveHistoryConsistent() throws Exception {
+        // Arrange - niewielka pula adresów, o które rywalizują wszystkie wątki
+        int emails = 64;
+        int operationsPerThread = 20_000;
+        AtomicIntegerArray added = new AtomicIntegerArray(emails);
+        AtomicIntegerArray removed = new AtomicIntegerArray(emails);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            tasks.add(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int n = 0; n < operationsPerThread; n++) {
+                    int i = random.nextInt(emails);
+                    if (random.nextBoolean()) {
+                        if (service.addEmployee(newEmployee(i, "p" + i + "@firma.pl"))) {
+                            added.incrementAndGet(i);
+                        }
+                    } else if (service.removeEmployee("p" + i + "@firma.pl") != null) {
+                        removed.incrementAndGet(i);
+                    }
+                }
+                return null;
+            });
+        }
+
+        // Act
+        runConcurrently(tasks);
+
+        // Assert - dla każdego adresu udane dodania i usunięcia muszą się przeplatać
+        int present = 0;
+        for (int i = 0; i < emails; i++) {
+            int balance = added.get(i) - removed.get(i);
+            boolean exists = service.findByEmail("p" + i + "@firma.pl") != null;
+            assertThat(balance).as("Bilans operacji dla adresu p%d", i).isEqualTo(exists ? 1 : 0);
+            present += balance;
+        }
+        assertThat(service.size()).isEqualTo(present);
+        assertIndexesConsistent();
+    }
+
+    @Test
+    @DisplayName("Czytelnicy powinni widzieć spójny stan podczas dodawania pracowników i zmian pensji")
+    void shouldServeConsistentReadsDuringConcurrentWrites() throws Exception {
+        // Arrange
+        int writers = THREADS / 2;
+        int employeesPerWriter = 3_000;
+        CountDownLatch writersDone = new CountDownLatch(writers);
+        PromotionService promotionService = new PromotionService();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            int offset = w * employeesPerWriter;
+            tasks.add(() -> {
+                try {
+                    for (int i = offset; i < offset + employeesPerWriter; i++) {
+                        Employee employee = newEmployee(i, "p" + i + "@firma.pl");
+                        service.addEmployee(employee);
+                        promotionService.giveRaise(employee, 5.0);
+                    }
+                } finally {
+                    writersDone.countDown();
+                }
+                return null;
+            });
+        }
+        for (int r = writers; r < THREADS; r++) {
+            tasks.add(() -> {
+                Collator collator = SortedEmployeeIndex.newCollator();
+                while (writersDone.getCount() > 0) {
+                    // Każdy odczyt musi pochodzić z jednego, spójnego stanu rejestru
+                    List<Employee> sorted = service.sortByName();
+                    for (int i = 1; i < sorted.size(); i++) {
+                        assertThat(collator.compare(sorted.get(i - 1).getName(), sorted.get(i).getName()))
+                                .isLessThanOrEqualTo(0);
+                    }
+                    assertThat(new HashSet<>(sorted)).hasSameSizeAs(sorted);
+                    Map<Position, Integer> counts = service.countByPosition();
+                    assertThat(counts.values().stream().mapToInt(Integer::intValue).sum())
+                            .isLessThanOrEqualTo(writers * employeesPerWriter);
+                    service.getCompanyStatistics();
+                }
+                return null;
+            });
+        }
+
+        // Act
+        runConcurrently(tasks);
+
+        // Assert
+        assertThat(service.size()).isEqualTo(writers * employeesPerWriter);
+        assertIndexesConsistent();
+    }
+
+    @Test
+    @DisplayName("Podwyżki i awanse równoległe z usuwaniem pracowników nie powinny przywracać ich do indeksów")
+    void shouldKeepIndexesConsistentDuringConcurrentRaisesAndRemovals() throws Exception {
+        // Arrange - w każdej rundzie dwa wątki zmieniają pensje i stanowiska tych samych pracowników,
+        // a pozostałe usuwają ich i ponownie dodają, więc zdarzenia zmian docierają także po usunięciu.
+        int rounds = 20;
+        int employees = 200;
+        for (int round = 0; round < rounds; round++) {
+            List<Employee> registered = new ArrayList<>();
+            for (int i = 0; i < employees; i++) {
+                registered.add(newEmployee(i, "pracownik" + i + "@test.pl"));
+            }
+            registered.forEach(service::addEmployee);
+
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                boolean raiser = t < 2;
+                tasks.add(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (Employee employee : registered) {
+                        if (raiser) {
+                            employee.setSalary(5_000 + random.nextInt(100_000));
+                            employee.setPosition(random.nextBoolean() ? Position.MANAGER : Position.PROGRAMISTA);
+                        } else if (random.nextInt(4) == 0) {
+                            service.removeEmployee(employee.getEmail());
+                        } else if (random.nextInt(3) == 0) {
+                            service.addEmployee(employee);
+                        }
+                    }
+                    return null;
+                });
+            }
+
+            // Act
+            runConcurrently(tasks);
+
+            // Assert
+            assertIndexesConsistent();
+            Employee highest = service.findHighestSalary();
+            if (highest != null) {
+                assertThat(service.findByEmail(highest.getEmail())).isSameAs(highest);
+            }
+            // Jednakowa pensja wszystkich zarejestrowanych: pozostałość w innej grupie indeksu pensji
+            // (po usuniętym pracowniku lub po zdublowanej zmianie) wskazałaby innego najlepiej zarabiającego.
+            List<Employee> remaining = service.sortByName();
+            remaining.forEach(employee -> employee.setSalary(1.0));
+            if (!remaining.isEmpty()) {
+                assertThat(service.findHighestSalary().getSalary()).isEqualTo(1.0);
+                assertThat(service.averageSalary()).isCloseTo(1.0, within(0.001));
+            }
+            remaining.forEach(employee -> service.removeEmployee(employee.getEmail()));
+            assertThat(service.findHighestSalary()).isNull();
+        }
+    }
+
+    // Uruchamia zadania jednocześnie i przekazuje pierwszy błąd (w tym nieudane asercje) do wątku testu.
+    private void runConcurrently(List<Callable<Void>> tasks) throws Exception {
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<>();
+        for (Callable<Void> task : tasks) {
+            futures.add(executor.submit(() -> {
+                startGate.await();
+                return task.call();
+            }));
+        }
+        startGate.countDown();
+        for (Future<Void> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+    }
+
+    // Sprawdza, czy wszystkie indeksy rejestru opisują ten sam zbiór pracowników.
+    private void assertIndexesConsistent() {
+        List<Employee> all = service.sortByName();
+        assertThat(all).hasSize(service.size());
+        assertThat(service.snapshot().size()).isEqualTo(all.size());
+
+        Map<Position, Integer> counts = service.countByPosition();
+        assertThat(counts.values().stream().mapToInt(Integer::intValue).sum()).isEqualTo(all.size());
+
+        Set<Employee> byCompany = new HashSet<>(service.findByCompany("TechCorp"));
+        byCompany.addAll(service.findByCompany("DevHouse"));
+        assertThat(byCompany).containsExactlyInAnyOrderElementsOf(all);
+
+        double total = all.stream().mapToDouble(Employee::getSalary).sum();
+        double highest = all.stream().mapToDouble(Employee::getSalary).max().orElse(0.0);
+        assertThat(service.averageSalary()).isCloseTo(all.isEmpty() ? 0.0 : total / all.size(), within(0.01));
+        if (!all.isEmpty()) {
+            assertThat(service.findHighestSalary().getSalary()).isEqualTo(highest);
+        }
+    }
+
+    private static Employee newEmployee(int i, String email) {
+        String company = i % 2 == 0 ? "TechCorp" : "DevHouse";
+        Position position = i % 5 == 0 ? Position.MANAGER : Position.PROGRAMISTA;
+        return new Employee("Pracownik " + String.format(Locale.ROOT, "%05d", i), email, company, position,
+                position.getBaseSalary() + (i % 100) * 10);
+    }
+}
@@ -0,0 +1,188 @@
+package service;
+
+import interfaces.EmailService;
+import model.Email;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Import statyczny dla biblioteki AssertJ
+import static org.assertj.core.api.Assertions.*;
+
+// Klasa testowa weryfikująca skrzynkę nadawczą (EmailOutbox): składanie paczek według rozmiaru i okna czasowego,
+// deduplikację wiadomości oraz wysyłkę oczekujących wiadomości przy zamknięciu.
+class EmailOutboxTest {
+
+    // Sztuczny serwis pocztowy zapamiętujący otrzymane paczki.
+    private final BlockingQueue<List<Email>> batches = new LinkedBlockingQueue<>();
+    private final EmailService recordingEmailService = new EmailService() {
+        @Override
+        public void send(Email email) {
+            batches.add(List.of(email));
+        }
+
+        @Override
+        public void sendBatch(List<Email> emails) {
+            batches.add(emails);
+        }
+    };
+
+    @Test
+    @DisplayName("Wiadomości powinny być grupowane w paczki o maksymalnym rozmiarze, a reszta wysłana przy zamknięciu")
+    void outbox_ShouldGroupEmailsIntoBatchesBySize() {
+        // Arrange - okno czasowe na tyle długie, że o wysyłce decyduje rozmiar paczki
+        EmailOutbox outbox = new EmailOutbox(recordingEmailService, 100, 3, Duration.ofMinutes(1));
+
+        // Act
+        for (int i = 0; i < 7; i++) {
+            outbox.submit(email("emp" + i + "@corp.com", "Przypomnienie o szkoleniu"));
+        }
+        outbox.close();
+
+        // Assert
+        List<List<Email>> sent = new ArrayList<>(batches);
+        assertThat(sent).extracting(List::size).containsExactly(3, 3, 1);
+        assertThat(sent.get(0)).extracting(Email::recipient)
+                .containsExactly("emp0@corp.com", "emp1@corp.com", "emp2@corp.com");
+        assertThat(outbox.getBatchCount()).isEqualTo(3);
+        assertThat(outbox.getSentCount()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Niepełna paczka powinna zostać wysłana po upływie okna czasowego")
+    void outbox_ShouldFlushPartialBatchAfterTimeWindow() throws InterruptedException {
+        // Arrange
+        EmailOutbox outbox = new EmailOutbox(recordingEmailService, 100, 50, Duration.ofMillis(50));
+
+        // Act
+        outbox.submit(email("anna@corp.com", "Przypomnienie o szkoleniu"));
+        outbox.submit(email("piotr@corp.com", "Przypomnienie o szkoleniu"));
+        List<Email> batch = batches.poll(5, TimeUnit.SECONDS);
+
+        // Assert - paczka dotarła przed zamknięciem skrzynki
+        assertThat(batch).extracting(Email::recipient).containsExactly("anna@corp.com", "piotr@corp.com");
+        outbox.close();
+        assertThat(batches).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Wiadomość o tym samym adresacie i temacie co oczekująca powinna zostać pominięta")
+    void outbox_ShouldDeduplicatePendingEmails() {
+        // Arrange
+        EmailOutbox outbox = new EmailOutbox(recordingEmailService, 100, 10, Duration.ofMinutes(1));
+
+        // Act
+        boolean first = outbox.submit(new Email("anna@corp.com", "Awans", "Treść 1"));
+        boolean duplicate = outbox.submit(new Email("anna@corp.com", "Awans", "Treść 2"));
+        boolean otherSubject = outbox.submit(new Email("anna@corp.com", "Szkolenie", "Treść 3"));
+        outbox.close();
+
+        // Assert
+        assertThat(first).isTrue();
+        assertThat(duplicate).isFalse();
+        assertThat(otherSubject).isTrue();
+        assertThat(outbox.getDuplicateCount()).isEqualTo(1);
+        assertThat(batches.poll()).extracting(Email::body).containsExactly("Treść 1", "Treść 3");
+    }
+
+    @Test
+    @DisplayName("Błąd wysyłki paczki nie powinien zatrzymać skrzynki, a zamknięta skrzynka nie przyjmuje wiadomości")
+    void outbox_ShouldCountFailedBatchesAndRejectEmailsAfterClose() {
+        // Arrange - serwis, którego wysyłka zbiorcza zawsze kończy się błędem, korzysta z domyślnej implementacji sendBatch
+        EmailService failingEmailService = email -> {
+            throw new IllegalStateException("Serwer pocztowy niedostępny");
+        };
+        EmailOutbox outbox = new EmailOutbox(failingEmailService, 100, 2, Duration.ofMinutes(1));
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            outbox.submit(email("emp" + i + "@corp.com", "Przypomnienie o szkoleniu"));
+        }
+        outbox.close();
+
+        // Assert
+        assertThat(outbox.getFailedCount()).isEqualTo(4);
+        assertThat(outbox.getBatchCount()).isEqualTo(2);
+        assertThatThrownBy(() -> outbox.submit(email("anna@corp.com", "Awans")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("zamknięta");
+    }
+
+    @Test
+    @DisplayName("Nadawca czekający na miejsce w pełnej kolejce nie powinien blokować innych nadawców")
+    void outbox_ShouldNotHoldLockWhileWaitingForQueueSpace() throws InterruptedException {
+        // Arrange - pierwsza paczka zatrzymuje wątek wysyłający, a kolejka mieści tylko jedną wiadomość
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        EmailService blockingEmailService = email -> {
+            firstBatchStarted.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        EmailOutbox outbox = new EmailOutbox(blockingEmailService, 1, 1, Duration.ZERO);
+        outbox.submit(email("anna@corp.com", "Awans"));
+        assertThat(firstBatchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        outbox.submit(email("piotr@corp.com", "Awans"));
+
+        // Act - trzeci nadawca czeka na miejsce w pełnej kolejce
+        Thread waitingSender = new Thread(() -> outbox.submit(email("ewa@corp.com", "Awans")));
+        waitingSender.start();
+        while (waitingSender.getState() == Thread.State.NEW || waitingSender.getState() == Thread.State.RUNNABLE) {
+            Thread.onSpinWait();
+        }
+        boolean duplicate = outbox.submit(email("piotr@corp.com", "Awans"));
+
+        // Assert - duplikat został odrzucony bez czekania na zwolnienie kolejki
+        assertThat(duplicate).isFalse();
+        assertThat(waitingSender.isAlive()).isTrue();
+        release.countDown();
+        waitingSender.join(5000);
+        outbox.close();
+        assertThat(outbox.getSentCount()).isEqualTo(3);
+        assertThat(outbox.getDuplicateCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Po awarii wątku wysyłającego (Error) submit i close nie powinny blokować się w nieskończoność")
+    void outbox_ShouldFailFastWhenDispatcherDies() {
+        // Arrange - wysyłka kończy się błędem (Error), który zatrzymuje wątek wysyłający
+        EmailService crashingEmailService = email -> {
+            throw new OutOfMemoryError("Symulowany brak pamięci");
+        };
+        EmailOutbox outbox = new EmailOutbox(crashingEmailService, 1, 1, Duration.ZERO);
+        AtomicInteger accepted = new AtomicInteger();
+
+        // Act + Assert - przy pojemności kolejki 1 kolejne wiadomości czekałyby na miejsce bez końca
+        assertThatThrownBy(() -> {
+            for (int i = 0; i < 10; i++) {
+                outbox.submit(email("emp" + i + "@corp.com", "Przypomnienie o szkoleniu"));
+                accepted.incrementAndGet();
+            }
+        }).isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("zakończył działanie")
+                .hasCauseInstanceOf(OutOfMemoryError.class);
+        outbox.close();
+
+        // Wiadomości przyjęte przed awarią są liczone jako niewysłane.
+        assertThat(outbox.getFailedCount()).isEqualTo(accepted.get());
+        assertThat(outbox.getSentCount()).isZero();
+        assertThatThrownBy(() -> outbox.submit(email("anna@corp.com", "Awans")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("zamknięta");
+    }
+
+    private static Email email(String recipient, String subject) {
+        return new Email(recipient, subject, "Wiadomość dla " + recipient);
+    }
+}
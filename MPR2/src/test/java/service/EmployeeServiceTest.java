@@ -8,6 +8,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -67,6 +69,22 @@ class EmployeeServiceTest {
         assertFalse(result, "System powinien odrzucić próbę dodania pracownika z istniejącym adresem email.");
     }
 
+    @Test
+    @DisplayName("Unikalność adresu email powinna być weryfikowana bez rozróżniania wielkości liter")
+    void addEmployee_DuplicateEmailDifferentCase_ShouldReturnFalse() {
+        // Arrange
+        service.addEmployee(e1_anna_techcorp);
+        Employee duplicate = new Employee("Anna Duplikat", " ANNA@TechCorp.pl", "TechCorp", Position.STAZYSTA, 3000);
+
+        // Act
+        boolean result = service.addEmployee(duplicate);
+
+        // Assert
+        assertFalse(result, "Email znormalizowany do małych liter powinien zostać uznany za duplikat.");
+        assertEquals(1, service.size());
+        assertSame(e1_anna_techcorp, service.findByEmail("Anna@TECHCORP.pl"));
+    }
+
     // --- Testy: Wyszukiwanie i Filtrowanie ---
 
     @Test
@@ -137,6 +155,63 @@ class EmployeeServiceTest {
         assertEquals(e2_piotr_devhouse, sorted.get(2), "Błąd sortowania: Piotr powinien być trzeci.");
     }
 
+    @Test
+    @DisplayName("Sortowanie powinno uwzględniać polskie znaki diakrytyczne i ignorować wielkość liter")
+    void sortByName_PolishNames_ShouldUseCollation() {
+        // Arrange
+        Employee lukasz = new Employee("Łukasz Zając", "lukasz@techcorp.pl", "TechCorp", Position.PROGRAMISTA, 9000);
+        Employee lena = new Employee("lena Mazur", "lena@techcorp.pl", "TechCorp", Position.PROGRAMISTA, 9000);
+        Employee maria = new Employee("Maria Lis", "maria@techcorp.pl", "TechCorp", Position.PROGRAMISTA, 9000);
+        service.addEmployee(maria);
+        service.addEmployee(lukasz);
+        service.addEmployee(lena);
+
+        // Act
+        List<Employee> sorted = service.sortByName();
+
+        // Assert
+        assertEquals(List.of(lena, lukasz, maria), sorted, "Ł powinno występować po L, a przed M.");
+    }
+
+    @Test
+    @DisplayName("Strona katalogu powinna zawierać kolejny fragment alfabetycznej listy pracowników")
+    void getDirectoryPage_ShouldReturnRequestedPage() {
+        // Arrange
+        service.addEmployee(e2_piotr_devhouse); // Piotr
+        service.addEmployee(e1_anna_techcorp);  // Anna
+        service.addEmployee(e4_ewa_underpaid);  // Ewa
+        service.addEmployee(e3_jan_techcorp);   // Jan
+
+        // Act
+        List<Employee> firstPage = service.getDirectoryPage(0, 3);
+        List<Employee> secondPage = service.getDirectoryPage(1, 3);
+        List<Employee> beyondLastPage = service.getDirectoryPage(2, 3);
+
+        // Assert
+        assertEquals(List.of(e1_anna_techcorp, e4_ewa_underpaid, e3_jan_techcorp), firstPage);
+        assertEquals(List.of(e2_piotr_devhouse), secondPage);
+        assertTrue(beyondLastPage.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> service.getDirectoryPage(0, 0));
+    }
+
+    @Test
+    @DisplayName("Usunięcie pracownika powinno zaktualizować wszystkie indeksy rejestru")
+    void removeEmployee_ShouldUpdateIndexes() {
+        // Arrange
+        service.addEmployee(e1_anna_techcorp);
+        service.addEmployee(e3_jan_techcorp);
+
+        // Act
+        Employee removed = service.removeEmployee("ANNA@techcorp.pl");
+
+        // Assert
+        assertSame(e1_anna_techcorp, removed);
+        assertEquals(List.of(e3_jan_techcorp), service.sortByName());
+        assertEquals(List.of(e3_jan_techcorp), service.findByCompany("TechCorp"));
+        assertEquals(1, service.countByPosition().get(Position.PROGRAMISTA));
+        assertNull(service.removeEmployee("anna@techcorp.pl"), "Ponowne usunięcie powinno zwrócić null.");
+    }
+
     @Test
     @DisplayName("Powinien poprawnie zgrupować pracowników według stanowiska")
     void groupByPosition_ShouldGroupCorrectly() {
@@ -174,6 +249,25 @@ class EmployeeServiceTest {
         assertEquals(1, counts.get(Position.MANAGER));
     }
 
+    @Test
+    @DisplayName("Indeks stanowisk powinien odzwierciedlać zmianę stanowiska po dodaniu pracownika")
+    void groupByPosition_AfterPositionChange_ShouldReflectNewPosition() {
+        // Arrange
+        service.addEmployee(e1_anna_techcorp); // PROGRAMISTA
+        service.addEmployee(e3_jan_techcorp);  // PROGRAMISTA
+
+        // Act
+        e1_anna_techcorp.setPosition(Position.MANAGER);
+        Map<Position, List<Employee>> grouped = service.groupByPosition();
+        Map<Position, Integer> counts = service.countByPosition();
+
+        // Assert
+        assertEquals(List.of(e3_jan_techcorp), grouped.get(Position.PROGRAMISTA));
+        assertEquals(List.of(e1_anna_techcorp), grouped.get(Position.MANAGER));
+        assertEquals(1, counts.get(Position.MANAGER));
+        assertEquals(1, counts.get(Position.PROGRAMISTA));
+    }
+
     // --- Testy: Analityka i Raportowanie ---
 
     @Test
@@ -210,6 +304,33 @@ class EmployeeServiceTest {
         assertEquals(e2_piotr_devhouse, highest, "Zidentyfikowano niewłaściwego pracownika.");
     }
 
+    @Test
+    @DisplayName("Średnia i najwyższa pensja powinny uwzględniać podwyżki, awanse i usunięcia pracowników")
+    void salaryAggregates_ShouldFollowSalaryChangesAndRemovals() {
+        // Arrange
+        PromotionService promotionService = new PromotionService();
+        service.addEmployee(e1_anna_techcorp); // 9000
+        service.addEmployee(e2_piotr_devhouse); // 12500
+        service.addEmployee(e3_jan_techcorp);  // 8500
+
+        // Act - awans ustawia pensję bazową MANAGER (12000), podwyżka zmienia pensję Piotra
+        promotionService.promote(e3_jan_techcorp, Position.MANAGER);
+        e2_piotr_devhouse.setSalary(11000);
+
+        // Assert
+        assertEquals((9000 + 11000 + 12000) / 3.0, service.averageSalary(), 0.001);
+        assertEquals(e3_jan_techcorp, service.findHighestSalary());
+        assertEquals(1, service.countByPosition().get(Position.PROGRAMISTA));
+
+        // Act - usunięcie najlepiej zarabiającego
+        service.removeEmployee("jan@techcorp.pl");
+        e3_jan_techcorp.setSalary(50000); // zmiany usuniętego pracownika nie wpływają na rejestr
+
+        // Assert
+        assertEquals(10000.0, service.averageSalary(), 0.001);
+        assertEquals(e2_piotr_devhouse, service.findHighestSalary());
+    }
+
     @Test
     @DisplayName("Powinien wykryć niespójności w wynagrodzeniach (poniżej widełek)")
     void validateSalaryConsistency_ShouldFindInconsistentEmployees() {
@@ -253,6 +374,169 @@ class EmployeeServiceTest {
         assertEquals(12500.0, devStats.getAverageSalary(), 0.001);
     }
 
+    @Test
+    @DisplayName("Statystyki firmy powinny zawierać minimum, maksimum, wariancję i ranking najlepiej zarabiających")
+    void getCompanyStatistics_ShouldReturnDistributionAndTopEarners() {
+        // Arrange
+        service.addEmployee(e1_anna_techcorp); // 9000
+        service.addEmployee(e3_jan_techcorp);  // 8500
+        service.addEmployee(e4_ewa_underpaid); // 2500
+        service.addEmployee(new Employee("Olga Lis", "olga@techcorp.pl", "TechCorp", Position.PROGRAMISTA, 9000));
+
+        // Act
+        CompanyStatistics stats = service.getCompanyStatistics(2).get("TechCorp");
+
+        // Assert
+        assertEquals(4, stats.getEmployeeCount());
+        assertEquals(29000.0, stats.getTotalSalary(), 0.001);
+        assertEquals(2500.0, stats.getMinSalary(), 0.001);
+        assertEquals(9000.0, stats.getMaxSalary(), 0.001);
+        assertEquals(7250.0, stats.getAverageSalary(), 0.001);
+        // Odchylenia od średniej: 1750, 1250, -4750, 1750
+        assertEquals(7562500.0, stats.getSalaryVariance(), 0.001);
+        // Przy równych pensjach pierwszeństwo ma pracownik dodany wcześniej
+        assertEquals(List.of("Anna Nowak", "Olga Lis"), stats.getTopEarnerNames());
+        assertEquals("Anna Nowak", stats.getHighestEarnerName());
+    }
+
+    @Test
+    @DisplayName("Przy pustym rankingu (topEarners = 0) statystyki powinny nadal wskazywać najlepiej zarabiającego")
+    void getCompanyStatistics_WithZeroTopEarners_ShouldKeepHighestEarner() {
+        // Arrange - mały rejestr (przetwarzanie sekwencyjne) oraz duży (równoległe z łączeniem akumulatorów)
+        service.addEmployee(e3_jan_techcorp);  // 8500
+        service.addEmployee(e1_anna_techcorp); // 9000
+        service.addEmployee(e2_piotr_devhouse);
+        EmployeeService large = new EmployeeService();
+        for (int i = 0; i < EmployeeSnapshot.PARALLEL_THRESHOLD * 2; i++) {
+            large.addEmployee(new Employee("Pracownik " + i, "p" + i + "@firma.pl", "TechCorp",
+                    Position.PROGRAMISTA, 5000 + (i * 37 % 1000)));
+        }
+
+        // Act
+        Map<String, CompanyStatistics> statsMap = service.getCompanyStatistics(0);
+        CompanyStatistics largeStats = large.getCompanyStatistics(0).get("TechCorp");
+
+        // Assert
+        assertEquals("Anna Nowak", statsMap.get("TechCorp").getHighestEarnerName());
+        assertEquals("Piotr Wisniewski", statsMap.get("DevHouse").getHighestEarnerName());
+        assertTrue(statsMap.get("TechCorp").getTopEarnerNames().isEmpty());
+        assertEquals(large.getCompanyStatistics(1).get("TechCorp").getHighestEarnerName(), largeStats.getHighestEarnerName());
+        assertEquals(large.findHighestSalary().getName(), largeStats.getHighestEarnerName());
+        assertTrue(largeStats.getTopEarnerNames().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Statystyki firmy powinny akceptować brakujące (null) imię i nazwisko najlepiej zarabiającego")
+    void companyStatistics_ShouldAcceptNullEarnerNames() {
+        // Act
+        CompanyStatistics simple = new CompanyStatistics(1, 5000.0, null);
+        CompanyStatistics full = new CompanyStatistics(2, 12000.0, 5000.0, 7000.0, 6000.0, 1000000.0,
+                Arrays.asList(null, "Anna Nowak"));
+
+        // Assert
+        assertEquals(Collections.singletonList(null), simple.getTopEarnerNames());
+        assertNull(simple.getHighestEarnerName());
+        assertEquals(Arrays.asList(null, "Anna Nowak"), full.getTopEarnerNames());
+        assertNull(full.getHighestEarnerName());
+        assertThrows(UnsupportedOperationException.class, () -> full.getTopEarnerNames().add("Jan"));
+    }
+
+    @Test
+    @DisplayName("Równoległa agregacja statystyk powinna dać ten sam wynik co przetwarzanie sekwencyjne")
+    void getCompanyStatistics_ShouldMatchSequentialResultForLargeRegistry() {
+        // Arrange - rejestr przekraczający próg przetwarzania równoległego
+        int count = EmployeeSnapshot.PARALLEL_THRESHOLD * 2;
+        String[] companies = {"TechCorp", "DevHouse", "SoftWare", "DataLab"};
+        for (int i = 0; i < count; i++) {
+            service.addEmployee(new Employee("Pracownik " + i, "p" + i + "@firma.pl", companies[i % companies.length],
+                    Position.PROGRAMISTA, 5000 + (i * 37 % 1000)));
+        }
+
+        // Act
+        Map<String, CompanyStatistics> statsMap = service.getCompanyStatistics(5);
+
+        // Assert - wartości oczekiwane liczone prostą pętlą
+        assertEquals(companies.length, statsMap.size());
+        for (String company : companies) {
+            List<Employee> employees = service.findByCompany(company);
+            double sum = 0.0;
+            double max = 0.0;
+            String firstHighest = null;
+            for (int i = 0; i < count; i++) {
+                Employee e = service.findByEmail("p" + i + "@firma.pl");
+                if (e.getCompanyName().equals(company)) {
+                    sum += e.getSalary();
+                    if (firstHighest == null || e.getSalary() > max) {
+                        max = e.getSalary();
+                        firstHighest = e.getName();
+                    }
+                }
+            }
+            CompanyStatistics stats = statsMap.get(company);
+            assertEquals(employees.size(), stats.getEmployeeCount());
+            assertEquals(sum, stats.getTotalSalary(), 0.001);
+            assertEquals(sum / employees.size(), stats.getAverageSalary(), 0.001);
+            assertEquals(max, stats.getMaxSalary(), 0.001);
+            assertEquals(firstHighest, stats.getHighestEarnerName());
+            assertEquals(5, stats.getTopEarnerNames().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Ujemna liczba najlepiej zarabiających powinna zostać odrzucona")
+    void getCompanyStatistics_ShouldRejectNegativeTopEarners() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> service.getCompanyStatistics(-1));
+    }
+
+    @Test
+    @DisplayName("Migawka kolumnowa powinna odwzorować pensje, stanowiska i firmy (kodowane słownikowo)")
+    void snapshot_ShouldExposeColumnsAndOperators() {
+        // Arrange
+        service.addEmployee(e1_anna_techcorp);
+        service.addEmployee(e2_piotr_devhouse);
+        service.addEmployee(e3_jan_techcorp);
+
+        // Act
+        EmployeeSnapshot snapshot = service.snapshot();
+        int[] wellPaid = snapshot.select(row -> snapshot.salary(row) > 8600);
+        int[] positionCounts = snapshot.countByPosition();
+
+        // Assert
+        assertEquals(3, snapshot.size());
+        assertEquals(2, snapshot.companyCount());
+        assertEquals(snapshot.companyId(0), snapshot.companyId(2));
+        assertEquals("DevHouse", snapshot.companyName(snapshot.companyId(1)));
+        assertEquals(Position.MANAGER, snapshot.position(1));
+        assertEquals(e1_anna_techcorp.getDateOfHire().toEpochDay(), snapshot.hireEpochDay(0));
+        assertEquals(List.of(e1_anna_techcorp, e2_piotr_devhouse), snapshot.employees(wellPaid));
+        assertEquals(2, positionCounts[Position.PROGRAMISTA.ordinal()]);
+        assertEquals(1, positionCounts[Position.MANAGER.ordinal()]);
+    }
+
+    @Test
+    @DisplayName("Migawka powinna być ponownie używana do czasu zmiany rejestru")
+    void snapshot_ShouldBeRebuiltOnlyAfterRegistryChange() {
+        // Arrange
+        service.addEmployee(e1_anna_techcorp);
+        EmployeeSnapshot first = service.snapshot();
+
+        // Act & Assert - brak zmian: ta sama migawka
+        assertSame(first, service.snapshot());
+
+        // Act & Assert - zmiana pensji unieważnia migawkę
+        e1_anna_techcorp.setSalary(2000);
+        EmployeeSnapshot afterRaise = service.snapshot();
+        assertNotSame(first, afterRaise);
+        assertEquals(9000.0, first.salary(0), 0.001, "Migawka nie powinna zmieniać się po utworzeniu");
+        assertEquals(2000.0, afterRaise.salary(0), 0.001);
+        assertEquals(List.of(e1_anna_techcorp), service.validateSalaryConsistency());
+
+        // Act & Assert - dodanie pracownika unieważnia migawkę
+        service.addEmployee(e2_piotr_devhouse);
+        assertEquals(2, service.snapshot().size());
+    }
+
     // --- Testy: Przypadki Brzegowe (Edge Cases) ---
 
     @Test
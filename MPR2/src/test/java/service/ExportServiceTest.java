@@ -1,5 +1,6 @@
 package service;
 
+import doubles.FileSystemMock;
 import interfaces.FileSystemAdapter;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -8,9 +9,20 @@ import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -66,4 +78,122 @@ class ExportServiceTest {
         // Matcher 'contains' pozwala sprawdzić, czy treść logu zawiera kluczową frazę błędu.
         verify(fileSystemAdapter).write(eq("error.log"), contains("Failed to write"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldStreamRowsWithCsvEscaping() {
+        // ARRANGE
+        // FileSystemMock nie nadpisuje zapisu strumieniowego - domyślna implementacja interfejsu
+        // przekazuje całą zapisaną treść do write() przy zamknięciu strumienia.
+        FileSystemMock fileSystemMock = new FileSystemMock();
+        fileSystemMock.expectWrite("employees.csv",
+                "Imie,Firma\n" +
+                "Jan,\"Acme, Inc.\"\n" +
+                "Anna,\"Firma \"\"Krzak\"\"\"\n" +
+                "Ewa,\n");
+        ExportService streamingService = new ExportService(fileSystemMock, new ExportService.CsvFormatter());
+
+        // ACT
+        streamingService.exportRows("employees.csv", List.of(
+                List.of("Imie", "Firma"),
+                List.of("Jan", "Acme, Inc."),
+                List.of("Anna", "Firma \"Krzak\""),
+                Arrays.asList("Ewa", null)));
+
+        // ASSERT
+        fileSystemMock.verify();
+    }
+
+    @Test
+    void shouldLogErrorWhenStreamingExportFails() throws IOException {
+        // ARRANGE
+        doThrow(new IOException("Disk full"))
+                .when(fileSystemAdapter).openOutputStream("report.csv");
+
+        // ACT
+        service.exportRows("report.csv", List.of(List.of("A", "B")));
+
+        // ASSERT
+        verify(fileSystemAdapter).write(eq("error.log"), contains("Failed to write"));
+        verifyNoInteractions(csvFormatter);
+    }
+
+    @Test
+    void shouldRejectCompressedExportWhenAdapterSupportsOnlyText() throws IOException {
+        // ARRANGE
+        // Mock nie deklaruje obsługi zapisu binarnego (supportsBinaryContent zwraca false),
+        // więc skompresowane bajty trafiłyby do write() jako uszkodzony tekst.
+        List<List<String>> rows = List.of(List.of("A", "B"));
+
+        // ACT + ASSERT - eksport kończy się błędem od razu, zamiast zapisać uszkodzony plik.
+        for (ExportService.Compression compression : List.of(ExportService.Compression.GZIP, ExportService.Compression.PARALLEL_GZIP)) {
+            assertThrows(IllegalStateException.class, () -> service.exportRows("report.csv.gz", rows, compression));
+        }
+        verify(fileSystemAdapter, never()).openOutputStream(any());
+        verify(fileSystemAdapter, never()).write(anyString(), anyString());
+    }
+
+    @Test
+    void defaultOutputStreamShouldRejectBinaryContent() throws IOException {
+        // ARRANGE
+        // Domyślny strumień adaptera przekazuje treść do write() jako tekst - bajty spoza UTF-8 nie mogą zostać
+        // po cichu zamienione na znaki zastępcze.
+        FileSystemMock fileSystemMock = new FileSystemMock();
+        OutputStream out = fileSystemMock.openOutputStream("report.csv.gz");
+        out.write(new byte[] {(byte) 0x1f, (byte) 0x8b, (byte) 0x08, (byte) 0xff});
+
+        // ACT + ASSERT
+        // Mock bez oczekiwań zgłosiłby AssertionError, gdyby uszkodzona treść dotarła do write().
+        assertThrows(IOException.class, out::close);
+    }
+
+    @Test
+    void parallelGzipShouldWriteBlocksInOrderAsSeparateMembers() throws IOException {
+        // ARRANGE
+        // Blok 1000 bajtów przy ~200 kB danych daje ~200 członów GZIP kompresowanych przez 4 wątki,
+        // więc test obejmuje kolejność zapisu bloków, ograniczenie bloków w toku i konkatenację członów.
+        int blockSize = 1000;
+        byte[] input = new byte[200_123];
+        Random random = new Random(42);
+        for (int i = 0; i < input.length; i++) {
+            // Dane częściowo powtarzalne (kompresowalne), częściowo losowe.
+            input[i] = (byte) (i % 7 == 0 ? random.nextInt(256) : 'a' + i % 26);
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        // ACT - zapis porcjami o różnej długości oraz pojedynczymi bajtami
+        try (OutputStream out = new ParallelGzipOutputStream(compressed, 4, blockSize)) {
+            int offset = 0;
+            while (offset < input.length) {
+                int length = Math.min(1 + random.nextInt(3 * blockSize), input.length - offset);
+                if (length % 5 == 0) {
+                    out.write(input[offset]);
+                    length = 1;
+                } else {
+                    out.write(input, offset, length);
+                }
+                offset += length;
+            }
+        }
+
+        // ASSERT
+        byte[] output = compressed.toByteArray();
+        assertEquals((input.length + blockSize - 1) / blockSize, countGzipMembers(output));
+        ByteArrayOutputStream decompressed = new ByteArrayOutputStream();
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(output))) {
+            in.transferTo(decompressed);
+        }
+        assertArrayEquals(input, decompressed.toByteArray());
+    }
+
+    // Liczy nagłówki członów GZIP zapisywane przez GZIPOutputStream (stały nagłówek 10-bajtowy).
+    private static int countGzipMembers(byte[] data) {
+        byte[] header = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+        int count = 0;
+        for (int i = 0; i + header.length <= data.length; i++) {
+            if (Arrays.equals(data, i, i + header.length, header, 0, header.length)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
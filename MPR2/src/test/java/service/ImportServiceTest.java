@@ -11,9 +11,12 @@ import org.junit.jupiter.api.io.TempDir;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 // Klasa testowa weryfikująca poprawność importu danych z plików CSV.
 // Testy tworzą tymczasowe pliki w izolowanym środowisku (@TempDir),
@@ -39,7 +42,7 @@ class ImportServiceTest {
      */
     private String createCsvFile(String fileName, String content) throws IOException {
         File file = tempDir.resolve(fileName).toFile();
-        try (FileWriter writer = new FileWriter(file)) {
+        try (FileWriter writer = new FileWriter(file, StandardCharsets.UTF_8)) {
             writer.write(content);
         }
         return file.getAbsolutePath();
@@ -165,4 +168,230 @@ class ImportServiceTest {
                 .hasSize(1)
                 .first().asString().contains("Krytyczny błąd odczytu pliku");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Import z pliku mapowanego w pamięci powinien dać ten sam wynik co import klasyczny")
+    void mappedImportShouldMatchClassicImport() throws IOException {
+        // Arrange
+        String csvContent = "Header\r\n" +
+                "Jan,Ok,jan@ok.pl,Firma,stazysta,3000.50\r\n" +
+                "Jan,ZleKolumny,jan@zle.pl,Firma,STAZYSTA\n" +
+                "\n" +
+                "Jan,ZleStanowisko,jan@ninja.pl,Firma,NINJA,5000\n" +
+                "Jan,UjemnaPensja,jan@ujemna.pl,Firma,PROGRAMISTA,-100\n" +
+                "Jan,ZlyFormat,jan@format.pl,Firma,MANAGER,tysiac\n" +
+                " Ewa , Duplikat , jan@ok.pl , Firma , MANAGER , 1e4 ";
+        String filePath = createCsvFile("mapped.csv", csvContent);
+        EmployeeService classicService = new EmployeeService();
+
+        // Act
+        ImportSummary classic = new ImportService(classicService).importFromCsv(filePath);
+        ImportSummary mapped = importService.importFromCsvMapped(filePath);
+
+        // Assert
+        assertThat(mapped.getImportedCount()).isEqualTo(classic.getImportedCount()).isEqualTo(1);
+        assertThat(mapped.getErrors())
+                .containsExactlyElementsOf(classic.getErrors())
+                .hasSize(5)
+                .last().asString().startsWith("Linia 8:").contains("już istnieje");
+
+        Employee imported = employeeService.findByEmail("jan@ok.pl");
+        assertThat(imported.getName()).isEqualTo("Jan Ok");
+        assertThat(imported.getPosition()).isEqualTo(Position.STAZYSTA);
+        assertThat(imported.getSalary()).isEqualTo(3000.50);
+    }
+
+    @Test
+    @DisplayName("Import mapowany powinien obsłużyć pusty i nieistniejący plik")
+    void mappedImportShouldHandleEmptyAndMissingFile() throws IOException {
+        // Arrange
+        String emptyPath = createCsvFile("empty-mapped.csv", "");
+
+        // Act
+        ImportSummary empty = importService.importFromCsvMapped(emptyPath);
+        ImportSummary missing = importService.importFromCsvMapped("sciezka/ktorej/nie/ma.csv");
+
+        // Assert
+        assertThat(empty.getErrors()).containsExactly("Plik jest pusty.");
+        assertThat(missing.getImportedCount()).isZero();
+        assertThat(missing.getErrors())
+                .hasSize(1)
+                .first().asString().contains("Krytyczny błąd odczytu pliku");
+    }
+
+    @Test
+    @DisplayName("Import równoległy powinien zachować kolejność błędów i rozstrzygać duplikaty jak import sekwencyjny")
+    void parallelImportShouldMatchSequentialImport() throws IOException {
+        // Arrange - plik większy niż kilka fragmentów, z błędami i duplikatami rozsianymi po całym pliku
+        StringBuilder csv = new StringBuilder("Imie,Nazwisko,Email,Firma,Stanowisko,Pensja\n");
+        int rows = 3 * ImportService.MIN_CHUNK_SIZE / 60;
+        for (int i = 0; i < rows; i++) {
+            if (i % 1000 == 0) {
+                csv.append("Jan,Bez,Pensji,Firma,STAZYSTA\n");
+            } else {
+                csv.append("Jan,Kowalski").append(i).append(",jan").append(i % (rows / 2)).append("@test.pl,Firma")
+                        .append(i % 7).append(",PROGRAMISTA,").append(8000 + i % 5000).append('\n');
+            }
+        }
+        String filePath = createCsvFile("parallel.csv", csv.toString());
+        EmployeeService sequentialService = new EmployeeService();
+
+        // Act
+        ImportSummary sequential = new ImportService(sequentialService).importFromCsv(filePath);
+        ImportSummary parallel = importService.importFromCsvParallel(filePath, 4);
+
+        // Assert
+        assertThat(parallel.getImportedCount()).isEqualTo(sequential.getImportedCount());
+        assertThat(parallel.getErrors()).containsExactlyElementsOf(sequential.getErrors());
+        assertThat(employeeService.findByEmail("jan1@test.pl").getName())
+                .isEqualTo(sequentialService.findByEmail("jan1@test.pl").getName());
+    }
+
+    @Test
+    @DisplayName("Import równoległy powinien poprawnie obsłużyć granice fragmentów wewnątrz pól w cudzysłowach")
+    void parallelImportShouldHandleChunkBoundariesInsideQuotedFields() throws IOException {
+        // Arrange - wiele pól z nowymi liniami w cudzysłowach oraz jedno pole dłuższe niż cały fragment,
+        // więc wstępne granice fragmentów (początek kolejnej linii) wypadają wewnątrz rekordów.
+        StringBuilder csv = new StringBuilder("Imie,Nazwisko,Email,Firma,Stanowisko,Pensja\n");
+        for (int i = 0; csv.length() < 2 * ImportService.MIN_CHUNK_SIZE; i++) {
+            csv.append("Jan,Kowalski").append(i).append(",jan").append(i).append("@test.pl,\"Firma\n")
+                    .append("Oddział\n".repeat(i % 40)).append("Koniec\",PROGRAMISTA,9000\n");
+            if (i % 500 == 0) {
+                csv.append("Jan,Bez,Pensji,Firma,STAZYSTA\n");
+            }
+        }
+        csv.append("Anna,Nowak,anna@test.pl,\"").append("a,b\n".repeat(ImportService.MIN_CHUNK_SIZE / 2))
+                .append("\",MANAGER,15000\n");
+        for (int i = 0; i < 20_000; i++) {
+            csv.append("Ewa,Lis").append(i).append(",ewa").append(i).append("@test.pl,Firma,STAZYSTA,3000\n");
+        }
+        String filePath = createCsvFile("parallel-quoted.csv", csv.toString());
+
+        // Act
+        ImportSummary sequential = new ImportService(new EmployeeService()).importFromCsv(filePath);
+        ImportSummary parallel = importService.importFromCsvParallel(filePath, 4);
+
+        // Assert
+        assertThat(parallel.getImportedCount()).isEqualTo(sequential.getImportedCount());
+        assertThat(parallel.getErrors()).containsExactlyElementsOf(sequential.getErrors());
+        assertThat(employeeService.findByEmail("anna@test.pl").getCompanyName().length())
+                .isGreaterThan(ImportService.MIN_CHUNK_SIZE);
+    }
+
+    @Test
+    @DisplayName("Import równoległy powinien odrzucić niedodatni poziom równoległości")
+    void parallelImportShouldRejectInvalidParallelism() {
+        assertThatThrownBy(() -> importService.importFromCsvParallel("plik.csv", 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Powinien obsłużyć pola w cudzysłowach: przecinki, podwojone cudzysłowy i nowe linie")
+    void shouldImportQuotedFields() throws IOException {
+        // Arrange
+        String csvContent = "Imie,Nazwisko,Email,Firma,Stanowisko,Pensja\n" +
+                "Jan,Kowalski,jan@test.pl,\"Acme, Inc.\",PROGRAMISTA,9000\n" +
+                "Anna,Nowak,anna@test.pl,\"Firma \"\"Krzak\"\"\",MANAGER,15000\n" +
+                "Ewa,Lis,ewa@test.pl,\"Oddział\nPółnoc\",STAZYSTA,3000\n" +
+                "Jan,ZleStanowisko,jan@ninja.pl,Firma,NINJA,5000";
+        String filePath = createCsvFile("quoted.csv", csvContent);
+
+        // Act
+        ImportSummary summary = importService.importFromCsv(filePath);
+        ImportSummary mapped = new ImportService(new EmployeeService()).importFromCsvMapped(filePath);
+        ImportSummary parallel = new ImportService(new EmployeeService()).importFromCsvParallel(filePath, 2);
+
+        // Assert
+        assertThat(summary.getImportedCount()).isEqualTo(3);
+        assertThat(employeeService.findByEmail("jan@test.pl").getCompanyName()).isEqualTo("Acme, Inc.");
+        assertThat(employeeService.findByEmail("anna@test.pl").getCompanyName()).isEqualTo("Firma \"Krzak\"");
+        assertThat(employeeService.findByEmail("ewa@test.pl").getCompanyName()).isEqualTo("Oddział\nPółnoc");
+
+        // Rekord z nową linią w cudzysłowie zajmuje dwie linie pliku - kolejny rekord zaczyna się w linii 6.
+        assertThat(summary.getErrors())
+                .hasSize(1)
+                .first().asString().startsWith("Linia 6:").contains("Nieznane stanowisko");
+        assertThat(mapped.getErrors()).containsExactlyElementsOf(summary.getErrors());
+        assertThat(parallel.getErrors()).containsExactlyElementsOf(summary.getErrors());
+    }
+
+    @Test
+    @DisplayName("Powinien zgłosić błąd dla rekordu z niezamkniętym cudzysłowem")
+    void shouldReportUnclosedQuote() throws IOException {
+        // Arrange
+        String csvContent = "H\n" +
+                "Jan,Ok,jan@ok.pl,Firma,STAZYSTA,3000\n" +
+                "Jan,Zly,jan@zly.pl,\"Firma,STAZYSTA,3000\n";
+        String filePath = createCsvFile("unclosed.csv", csvContent);
+
+        // Act
+        ImportSummary summary = importService.importFromCsv(filePath);
+
+        // Assert
+        assertThat(summary.getImportedCount()).isEqualTo(1);
+        assertThat(summary.getErrors())
+                .containsExactly("Linia 3: Błąd danych -> Niezamknięty cudzysłów w rekordzie");
+    }
+
+    @Test
+    @DisplayName("Powinien importować plik z niestandardowym separatorem")
+    void shouldImportWithCustomDelimiter() throws IOException {
+        // Arrange
+        ImportService semicolonImport = new ImportService(employeeService, ';');
+        String csvContent = "Imie;Nazwisko;Email;Firma;Stanowisko;Pensja\n" +
+                "Jan;Kowalski;jan@test.pl;Acme, Inc.;PROGRAMISTA;9000\n" +
+                "Anna;Nowak;anna@test.pl;\"Dom; Ogród\";MANAGER;15000";
+        String filePath = createCsvFile("semicolon.csv", csvContent);
+
+        // Act
+        ImportSummary summary = semicolonImport.importFromCsv(filePath);
+
+        // Assert
+        assertThat(summary.getErrors()).isEmpty();
+        assertThat(summary.getImportedCount()).isEqualTo(2);
+        assertThat(employeeService.findByEmail("jan@test.pl").getCompanyName()).isEqualTo("Acme, Inc.");
+        assertThat(employeeService.findByEmail("anna@test.pl").getCompanyName()).isEqualTo("Dom; Ogród");
+        assertThatThrownBy(() -> new ImportService(employeeService, '"'))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Powinien odrzucić separator, który nie mieści się w jednym bajcie")
+    void shouldRejectNonAsciiDelimiter() {
+        // 'Ĭ' (U+012C) po rzutowaniu na byte dałby przecinek (0x2C), a 'ą' - przypadkowy bajt spoza ASCII.
+        for (char delimiter : new char[] {'Ĭ', 'ą', '\n', '\r'}) {
+            assertThatThrownBy(() -> new ImportService(employeeService, delimiter))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThat(CsvTokenizer.validateDelimiter('\t')).isEqualTo((byte) '\t');
+    }
+
+    @Test
+    @DisplayName("Powinien zaimportować plik skompresowany przez eksport GZIP (także blokowy, równoległy)")
+    void shouldImportCompressedExport() {
+        // Arrange
+        ExportService exportService = new ExportService(new LocalFileSystemAdapter(), new ExportService.CsvFormatter());
+        List<List<String>> rows = List.of(
+                List.of("Imie", "Nazwisko", "Email", "Firma", "Stanowisko", "Pensja"),
+                List.of("Jan", "Kowalski", "jan@test.pl", "Acme, Inc.", "PROGRAMISTA", "9000"),
+                List.of("Anna", "Nowak", "anna@test.pl", "DevHouse", "MANAGER", "15000"));
+
+        for (ExportService.Compression compression : List.of(ExportService.Compression.GZIP, ExportService.Compression.PARALLEL_GZIP)) {
+            String filePath = tempDir.resolve("export-" + compression + ".csv.gz").toString();
+            exportService.exportRows(filePath, rows, compression);
+
+            // Act
+            EmployeeService target = new EmployeeService();
+            ImportSummary streamed = new ImportService(target).importFromCsv(filePath);
+            ImportSummary mapped = new ImportService(new EmployeeService()).importFromCsvMapped(filePath);
+            ImportSummary parallel = new ImportService(new EmployeeService()).importFromCsvParallel(filePath, 2);
+
+            // Assert
+            assertThat(streamed.getImportedCount()).as(compression.name()).isEqualTo(2);
+            assertThat(streamed.getErrors()).isEmpty();
+            assertThat(target.findByEmail("jan@test.pl").getCompanyName()).isEqualTo("Acme, Inc.");
+            assertThat(mapped.getImportedCount()).isEqualTo(2);
+            assertThat(parallel.getImportedCount()).isEqualTo(2);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package service;
 
 import model.Employee;
 import model.Position;
+import model.RaiseSummary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,6 +10,12 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.EnumSource;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
 // Importy statyczne dla biblioteki AssertJ (płynne asercje)
 import static org.assertj.core.api.Assertions.*;
 
@@ -119,6 +126,119 @@ class PromotionServiceTest {
                 .hasMessageContaining("Podwyżka nie może być ujemna");
     }
 
+    @Test
+    @DisplayName("Zbiorcza podwyżka powinna dać te same pensje co podwyżki udzielane pojedynczo")
+    void shouldGiveBulkRaiseMatchingSingleRaises() {
+        // Arrange - więcej pracowników niż pasów rejestru wektorowego, z pensjami poniżej i powyżej limitu
+        List<Employee> bulk = new ArrayList<>();
+        List<Employee> single = new ArrayList<>();
+        Position[] positions = Position.values();
+        for (int i = 0; i < 37; i++) {
+            Position position = positions[i % positions.length];
+            double salary = position.getBaseSalary() + i * 731.5;
+            bulk.add(new Employee("B" + i, "b" + i + "@tech.pl", "TechCorp", position, salary));
+            single.add(new Employee("S" + i, "s" + i + "@tech.pl", "TechCorp", position, salary));
+        }
+
+        // Act
+        promotionService.giveRaise(bulk, 12.5);
+        for (Employee employee : single) {
+            promotionService.giveRaise(employee, 12.5);
+        }
+
+        // Assert (AssertJ)
+        assertThat(bulk)
+                .extracting(Employee::getSalary)
+                .containsExactlyElementsOf(single.stream().map(Employee::getSalary).toList());
+        assertThat(bulk.get(36).getSalary()).isEqualTo(bulk.get(36).getPosition().getMaxSalary());
+    }
+
+    @Test
+    @DisplayName("Zbiorcza podwyżka z ujemną wartością powinna zostać odrzucona bez zmiany pensji")
+    void shouldRejectNegativeBulkRaise() {
+        // Act & Assert (AssertJ)
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> promotionService.giveRaise(List.of(manager, stazysta), -1.0))
+                .withMessageContaining("Podwyżka nie może być ujemna");
+        assertThat(manager.getSalary()).isEqualTo(13000);
+    }
+
+    @Test
+    @DisplayName("Podwyżka według polityki stanowisk powinna zwrócić dziennik zmian z sumami pensji")
+    void applyRaises_ShouldApplyPositionPolicyAndReturnChangeLog() {
+        // Arrange - Manager +10% (13000 -> 14300), Programista +50% (ograniczone do 14000), Stażysta bez podwyżki
+        Employee programista = new Employee("Piotr Programista", "piotr@tech.pl", "TechCorp", Position.PROGRAMISTA, 10000);
+        RaisePolicy policy = RaisePolicy.byPosition(Map.of(Position.MANAGER, 10.0, Position.PROGRAMISTA, 50.0), 0.0);
+
+        // Act
+        RaiseSummary summary = promotionService.applyRaises(List.of(manager, stazysta, programista), policy);
+
+        // Assert (AssertJ)
+        assertThat(manager.getSalary()).isEqualTo(14300.0);
+        assertThat(programista.getSalary()).isEqualTo(Position.PROGRAMISTA.getMaxSalary());
+        assertThat(stazysta.getSalary()).isEqualTo(3500.0);
+        assertThat(summary.getProcessedCount()).isEqualTo(3);
+        assertThat(summary.getChangedCount()).isEqualTo(2);
+        assertThat(summary.getEmployee(0)).isSameAs(manager);
+        assertThat(summary.getOldSalary(0)).isEqualTo(13000.0);
+        assertThat(summary.getNewSalary(0)).isEqualTo(14300.0);
+        assertThat(summary.getEmployee(1)).isSameAs(programista);
+        assertThat(summary.getTotalSalaryBefore()).isEqualTo(26500.0);
+        assertThat(summary.getTotalSalaryAfter()).isEqualTo(31800.0);
+    }
+
+    @Test
+    @DisplayName("Podwyżka według przedziałów ocen na dużej liście powinna odpowiadać podwyżkom pojedynczym")
+    void applyRaises_ShouldMatchSingleRaisesOnLargeRoster() {
+        // Arrange - lista powyżej progu przetwarzania równoległego, przedziały: średnia >= 4 -> 8%, >= 3 -> 3%
+        RatingService ratingService = new RatingService();
+        NavigableMap<Double, Double> bands = new TreeMap<>(Map.of(3.0, 3.0, 4.0, 8.0));
+        RaisePolicy policy = RaisePolicy.byRatingBand(ratingService, bands, 0.0);
+        Position[] positions = Position.values();
+        List<Employee> roster = new ArrayList<>();
+        List<Employee> expected = new ArrayList<>();
+        int changed = 0;
+        for (int i = 0; i < PromotionService.PARALLEL_THRESHOLD + 1_000; i++) {
+            Position position = positions[i % positions.length];
+            double salary = position.getBaseSalary() + (i % 97) * 123.25;
+            Employee employee = new Employee("R" + i, "r" + i + "@tech.pl", "TechCorp", position, salary);
+            Employee copy = new Employee("E" + i, "e" + i + "@tech.pl", "TechCorp", position, salary);
+            employee.addRating(1 + i % 5);
+            roster.add(employee);
+            expected.add(copy);
+            promotionService.giveRaise(copy, policy.percentageFor(employee));
+            if (copy.getSalary() != salary) {
+                changed++;
+            }
+        }
+
+        // Act
+        RaiseSummary summary = promotionService.applyRaises(roster, policy);
+
+        // Assert (AssertJ)
+        assertThat(roster)
+                .extracting(Employee::getSalary)
+                .containsExactlyElementsOf(expected.stream().map(Employee::getSalary).toList());
+        assertThat(summary.getTotalSalaryAfter())
+                .isCloseTo(expected.stream().mapToDouble(Employee::getSalary).sum(), within(0.01));
+        assertThat(summary.getChangedCount()).isEqualTo(changed);
+    }
+
+    @Test
+    @DisplayName("Polityka z ujemną podwyżką dla jednego pracownika powinna odrzucić całą operację")
+    void applyRaises_ShouldRejectWholeBatchOnNegativePercentage() {
+        // Arrange - ujemna podwyżka tylko dla firmy stażysty
+        Employee other = new Employee("Ola", "ola@other.pl", "OtherCorp", Position.STAZYSTA, 3000);
+        RaisePolicy policy = RaisePolicy.byCompany(Map.of("OtherCorp", -2.0), 5.0);
+
+        // Act & Assert (AssertJ)
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> promotionService.applyRaises(List.of(manager, other), policy))
+                .withMessageContaining("Podwyżka nie może być ujemna");
+        assertThat(manager.getSalary()).isEqualTo(13000);
+        assertThat(other.getSalary()).isEqualTo(3000);
+    }
+
     /**
      * Test sparametryzowany wykorzystujący @EnumSource.
      * Sprawdza, czy system blokuje awanse na stanowiska o niższym lub równym poziomie hierarchii
@@ -0,0 +1,169 @@
+package service;
+
+import model.Employee;
+import model.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Import statyczny dla biblioteki AssertJ
+import static org.assertj.core.api.Assertions.*;
+
+// Klasa testowa weryfikująca przyrostową analitykę ocen (RatingAnalytics):
+// histogramy firm i stanowisk, średnie kroczące oraz rangi percentylowe.
+class RatingAnalyticsTest {
+
+    private RatingAnalytics analytics;
+    private RatingService ratingService;
+    private Employee anna;
+    private Employee piotr;
+    private Employee ola;
+
+    @BeforeEach
+    void setUp() {
+        analytics = new RatingAnalytics();
+        ratingService = new RatingService();
+        anna = new Employee("Anna", "anna@tech.pl", "TechCorp", Position.PROGRAMISTA, 9000);
+        piotr = new Employee("Piotr", "piotr@tech.pl", "TechCorp", Position.MANAGER, 14000);
+        ola = new Employee("Ola", "ola@dev.pl", "DevHouse", Position.PROGRAMISTA, 9500);
+    }
+
+    @Test
+    @DisplayName("Histogramy firm i stanowisk powinny uwzględniać oceny sprzed śledzenia i dodane później")
+    void histograms_ShouldIncludeExistingAndNewRatings() {
+        // Arrange - ocena sprzed rozpoczęcia śledzenia
+        ratingService.addRating(anna, 5);
+        analytics.trackAll(List.of(anna, piotr, ola));
+
+        // Act
+        ratingService.addRating(anna, 4);
+        ratingService.addRating(piotr, 4);
+        ratingService.addRating(ola, 2);
+
+        // Assert (AssertJ)
+        assertThat(analytics.getHistogram("TechCorp")).containsExactly(0, 0, 0, 2, 1);
+        assertThat(analytics.getHistogram("DevHouse")).containsExactly(0, 1, 0, 0, 0);
+        assertThat(analytics.getHistogram(Position.PROGRAMISTA)).containsExactly(0, 1, 0, 1, 1);
+        assertThat(analytics.getHistogram(Position.MANAGER)).containsExactly(0, 0, 0, 1, 0);
+        assertThat(analytics.getHistogram("Nieznana")).containsOnly(0);
+    }
+
+    @Test
+    @DisplayName("Awans i zakończenie śledzenia powinny przenieść lub usunąć oceny pracownika z histogramów")
+    void histograms_ShouldFollowPositionChangesAndUntrack() {
+        // Arrange
+        analytics.track(anna);
+        ratingService.addRating(anna, 3);
+        ratingService.addRating(anna, 5);
+
+        // Act
+        new PromotionService().promote(anna, Position.MANAGER);
+
+        // Assert (AssertJ)
+        assertThat(analytics.getHistogram(Position.PROGRAMISTA)).containsOnly(0);
+        assertThat(analytics.getHistogram(Position.MANAGER)).containsExactly(0, 0, 1, 0, 1);
+
+        // Po zakończeniu śledzenia kolejne oceny nie są uwzględniane
+        analytics.untrack(anna);
+        ratingService.addRating(anna, 1);
+        assertThat(analytics.getHistogram("TechCorp")).containsOnly(0);
+        assertThat(analytics.getRankedCount()).isZero();
+        assertThat(analytics.getPercentileRank(anna)).isNaN();
+    }
+
+    @Test
+    @DisplayName("Średnia krocząca powinna obejmować tylko ostatnie oceny z okna")
+    void rollingAverage_ShouldUseLastReviewsOnly() {
+        // Arrange
+        for (int rating : new int[]{1, 1, 1, 5, 4, 3}) {
+            ratingService.addRating(anna, rating);
+        }
+
+        // Act & Assert (AssertJ)
+        assertThat(analytics.getRollingAverage(anna, 3)).isEqualTo(4.0);
+        assertThat(analytics.getRollingAverage(anna, 100)).isEqualTo(2.5);
+        assertThat(analytics.getRollingAverage(piotr, 3)).isZero();
+        assertThatIllegalArgumentException().isThrownBy(() -> analytics.getRollingAverage(anna, 0));
+    }
+
+    @Test
+    @DisplayName("Ranga percentylowa powinna odpowiadać pozycji średniej i nadążać za nowymi ocenami")
+    void percentileRank_ShouldMatchBruteForceRanking() {
+        // Arrange - 1000 pracowników z różnymi średnimi
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Employee employee = new Employee("P" + i, "p" + i + "@tech.pl", "TechCorp", Position.PROGRAMISTA, 9000);
+            employee.addRating(1 + i % 5);
+            employees.add(employee);
+        }
+        analytics.trackAll(employees);
+
+        // Act - kolejne oceny zmieniają średnie części pracowników
+        for (int i = 0; i < employees.size(); i += 3) {
+            ratingService.addRating(employees.get(i), 1 + (i * 7) % 5);
+        }
+
+        // Assert (AssertJ) - porównanie z rangą wyliczoną przez pełny przegląd
+        assertThat(analytics.getRankedCount()).isEqualTo(1000);
+        for (Employee employee : employees) {
+            long average = Math.round((ratingService.getAverageRating(employee) - 1) * 100);
+            long below = employees.stream()
+                    .filter(e -> Math.round((ratingService.getAverageRating(e) - 1) * 100) < average).count();
+            long equal = employees.stream()
+                    .filter(e -> Math.round((ratingService.getAverageRating(e) - 1) * 100) == average).count();
+            assertThat(analytics.getPercentileRank(employee))
+                    .isCloseTo(100.0 * (below + equal / 2.0) / employees.size(), within(1e-9));
+        }
+        assertThat(analytics.getPercentileRank(anna)).isNaN();
+    }
+
+    @Test
+    @DisplayName("Histogram firmy powinien łączyć nazwy różniące się wielkością liter, tak jak EmployeeService")
+    void histograms_ShouldGroupCompaniesCaseInsensitively() {
+        // Arrange
+        Employee ewa = new Employee("Ewa", "ewa@tech.pl", "TECHCORP", Position.PROGRAMISTA, 9000);
+        analytics.trackAll(List.of(anna, ewa));
+
+        // Act
+        ratingService.addRating(anna, 5);
+        ratingService.addRating(ewa, 3);
+
+        // Assert (AssertJ)
+        assertThat(analytics.getHistogram("TechCorp")).containsExactly(0, 0, 1, 0, 1);
+        assertThat(analytics.getHistogram("techcorp")).containsExactly(0, 0, 1, 0, 1);
+    }
+
+    @Test
+    @DisplayName("Oceny dodawane równolegle z rozpoczęciem śledzenia powinny zostać uwzględnione dokładnie raz")
+    void track_ShouldCountRatingsAddedConcurrentlyExactlyOnce() throws InterruptedException {
+        // Arrange - 500 pracowników, wątek zapisujący dodaje po 20 ocen każdemu
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            employees.add(new Employee("P" + i, "p" + i + "@tech.pl", "TechCorp", Position.PROGRAMISTA, 9000));
+        }
+        Thread writer = new Thread(() -> {
+            for (int round = 0; round < 20; round++) {
+                for (Employee employee : employees) {
+                    employee.addRating(1 + round % 5);
+                }
+            }
+        });
+
+        // Act - śledzenie rozpoczynane w trakcie dodawania ocen
+        writer.start();
+        for (Employee employee : employees) {
+            analytics.track(employee);
+        }
+        writer.join();
+
+        // Assert (AssertJ) - każda z 10 000 ocen policzona raz (po 2000 ocen każdej wartości)
+        assertThat(analytics.getHistogram("TechCorp")).containsExactly(2000, 2000, 2000, 2000, 2000);
+        assertThat(analytics.getHistogram(Position.PROGRAMISTA)).containsExactly(2000, 2000, 2000, 2000, 2000);
+        assertThat(analytics.getRankedCount()).isEqualTo(500);
+        // Wszyscy mają tę samą średnią (3.0), więc każdy ma rangę 50.
+        assertThat(analytics.getPercentileRank(employees.get(0))).isEqualTo(50.0);
+    }
+}
@@ -2,6 +2,7 @@ package service;
 
 import model.Employee;
 import model.Position;
+import model.RatingHistory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -102,6 +103,59 @@ class RatingServiceTest {
                 .withMessage("Ocena musi być w skali 1-5");
     }
 
+    @Test
+    @DisplayName("Historia ocen powinna być niemodyfikowalnym widokiem odzwierciedlającym nowe oceny bez kopiowania")
+    void ratingHistory_ShouldBeLiveUnmodifiableView() {
+        // Arrange
+        RatingHistory history = employee.getRatingHistory();
+
+        // Act - więcej ocen niż początkowa pojemność tablicy
+        for (int i = 0; i < 20; i++) {
+            ratingService.addRating(employee, 1 + i % 5);
+        }
+
+        // Assert (AssertJ)
+        assertThat(employee.getRatingHistory()).isSameAs(history);
+        assertThat(history).hasSize(20).startsWith(1, 2, 3, 4, 5);
+        assertThat(history.getRating(19)).isEqualTo(5);
+        assertThat(history.sum()).isEqualTo(60);
+        assertThat(ratingService.getAverageRating(employee)).isEqualTo(3.0);
+        assertThatThrownBy(() -> history.add(5)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> history.getRating(20)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("Historia ocen powinna być spójna przy odczycie z innego wątku w trakcie dodawania ocen")
+    void ratingHistory_ShouldBeConsistentWhenReadConcurrently() throws InterruptedException {
+        // Arrange - wątek zapisujący dodaje same piątki, więc każda spójna migawka ma średnią dokładnie 5.0
+        RatingHistory history = employee.getRatingHistory();
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 200_000; i++) {
+                employee.addRating(5);
+            }
+        });
+
+        // Act - odczyt (średnia, okno, iteracja) równolegle z zapisem
+        writer.start();
+        int inconsistentReads = 0;
+        while (writer.isAlive()) {
+            if (!history.isEmpty() && (history.average() != 5.0 || history.averageOfLast(3) != 5.0)) {
+                inconsistentReads++;
+            }
+            for (int rating : history) {
+                if (rating != 5) {
+                    inconsistentReads++;
+                }
+            }
+        }
+        writer.join();
+
+        // Assert (AssertJ)
+        assertThat(inconsistentReads).isZero();
+        assertThat(history).hasSize(200_000);
+        assertThat(history.sum()).isEqualTo(1_000_000);
+    }
+
     /**
      * Zaawansowany test sparametryzowany (Data-Driven Test).
      * Weryfikuje poprawność obliczania średniej dla różnych zestawów danych dostarczanych przez metodę pomocniczą.
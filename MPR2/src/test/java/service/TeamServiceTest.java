@@ -3,11 +3,26 @@ package service;
 import model.Employee;
 import model.Position;
 import model.ProjectTeam;
+import model.RebalanceResult;
+import model.TeamComposition;
+import model.TeamRules;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
 
 // Import statyczny dla AssertJ (płynne asercje)
 import static org.assertj.core.api.Assertions.*;
@@ -154,6 +169,408 @@ class TeamServiceTest {
                 .isTrue();
     }
 
+    @Test
+    @DisplayName("Własne reguły zespołu powinny blokować przyjęcie ponad limit stanowiska i budżet płacowy")
+    void shouldEnforceCustomTeamRulesOnAssignment() {
+        // Arrange - 3 miejsca, najwyżej 1 programista, budżet 20000
+        TeamRules rules = new TeamRules(3).withMaximum(Position.PROGRAMISTA, 1).withSalaryBudget(20_000);
+        ProjectTeam small = new ProjectTeam("Projekt Mrówka", rules);
+        teamService.assignEmployeeToTeam(employee, small); // Programista, 9000
+        Employee secondProgrammer = new Employee("Drugi", "drugi@tech.pl", "Tech", Position.PROGRAMISTA, 8000);
+        Employee manager = new Employee("Szef", "szef@tech.pl", "Tech", Position.MANAGER, 12000);
+
+        // Act & Assert (AssertJ)
+        assertThatIllegalStateException()
+                .isThrownBy(() -> teamService.assignEmployeeToTeam(secondProgrammer, small))
+                .withMessage("Zespół osiągnął limit pracowników na stanowisku PROGRAMISTA (Max: 1)");
+        assertThatIllegalStateException()
+                .isThrownBy(() -> teamService.assignEmployeeToTeam(manager, small))
+                .withMessage("Zespół przekroczyłby budżet płacowy (Max: 20000.0)");
+        assertThat(small.getMembers()).containsExactly(employee);
+        assertThat(secondProgrammer.getCurrentTeam()).isNull();
+        assertThat(manager.getCurrentTeam()).isNull();
+    }
+
+    @Test
+    @DisplayName("addMember powinien pomijać duplikaty i nie sprawdzać reguł zespołu, w przeciwieństwie do tryAddMember")
+    void addMember_ShouldSkipDuplicatesWithoutCheckingRules() {
+        // Arrange - 2 miejsca, najwyżej 1 programista, budżet 15000
+        TeamRules rules = new TeamRules(2).withMaximum(Position.PROGRAMISTA, 1).withSalaryBudget(15_000);
+        ProjectTeam small = new ProjectTeam("Projekt Mrówka", rules);
+        Employee secondProgrammer = new Employee("Drugi", "drugi@tech.pl", "Tech", Position.PROGRAMISTA, 8000);
+        Employee intern = new Employee("Stażysta", "intern@tech.pl", "Tech", Position.STAZYSTA, 3000);
+
+        // Act & Assert - duplikat nie zmienia składu
+        small.addMember(employee); // Programista, 9000
+        small.addMember(employee);
+        assertThat(small.getMembers()).containsExactly(employee);
+
+        // Limit stanowiska i budżet blokują tryAddMember, ale nie addMember
+        assertThat(small.tryAddMember(secondProgrammer)).isFalse();
+        small.addMember(secondProgrammer);
+
+        // Pełny zespół: tryAddMember odmawia, addMember dodaje zgodnie z dotychczasowym kontraktem
+        assertThat(small.tryAddMember(intern)).isFalse();
+        small.addMember(intern);
+
+        assertThat(small.getMembers()).containsExactly(employee, secondProgrammer, intern);
+        assertThat(small.getComposition().getTotalSalary()).isEqualTo(20_000.0);
+        assertThat(small.isCompliant()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Zgodność zespołu z regułami powinna nadążać za zmianami stanowisk i pensji członków")
+    void compliance_ShouldFollowMemberPositionAndSalaryChanges() {
+        // Arrange - reguły domyślne (min. 1 Manager) uzupełnione o budżet płacowy
+        ProjectTeam budgeted = new ProjectTeam("Projekt Sowa", TeamRules.DEFAULT.withSalaryBudget(25_000));
+        teamService.assignEmployeeToTeam(employee, budgeted); // Programista, 9000
+        Employee intern = new Employee("Stażysta", "intern@tech.pl", "Tech", Position.STAZYSTA, 3000);
+        teamService.assignEmployeeToTeam(intern, budgeted);
+        assertThat(teamService.isTeamDiversityCompliant(budgeted)).isFalse();
+
+        // Act & Assert - awans członka zespołu na Managera spełnia minimum stanowiska
+        employee.setPosition(Position.MANAGER);
+        assertThat(budgeted.getComposition().count(Position.MANAGER)).isEqualTo(1);
+        assertThat(teamService.isTeamDiversityCompliant(budgeted)).isTrue();
+
+        // Podwyżka ponad budżet płacowy narusza reguły zespołu
+        employee.setSalary(23_000);
+        assertThat(budgeted.getComposition().getTotalSalary()).isEqualTo(26_000.0);
+        assertThat(teamService.isTeamDiversityCompliant(budgeted)).isFalse();
+
+        // Po odejściu z zespołu zmiany pracownika nie wpływają już na liczniki
+        teamService.transferEmployee(intern, new ProjectTeam("Projekt Kruk"));
+        assertThat(teamService.isTeamDiversityCompliant(budgeted)).isTrue();
+        intern.setSalary(5000);
+        assertThat(budgeted.getComposition().getTotalSalary()).isEqualTo(23_000.0);
+    }
+
+    @Test
+    @DisplayName("Reorganizacja powinna zamienić pracowników między dwoma pełnymi zespołami")
+    void rebalance_ShouldSwapEmployeesBetweenFullTeams() {
+        // Arrange - dwa pełne zespoły; pojedynczy transfer w żadną stronę nie jest możliwy
+        ProjectTeam alpha = new ProjectTeam("Alfa");
+        ProjectTeam beta = new ProjectTeam("Beta");
+        List<Employee> alphaMembers = fillTeam(alpha, "a");
+        List<Employee> betaMembers = fillTeam(beta, "b");
+        Employee fromAlpha = alphaMembers.get(4);
+        Employee fromBeta = betaMembers.get(4);
+        assertThatThrownBy(() -> teamService.transferEmployee(fromAlpha, beta))
+                .isInstanceOf(IllegalStateException.class);
+
+        Map<Employee, ProjectTeam> plan = new LinkedHashMap<>();
+        plan.put(fromAlpha, beta);
+        plan.put(fromBeta, alpha);
+        plan.put(alphaMembers.get(0), alpha); // bez zmian - pomijany
+
+        // Act
+        RebalanceResult result = teamService.rebalance(plan);
+
+        // Assert (AssertJ)
+        assertThat(result.isApplied()).isTrue();
+        assertThat(result.getMovedCount()).isEqualTo(2);
+        assertThat(result.getViolations()).isEmpty();
+        assertThat(alpha.getMembers()).hasSize(5).contains(fromBeta).doesNotContain(fromAlpha);
+        assertThat(beta.getMembers()).hasSize(5).contains(fromAlpha).doesNotContain(fromBeta);
+        assertThat(fromAlpha.getCurrentTeam()).isSameAs(beta);
+        assertThat(fromBeta.getCurrentTeam()).isSameAs(alpha);
+    }
+
+    @Test
+    @DisplayName("Reorganizacja naruszająca reguły powinna zgłosić wszystkie naruszenia i nie zmienić żadnego zespołu")
+    void rebalance_ShouldReportAllViolationsAndLeaveTeamsUnchanged() {
+        // Arrange
+        ProjectTeam alpha = new ProjectTeam("Alfa");
+        ProjectTeam beta = new ProjectTeam("Beta");
+        List<Employee> alphaMembers = fillTeam(alpha, "a");
+        fillTeam(beta, "b");
+        List<Employee> alphaBefore = alpha.getMembers();
+        List<Employee> betaBefore = beta.getMembers();
+
+        Map<Employee, ProjectTeam> plan = new LinkedHashMap<>();
+        plan.put(alphaMembers.get(0), beta); // jedyny Manager Alfy do pełnej Bety
+        plan.put(employee, alpha);           // pracownik bez zespołu do Alfy
+
+        // Act
+        RebalanceResult result = teamService.rebalance(plan);
+
+        // Assert (AssertJ)
+        assertThat(result.isApplied()).isFalse();
+        assertThat(result.getMovedCount()).isZero();
+        assertThat(result.getViolations()).containsExactly(
+                "Zespół Alfa po reorganizacji: brak wymaganej liczby pracowników na stanowisku MANAGER (0, Min: 1)",
+                "Zespół Beta po reorganizacji: 6 członków przekracza limit (Max: 5)");
+        assertThat(alpha.getMembers()).isSameAs(alphaBefore);
+        assertThat(beta.getMembers()).isSameAs(betaBefore);
+        assertThat(alphaMembers.get(0).getCurrentTeam()).isSameAs(alpha);
+        assertThat(employee.getCurrentTeam()).isNull();
+    }
+
+    // Wypełnia zespół do limitu: pierwszy członek jest Managerem, pozostali programistami.
+    private List<Employee> fillTeam(ProjectTeam target, String prefix) {
+        List<Employee> members = new ArrayList<>();
+        for (int i = 0; i < target.getMaxTeamSize(); i++) {
+            Position position = i == 0 ? Position.MANAGER : Position.PROGRAMISTA;
+            Employee member = new Employee(prefix + i, prefix + i + "@tech.pl", "Tech", position,
+                    position.getBaseSalary());
+            teamService.assignEmployeeToTeam(member, target);
+            members.add(member);
+        }
+        return members;
+    }
+
+    @Test
+    @DisplayName("Skład zespołu powinien być niemodyfikowalną migawką niezależną od późniejszych zmian")
+    void shouldReturnImmutableMembersSnapshot() {
+        // Arrange
+        teamService.assignEmployeeToTeam(employee, team);
+        List<Employee> snapshot = team.getMembers();
+
+        // Act
+        teamService.transferEmployee(employee, new ProjectTeam("Projekt Goryl"));
+
+        // Assert (AssertJ)
+        assertThat(snapshot).containsExactly(employee);
+        assertThat(team.getMembers()).isEmpty();
+        assertThatThrownBy(() -> snapshot.add(employee)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("Równoczesne przypisania nie powinny przepełnić zespołu ponad limit miejsc")
+    void shouldNeverOverfillTeamUnderConcurrentAssignments() throws Exception {
+        // Arrange - 40 kandydatów do jednego zespołu o 5 miejscach
+        List<Employee> candidates = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            candidates.add(new Employee("Kandydat" + i, "k" + i + "@tech.pl", "Tech", Position.PROGRAMISTA, 9000));
+        }
+        AtomicInteger assigned = new AtomicInteger();
+
+        // Act
+        runConcurrently(8, thread -> {
+            for (int i = thread; i < candidates.size(); i += 8) {
+                try {
+                    teamService.assignEmployeeToTeam(candidates.get(i), team);
+                    assigned.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    // Zespół pełny - oczekiwane dla większości kandydatów
+                }
+            }
+        });
+
+        // Assert (AssertJ)
+        assertThat(assigned.get()).isEqualTo(team.getMaxTeamSize());
+        assertThat(team.getMembers()).hasSize(team.getMaxTeamSize());
+        for (Employee candidate : candidates) {
+            assertThat(candidate.getCurrentTeam())
+                    .isSameAs(team.getMembers().contains(candidate) ? team : null);
+        }
+    }
+
+    @Test
+    @DisplayName("Równoczesne przypisania tego samego pracownika powinny przypisać go do dokładnie jednego zespołu")
+    void shouldAssignEmployeeToExactlyOneTeamUnderContention() throws Exception {
+        // Arrange
+        List<ProjectTeam> teams = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            teams.add(new ProjectTeam("Zespół " + i));
+        }
+        AtomicInteger assigned = new AtomicInteger();
+
+        // Act
+        runConcurrently(8, thread -> {
+            try {
+                teamService.assignEmployeeToTeam(employee, teams.get(thread));
+                assigned.incrementAndGet();
+            } catch (IllegalStateException e) {
+                // Pracownik przypisany przez inny wątek
+            }
+        });
+
+        // Assert (AssertJ)
+        assertThat(assigned.get()).isEqualTo(1);
+        assertThat(teams).filteredOn(t -> !t.getMembers().isEmpty()).containsExactly(employee.getCurrentTeam());
+    }
+
+    @Test
+    @DisplayName("Równoczesne transfery powinny zachować spójność składu zespołów i przypisań pracowników")
+    void shouldKeepMembershipConsistentDuringConcurrentTransfers() throws Exception {
+        // Arrange - 20 pracowników w 6 zespołach (30 miejsc)
+        List<ProjectTeam> teams = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            teams.add(new ProjectTeam("Zespół " + i));
+        }
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Employee e = new Employee("Pracownik" + i, "p" + i + "@tech.pl", "Tech", Position.PROGRAMISTA, 9000);
+            teamService.assignEmployeeToTeam(e, teams.get(i % teams.size()));
+            employees.add(e);
+        }
+
+        // Act
+        runConcurrently(8, thread -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int n = 0; n < 20_000; n++) {
+                try {
+                    teamService.transferEmployee(employees.get(random.nextInt(employees.size())),
+                            teams.get(random.nextInt(teams.size())));
+                } catch (IllegalStateException e) {
+                    // Pełny zespół docelowy lub transfer przerwany przez inny wątek
+                }
+            }
+        });
+
+        // Assert (AssertJ) - każdy pracownik jest członkiem dokładnie tego zespołu, na który wskazuje
+        int members = 0;
+        for (ProjectTeam t : teams) {
+            assertThat(t.getMembers()).hasSizeLessThanOrEqualTo(t.getMaxTeamSize());
+            members += t.getMembers().size();
+        }
+        assertThat(members).isEqualTo(employees.size());
+        for (Employee e : employees) {
+            assertThat(e.getCurrentTeam()).isNotNull();
+            assertThat(e.getCurrentTeam().getMembers()).contains(e);
+        }
+    }
+
+    @Test
+    @DisplayName("Liczniki składu powinny odpowiadać członkom zespołu po równoczesnych podwyżkach, awansach i transferach")
+    void shouldKeepTeamCountersConsistentDuringConcurrentRaisesAndTransfers() throws Exception {
+        // Arrange - 24 pracowników w 4 zespołach bez limitów stanowisk i budżetu
+        List<ProjectTeam> teams = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            teams.add(new ProjectTeam("Zespół " + i, new TeamRules(24)));
+        }
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 24; i++) {
+            Employee e = new Employee("Pracownik" + i, "p" + i + "@tech.pl", "Tech", Position.PROGRAMISTA, 9000);
+            teamService.assignEmployeeToTeam(e, teams.get(i % teams.size()));
+            employees.add(e);
+        }
+
+        // Act - połowa wątków przenosi pracowników (także tam i z powrotem), połowa zmienia pensje i stanowiska
+        runConcurrently(8, thread -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int n = 0; n < 20_000; n++) {
+                Employee e = employees.get(random.nextInt(employees.size()));
+                if (thread % 2 == 0) {
+                    try {
+                        teamService.transferEmployee(e, teams.get(random.nextInt(teams.size())));
+                    } catch (IllegalStateException ex) {
+                        // Transfer przerwany przez inny wątek
+                    }
+                } else if (random.nextInt(10) == 0) {
+                    e.setPosition(random.nextBoolean() ? Position.PROGRAMISTA : Position.MANAGER);
+                } else {
+                    e.setSalary(8000 + random.nextInt(6000));
+                }
+            }
+        });
+
+        // Assert (AssertJ) - liczniki zgodne ze stanem członków
+        for (ProjectTeam t : teams) {
+            assertCountersMatchMembers(t);
+        }
+        // Obserwatorzy nadal zarejestrowani u wszystkich członków - kolejne zmiany trafiają do liczników.
+        for (Employee e : employees) {
+            e.setSalary(e.getSalary() + 100);
+            e.setPosition(Position.STAZYSTA);
+        }
+        for (ProjectTeam t : teams) {
+            assertCountersMatchMembers(t);
+            assertThat(t.getComposition().count(Position.STAZYSTA)).isEqualTo(t.getMembers().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Suma pensji zespołu powinna odpowiadać pensjom członków po równoczesnych podwyżkach zbiorczych i transferach")
+    void shouldKeepTeamSalaryTotalsConsistentDuringBulkRaisesAndTransfers() throws Exception {
+        // Arrange - 40 pracowników w 4 zespołach z budżetem płacowym
+        PromotionService promotionService = new PromotionService();
+        TeamRules rules = new TeamRules(40).withSalaryBudget(1_000_000);
+        List<ProjectTeam> teams = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            teams.add(new ProjectTeam("Zespół " + i, rules));
+        }
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Employee e = new Employee("Pracownik" + i, "p" + i + "@tech.pl", "Tech", Position.PROGRAMISTA, 8000);
+            teamService.assignEmployeeToTeam(e, teams.get(i % teams.size()));
+            employees.add(e);
+        }
+
+        // Act - dwa wątki wykonują podwyżki zbiorcze (0.05% x 400), pozostałe przenoszą pracowników między zespołami
+        runConcurrently(8, thread -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int n = 0; n < 400; n++) {
+                if (thread < 2) {
+                    promotionService.applyRaises(employees, RaisePolicy.uniform(0.05));
+                } else {
+                    for (int k = 0; k < 20; k++) {
+                        try {
+                            teamService.transferEmployee(employees.get(random.nextInt(employees.size())),
+                                    teams.get(random.nextInt(teams.size())));
+                        } catch (IllegalStateException e) {
+                            // Transfer przerwany przez inny wątek
+                        }
+                    }
+                }
+            }
+        });
+
+        // Assert (AssertJ)
+        double allSalaries = 0.0;
+        for (Employee e : employees) {
+            assertThat(e.getSalary()).isGreaterThan(8000);
+            allSalaries += e.getSalary();
+        }
+        double teamTotals = 0.0;
+        for (ProjectTeam t : teams) {
+            assertCountersMatchMembers(t);
+            assertThat(t.isCompliant()).isTrue();
+            teamTotals += t.getComposition().getTotalSalary();
+        }
+        assertThat(teamTotals).isCloseTo(allSalaries, within(0.001));
+    }
+
+    // Porównuje liczniki składu zespołu (suma pensji, liczba osób na stanowiskach) z bieżącym stanem członków.
+    private static void assertCountersMatchMembers(ProjectTeam team) {
+        TeamComposition composition = team.getComposition();
+        double totalSalary = 0.0;
+        int[] counts = new int[Position.values().length];
+        for (Employee member : composition.getMembers()) {
+            totalSalary += member.getSalary();
+            counts[member.getPosition().ordinal()]++;
+        }
+        assertThat(composition.getTotalSalary()).as(team.getTeamName()).isCloseTo(totalSalary, within(0.001));
+        for (Position position : Position.values()) {
+            assertThat(composition.count(position)).as(team.getTeamName() + " " + position)
+                    .isEqualTo(counts[position.ordinal()]);
+        }
+    }
+
+    // Uruchamia zadanie w podanej liczbie wątków jednocześnie (wspólna bramka startowa) i czeka na zakończenie.
+    private static void runConcurrently(int threads, IntConsumer task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch startGate = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    startGate.await();
+                    task.accept(thread);
+                    return null;
+                }));
+            }
+            startGate.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * Test demonstracyjny pokazujący możliwości biblioteki Hamcrest.
      * Weryfikuje złożone właściwości obiektów (Properties, Collections, Ranges).
@@ -9,6 +9,10 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
 import java.time.LocalDate;
+import java.time.Period;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
 
 // Import statyczny dla AssertJ
 import static org.assertj.core.api.Assertions.*;
@@ -61,7 +65,9 @@ class TenureServiceTest {
             "2025-11-17, 2025-11-17, 0", // Scenariusz: Zatrudniony w dniu raportu
             "2024-11-18, 2025-11-17, 0", // Scenariusz: 364 dni stażu (1 dzień przed rocznicą)
             "2024-11-17, 2025-11-17, 1", // Scenariusz: Dokładnie rok stażu
-            "2027-01-01, 2025-11-17, 0"  // Scenariusz: Data zatrudnienia w przyszłości
+            "2027-01-01, 2025-11-17, 0", // Scenariusz: Data zatrudnienia w przyszłości
+            "2020-02-29, 2024-02-28, 3", // Scenariusz: Zatrudniony 29 lutego, dzień przed rocznicą w roku przestępnym
+            "2020-02-29, 2021-03-01, 1"  // Scenariusz: Zatrudniony 29 lutego, rocznica w roku nieprzestępnym
     })
     void shouldCalculateTenureForEdgeCases(String hireDateStr, String reportDateStr, long expectedYears) {
         // Arrange
@@ -79,4 +85,61 @@ class TenureServiceTest {
                 .as("Błędne wyliczenie stażu dla daty zatrudnienia: %s i daty raportu: %s", hireDate, reportDate)
                 .isEqualTo(expectedYears);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Zbiorcze wyliczenie stażu powinno być zgodne z obliczeniami kalendarzowymi java.time")
+    void batchTenure_ShouldMatchPeriodCalculation() {
+        // Arrange - daty zatrudnienia co 37 dni przez ponad 40 lat (w tym 29 lutego i końce miesięcy)
+        List<Employee> employees = new ArrayList<>();
+        EmployeeService employeeService = new EmployeeService();
+        for (LocalDate hired = LocalDate.of(1980, 2, 29); hired.isBefore(LocalDate.of(2026, 1, 1)); hired = hired.plusDays(37)) {
+            Employee hire = new Employee("P" + hired, hired + "@tech.pl", "Tech", Position.PROGRAMISTA, 9000, hired);
+            employees.add(hire);
+            employeeService.addEmployee(hire);
+        }
+        employees.add(new Employee("Bez daty", "brak@tech.pl", "Tech", Position.PROGRAMISTA, 9000, null));
+
+        // Act
+        int[] tenures = tenureService.getTenureInYears(employees, FIXED_CURRENT_DATE);
+        EmployeeSnapshot snapshot = employeeService.snapshot();
+        int[] snapshotTenures = tenureService.getTenureInYears(snapshot, FIXED_CURRENT_DATE);
+
+        // Assert (AssertJ)
+        for (int i = 0; i < employees.size() - 1; i++) {
+            LocalDate hired = employees.get(i).getDateOfHire();
+            int expected = hired.isAfter(FIXED_CURRENT_DATE) ? 0 : Period.between(hired, FIXED_CURRENT_DATE).getYears();
+            assertThat(tenures[i]).as("Staż dla daty zatrudnienia %s", hired).isEqualTo(expected);
+        }
+        assertThat(tenures[employees.size() - 1]).isZero();
+        for (int row = 0; row < snapshot.size(); row++) {
+            assertThat(snapshotTenures[row])
+                    .isEqualTo(tenureService.getTenureInYears(snapshot.employee(row), FIXED_CURRENT_DATE));
+        }
+    }
+
+    @Test
+    @DisplayName("Indeks stażu powinien zwracać rocznice miesiąca i pracowników z minimalnym stażem zapytaniem zakresowym")
+    void tenureIndex_ShouldAnswerAnniversaryAndSeniorityQueries() {
+        // Arrange
+        Employee fiveYears = new Employee("Pięć", "piec@tech.pl", "Tech", Position.PROGRAMISTA, 9000, LocalDate.of(2020, 11, 30));
+        Employee tenYears = new Employee("Dziesięć", "dziesiec@tech.pl", "Tech", Position.MANAGER, 15000, LocalDate.of(2015, 11, 1));
+        Employee otherMonth = new Employee("Grudzień", "grudzien@tech.pl", "Tech", Position.PROGRAMISTA, 9000, LocalDate.of(2015, 12, 1));
+        Employee newcomer = new Employee("Nowy", "nowy@tech.pl", "Tech", Position.STAZYSTA, 3000, LocalDate.of(2025, 11, 3));
+        TenureIndex index = new TenureIndex(List.of(fiveYears, tenYears, otherMonth, newcomer));
+
+        // Act & Assert (AssertJ)
+        assertThat(index.findAnniversaries(YearMonth.of(2025, 11), 5)).containsExactly(fiveYears);
+        assertThat(index.findAnniversaries(YearMonth.of(2025, 11), 10)).containsExactly(tenYears);
+        assertThat(index.findAnniversaries(YearMonth.of(2025, 11), 15)).isEmpty();
+        // 2020-11-30 ma 5 lat stażu dopiero od 2025-11-30
+        assertThat(index.findWithTenureAtLeast(5, FIXED_CURRENT_DATE)).containsExactly(tenYears, otherMonth);
+        assertThat(index.findHiredBetween(LocalDate.of(2015, 1, 1), LocalDate.of(2020, 12, 31)))
+                .containsExactly(tenYears, otherMonth, fiveYears);
+
+        // Usunięcie pracownika aktualizuje indeks
+        assertThat(index.remove(tenYears)).isTrue();
+        assertThat(index.remove(tenYears)).isFalse();
+        assertThat(index.findAnniversaries(YearMonth.of(2025, 11), 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+}
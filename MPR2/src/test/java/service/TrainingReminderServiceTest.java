@@ -2,6 +2,7 @@ package service;
 
 import interfaces.CertificateRepository;
 import interfaces.EmailService;
+import model.DispatchReport;
 import model.Email;
 import model.Employee;
 import model.Position;
@@ -13,10 +14,16 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
@@ -81,6 +88,92 @@ class TrainingReminderServiceTest {
         // Jest to kluczowe, aby uniknąć wysyłania pustych maili lub spamu.
         verify(emailService, never()).send(any());
     }
+
+    @Test
+    void sendRemindersInParallel_ShouldSendAllEmailsWithinConcurrencyLimit() {
+        // ARRANGE
+        // Zamiast mocka - sztuczny serwis pocztowy z opóźnieniem 20 ms, mierzący liczbę równoczesnych wysyłek.
+        List<Employee> employees = employees(40);
+        when(certificateRepository.findEmployeesWithExpiringCertificates(30)).thenReturn(employees);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        List<String> recipients = Collections.synchronizedList(new ArrayList<>());
+        EmailService slowEmailService = email -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sleep(20);
+            recipients.add(email.recipient());
+            inFlight.decrementAndGet();
+        };
+        TrainingReminderService parallelService = new TrainingReminderService(certificateRepository, slowEmailService);
+
+        // ACT
+        DispatchReport report = parallelService.sendRemindersInParallel(8, 3, Duration.ofMillis(5));
+
+        // ASSERT
+        // Wszystkie wiadomości wysłane przy pierwszej próbie, a limit równoczesnych wysyłek nie został przekroczony.
+        assertEquals(40, report.getSentCount());
+        assertEquals(0, report.getFailedCount());
+        assertEquals(0, report.getRetryCount());
+        assertEquals(40, recipients.size());
+        assertTrue(maxInFlight.get() <= 8, "Przekroczono limit równoczesnych wysyłek: " + maxInFlight.get());
+        assertTrue(maxInFlight.get() > 1, "Wiadomości powinny być wysyłane równolegle.");
+    }
+
+    @Test
+    void sendRemindersInParallel_ShouldRetryTransientFailuresAndReportPermanentOnes() {
+        // ARRANGE
+        // Scenariusz: pierwsza próba wysyłki do co drugiego pracownika kończy się błędem,
+        // a skrzynka pracownika nr 0 jest niedostępna na stałe.
+        List<Employee> employees = employees(10);
+        when(certificateRepository.findEmployeesWithExpiringCertificates(30)).thenReturn(employees);
+        Map<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+        EmailService flakyEmailService = email -> {
+            int attempt = attempts.computeIfAbsent(email.recipient(), r -> new AtomicInteger()).incrementAndGet();
+            sleep(2);
+            int index = Integer.parseInt(email.recipient().substring(3, email.recipient().indexOf('@')));
+            if (index == 0 || (index % 2 == 0 && attempt == 1)) {
+                throw new IllegalStateException("Serwer pocztowy chwilowo niedostępny");
+            }
+        };
+        TrainingReminderService parallelService = new TrainingReminderService(certificateRepository, flakyEmailService);
+
+        // ACT
+        DispatchReport report = parallelService.sendRemindersInParallel(4, 3, Duration.ofMillis(1));
+
+        // ASSERT
+        // 4 wiadomości wysłane po jednym ponowieniu, 1 niewysłana po 2 ponowieniach (3 próby łącznie).
+        assertEquals(9, report.getSentCount());
+        assertEquals(1, report.getFailedCount());
+        assertEquals(4 + 2, report.getRetryCount());
+        assertEquals(List.of("emp0@corp.com"), report.getFailedRecipients());
+        assertEquals(3, attempts.get("emp0@corp.com").get());
+        assertEquals(1, attempts.get("emp1@corp.com").get());
+    }
+
+    @Test
+    void sendRemindersInParallel_ShouldRejectNonPositiveLimits() {
+        // ASSERT - walidacja parametrów przed pobraniem danych z repozytorium.
+        assertThrows(IllegalArgumentException.class, () -> service.sendRemindersInParallel(0, 3, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> service.sendRemindersInParallel(4, 0, Duration.ZERO));
+        verifyNoInteractions(certificateRepository, emailService);
+    }
+
+    private static List<Employee> employees(int count) {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            employees.add(new Employee("Emp" + i, "emp" + i + "@corp.com", "HR", Position.PROGRAMISTA, 8000));
+        }
+        return employees;
+    }
+
+    // Symulacja opóźnienia sieciowego serwera pocztowego.
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
 
 // trzeba weryfikowac to co w when jest
\ No newline at end of file
@@ -0,0 +1,108 @@
+package service;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Wektorowa implementacja jąder pensji oparta na Vector API (jdk.incubator.vector).
+// Każda iteracja pętli głównej przetwarza tyle pensji, ile mieści się w rejestrze SIMD procesora
+// (SPECIES_PREFERRED - np. 4 wartości double dla AVX2, 8 dla AVX-512); końcówka tablicy liczona jest skalarnie.
+// Sumy mogą różnić się od implementacji skalarnej na ostatnich bitach, ponieważ dodawanie odbywa się w innej kolejności.
+// Klasa ładowana jest refleksyjnie przez SalaryKernels.get() - patrz zbiór źródeł "vector" w build.gradle.
+final class VectorSalaryKernels implements SalaryKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public double sum(double[] values, int length) {
+        DoubleVector accumulator = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            accumulator = accumulator.add(DoubleVector.fromArray(SPECIES, values, i));
+        }
+        double sum = accumulator.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public double min(double[] values, int length) {
+        DoubleVector accumulator = DoubleVector.broadcast(SPECIES, Double.POSITIVE_INFINITY);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            accumulator = accumulator.min(DoubleVector.fromArray(SPECIES, values, i));
+        }
+        double min = accumulator.reduceLanes(VectorOperators.MIN);
+        for (; i < length; i++) {
+            min = Math.min(min, values[i]);
+        }
+        return min;
+    }
+
+    @Override
+    public double max(double[] values, int length) {
+        DoubleVector accumulator = DoubleVector.broadcast(SPECIES, Double.NEGATIVE_INFINITY);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            accumulator = accumulator.max(DoubleVector.fromArray(SPECIES, values, i));
+        }
+        double max = accumulator.reduceLanes(VectorOperators.MAX);
+        for (; i < length; i++) {
+            max = Math.max(max, values[i]);
+        }
+        return max;
+    }
+
+    @Override
+    public int selectBelow(double[] values, double[] limits, int length, int[] selection) {
+        int count = 0;
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            VectorMask<Double> below = DoubleVector.fromArray(SPECIES, values, i)
+                    .lt(DoubleVector.fromArray(SPECIES, limits, i));
+            // Maska bitowa pasów spełniających warunek - zwykle pusta, więc pętla po bitach jest rzadka.
+            long lanes = below.toLong();
+            while (lanes != 0) {
+                selection[count++] = i + Long.numberOfTrailingZeros(lanes);
+                lanes &= lanes - 1;
+            }
+        }
+        for (; i < length; i++) {
+            if (values[i] < limits[i]) {
+                selection[count++] = i;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void applyRaise(double[] salaries, double[] caps, double rate, double[] result, int length) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            DoubleVector salary = DoubleVector.fromArray(SPECIES, salaries, i);
+            salary.add(salary.mul(rate))
+                    .min(DoubleVector.fromArray(SPECIES, caps, i))
+                    .intoArray(result, i);
+        }
+        for (; i < length; i++) {
+            result[i] = Math.min(salaries[i] + salaries[i] * rate, caps[i]);
+        }
+    }
+
+    @Override
+    public void applyRaise(double[] salaries, double[] caps, double[] rates, double[] result, int length) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            DoubleVector salary = DoubleVector.fromArray(SPECIES, salaries, i);
+            salary.add(salary.mul(DoubleVector.fromArray(SPECIES, rates, i)))
+                    .min(DoubleVector.fromArray(SPECIES, caps, i))
+                    .intoArray(result, i);
+        }
+        for (; i < length; i++) {
+            result[i] = Math.min(salaries[i] + salaries[i] * rates[i], caps[i]);
+        }
+    }
+}